@@ -30,6 +30,7 @@
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.SpongeConfig.TimingsCategory;
 
 import java.util.Optional;
@@ -58,6 +59,15 @@ public void init() {
         setTimingsEnabled(this.moduleEnabled && config.isEnabled());
         setHistoryInterval(config.getHistoryInterval());
         setHistoryLength(config.getHistoryLength());
+        if (this.moduleEnabled) {
+            TimingsMetricsEndpoint.start(config.getMetricsAddress(), config.getMetricsPort());
+            SpongeConfig.subscribe("timings", (changedConfig, changedKeys) -> {
+                if (changedConfig.getType() == SpongeConfig.Type.GLOBAL) {
+                    TimingsCategory timings = SpongeImpl.getGlobalConfig().getConfig().getTimings();
+                    TimingsMetricsEndpoint.reconfigure(timings.getMetricsAddress(), timings.getMetricsPort());
+                }
+            });
+        }
 
         SpongeImpl.getLogger().debug("Sponge Timings: " + this.timingsEnabled +
                                     " - Verbose: " + this.verboseEnabled +
@@ -29,12 +29,15 @@
 import net.minecraft.server.MinecraftServer;
 import org.spongepowered.common.SpongeImpl;
 
+import javax.annotation.Nullable;
+
 class TimingHandler implements Timing {
 
     private static int idPool = 1;
     final int id = idPool++;
 
     final String name;
+    final String group;
     private final boolean verbose;
 
     final TIntObjectHashMap<TimingData> children = new LoadingIntMap<>(TimingData.LOADER);
@@ -58,6 +61,7 @@ class TimingHandler implements Timing {
             this.verbose = false;
         }
 
+        this.group = id.group;
         this.record = new TimingData(this.id);
         this.groupHandler = id.groupHandler;
 
@@ -65,6 +69,11 @@ class TimingHandler implements Timing {
         checkEnabled();
     }
 
+    @Nullable
+    final TimingHandler getParent() {
+        return this.parent;
+    }
+
     final void checkEnabled() {
         this.enabled = Timings.isTimingsEnabled() && (!this.verbose || Timings.isVerboseTimingsEnabled());
     }
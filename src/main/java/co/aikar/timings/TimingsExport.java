@@ -30,9 +30,11 @@
 import co.aikar.util.JSONUtil.JsonObjectBuilder;
 import com.google.common.base.Joiner;
 import com.google.common.collect.Sets;
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import net.minecraft.block.Block;
 import net.minecraft.server.MinecraftServer;
 import ninja.leaping.configurate.ConfigurationNode;
@@ -47,19 +49,28 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityType;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.zip.GZIPOutputStream;
 
+import javax.annotation.Nullable;
+
 class TimingsExport extends Thread {
 
     // private static final Joiner AUTHOR_LIST_JOINER = Joiner.on(", ");
@@ -68,15 +79,20 @@ class TimingsExport extends Thread {
     // Sponge doesn't have a server-name property
     private static final String SERVER_NAME = "A Sponge Server";
 
+    private static final Gson GSON = new Gson();
+    private static final DateTimeFormatter EXPORT_FILE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
     private final CommandSource sender;
     private final JsonObject out;
     private final TimingHistory[] history;
+    @Nullable private final Path exportFile;
 
-    TimingsExport(CommandSource sender, JsonObject out, TimingHistory[] history) {
+    TimingsExport(CommandSource sender, JsonObject out, TimingHistory[] history, @Nullable Path exportFile) {
         super("Timings paste thread");
         this.sender = sender;
         this.out = out;
         this.history = history;
+        this.exportFile = exportFile;
     }
 
     /**
@@ -176,7 +192,11 @@ static void reportTimings(CommandSource sender) {
         builder.add("config", JSONUtil.objectBuilder()
                 .add("sponge", serializeConfigNode(SpongeImpl.getGlobalConfig().getRootNode())));
 
-        new TimingsExport(sender, builder.build(), history).start();
+        Path exportFile = null;
+        if (SpongeImpl.getGlobalConfig().getConfig().getTimings().isLocalExport()) {
+            exportFile = SpongeImpl.getGameDir().resolve("timings").resolve("timings-" + LocalDateTime.now().format(EXPORT_FILE_FORMAT) + ".json.gz");
+        }
+        new TimingsExport(sender, builder.build(), history, exportFile).start();
     }
 
     static long getCost() {
@@ -238,7 +258,7 @@ private static JsonElement serializeConfigNode(ConfigurationNode node) {
 
     @Override
     public synchronized void start() {
-        if (this.sender instanceof RconSource) {
+        if (this.sender instanceof RconSource && this.exportFile == null) {
             this.sender.sendMessage(Text.of(TextColors.RED, "Warning: Timings report done over RCON will cause lag spikes."));
             this.sender.sendMessage(Text.of(TextColors.RED, "You should use ", TextColors.YELLOW,
                     "/sponge timings report" + TextColors.RED, " in game or console."));
@@ -252,6 +272,11 @@ public synchronized void start() {
     public void run() {
         this.sender.sendMessage(Text.of(TextColors.GREEN, "Preparing Timings Report..."));
 
+        if (this.exportFile != null) {
+            exportLocal(this.exportFile);
+            return;
+        }
+
         this.out.add("data", JSONUtil.mapArray(this.history, TimingHistory::export));
 
         String response = null;
@@ -302,6 +327,40 @@ public void run() {
         }
     }
 
+    /**
+     * Streams the report to a compressed file. Each history is only turned
+     * into json while it is being written, so the whole document is never
+     * held in memory at once.
+     *
+     * @param file The file to write to
+     */
+    private void exportLocal(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(new BufferedOutputStream(new GZIPOutputStream(
+                    Files.newOutputStream(file))), StandardCharsets.UTF_8))) {
+                writer.beginObject();
+                for (Entry<String, JsonElement> entry : this.out.entrySet()) {
+                    writer.name(entry.getKey());
+                    GSON.toJson(entry.getValue(), writer);
+                }
+                writer.name("data").beginArray();
+                for (TimingHistory timingHistory : this.history) {
+                    GSON.toJson(timingHistory.export(), writer);
+                }
+                writer.endArray();
+                writer.endObject();
+            }
+            this.sender.sendMessage(Text.of(TextColors.GREEN, "Timings Report written to " + file));
+            if (!(this.sender instanceof ConsoleSource)) {
+                SpongeImpl.getLogger().info("Timings Report written to " + file);
+            }
+        } catch (IOException ex) {
+            this.sender.sendMessage(Text.of(TextColors.RED, "Error writing timings, check your logs for more information"));
+            SpongeImpl.getLogger().fatal("Could not write timings to " + file, ex);
+        }
+    }
+
     private String getResponse(HttpURLConnection con) throws IOException {
         InputStream is = null;
         try {
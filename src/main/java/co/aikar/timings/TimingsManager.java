@@ -53,6 +53,7 @@ public final class TimingsManager {
 
     static EvictingQueue<TimingHistory> HISTORY = EvictingQueue.create(12);
     static TimingHandler CURRENT;
+    private static final int MAX_TIMING_STACK_DEPTH = 64;
     static long timingStart = 0;
     static long historyStart = 0;
     static boolean needsFullReset = false;
@@ -86,15 +87,33 @@ static void tick() {
 
             TimingHistory.playerTicks += SpongeImpl.getGame().getServer().getOnlinePlayers().size();
             TimingHistory.timedTicks++;
+            TimingsMetricsEndpoint.tick();
             // Generate TPS/Ping/Tick reports every minute
         }
     }
 
     static void stopServer() {
+        TimingsMetricsEndpoint.stop();
         Timings.setTimingsEnabled(false);
         recheckEnabled();
     }
 
+    /**
+     * Gets the names of the timings currently running, innermost first.
+     *
+     * <p>May be called from another thread, in which case the result is
+     * only a best effort view of the server thread.</p>
+     *
+     * @return The names of the running timings
+     */
+    public static List<String> getTimingStack() {
+        List<String> stack = new ArrayList<>();
+        for (TimingHandler handler = CURRENT; handler != null && stack.size() < MAX_TIMING_STACK_DEPTH; handler = handler.getParent()) {
+            stack.add(handler.name);
+        }
+        return stack;
+    }
+
     static void recheckEnabled() {
         synchronized (TIMING_MAP) {
             for (TimingHandler timings : TIMING_MAP.values()) {
@@ -0,0 +1,194 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import com.sun.net.httpserver.HttpServer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.Nullable;
+
+/**
+ * Serves rolling timings, TPS and entity counts, plus the samples of every
+ * registered {@link MetricSource}, on a local port in the Prometheus text
+ * format.
+ *
+ * <p>The snapshot is built on the main thread once a second while timings
+ * are enabled. The http thread only ever hands out the last snapshot, so
+ * it never touches live server state.</p>
+ */
+public final class TimingsMetricsEndpoint {
+
+    private static final int REFRESH_TICKS = 20;
+    private static final byte[] EMPTY = "# No timings data yet\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final List<MetricSource> sources = new CopyOnWriteArrayList<>();
+
+    @Nullable private static volatile HttpServer server;
+    @Nullable private static String serverAddress;
+    private static int serverPort;
+    private static volatile byte[] snapshot = EMPTY;
+    private static int ticks;
+
+    private TimingsMetricsEndpoint() {
+    }
+
+    /**
+     * Adds a source whose samples are served after the built in ones.
+     *
+     * @param source The source
+     */
+    public static void registerSource(MetricSource source) {
+        sources.add(source);
+    }
+
+    static synchronized void start(String address, int port) {
+        if (server != null || port <= 0) {
+            return;
+        }
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(address, port), 0);
+            httpServer.createContext("/metrics", exchange -> {
+                final byte[] body = snapshot;
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            httpServer.start();
+            server = httpServer;
+            serverAddress = address;
+            serverPort = port;
+            SpongeImpl.getLogger().info("Serving timings metrics on http://{}:{}/metrics", address, port);
+        } catch (IOException | IllegalArgumentException e) {
+            SpongeImpl.getLogger().error("Could not start the timings metrics endpoint on " + address + ":" + port, e);
+        }
+    }
+
+    static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            snapshot = EMPTY;
+        }
+    }
+
+    /**
+     * Applies a changed address or port, starting, moving or stopping the
+     * endpoint as needed.
+     */
+    static synchronized void reconfigure(String address, int port) {
+        if (server != null) {
+            if (address.equals(serverAddress) && port == serverPort) {
+                return;
+            }
+            SpongeImpl.getLogger().info("Timings metrics endpoint config changed, stopping it on {}:{}", serverAddress, serverPort);
+            stop();
+        }
+        start(address, port);
+    }
+
+    static void tick() {
+        if (server == null || ++ticks < REFRESH_TICKS) {
+            return;
+        }
+        ticks = 0;
+        snapshot = buildSnapshot().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String buildSnapshot() {
+        final StringBuilder builder = new StringBuilder(4096);
+
+        long tickTime = 0;
+        final long[] tickTimes = MinecraftServer.getServer().tickTimeArray;
+        for (long time : tickTimes) {
+            tickTime += time;
+        }
+        final double meanTickTime = tickTime / (double) tickTimes.length;
+        builder.append("# TYPE sponge_tps gauge\n");
+        builder.append("sponge_tps ").append(meanTickTime == 0 ? 20D : Math.min(20D, 1E9D / meanTickTime)).append('\n');
+        builder.append("# TYPE sponge_tick_time_seconds gauge\n");
+        builder.append("sponge_tick_time_seconds ").append(meanTickTime / 1E9D).append('\n');
+
+        // The exposition format wants all samples of a family grouped under its TYPE line
+        final Collection<World> worlds = SpongeImpl.getGame().getServer().getWorlds();
+        builder.append("# TYPE sponge_world_entities gauge\n");
+        for (World world : worlds) {
+            builder.append("sponge_world_entities").append(worldLabel(world)).append(((WorldServer) world).loadedEntityList.size()).append('\n');
+        }
+        builder.append("# TYPE sponge_world_tile_entities gauge\n");
+        for (World world : worlds) {
+            builder.append("sponge_world_tile_entities").append(worldLabel(world)).append(((WorldServer) world).loadedTileEntityList.size())
+                    .append('\n');
+        }
+        builder.append("# TYPE sponge_world_loaded_chunks gauge\n");
+        for (World world : worlds) {
+            builder.append("sponge_world_loaded_chunks").append(worldLabel(world))
+                    .append(((WorldServer) world).theChunkProviderServer.loadedChunks.size()).append('\n');
+        }
+
+        // Handlers are reset at the start of each history interval, so these values roll with it
+        builder.append("# TYPE sponge_timings_count gauge\n");
+        for (TimingHandler handler : TimingsManager.HANDLERS) {
+            if (handler.record.count != 0) {
+                builder.append("sponge_timings_count").append(timingLabel(handler)).append(handler.record.count).append('\n');
+            }
+        }
+        builder.append("# TYPE sponge_timings_time_seconds gauge\n");
+        for (TimingHandler handler : TimingsManager.HANDLERS) {
+            if (handler.record.count != 0) {
+                builder.append("sponge_timings_time_seconds").append(timingLabel(handler)).append(handler.record.totalTime / 1E9D).append('\n');
+            }
+        }
+
+        for (MetricSource source : sources) {
+            try {
+                source.appendTo(builder);
+            } catch (Exception e) {
+                SpongeImpl.getLogger().error("Could not collect timings metrics from {}", source, e);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String worldLabel(World world) {
+        return "{world=\"" + MetricSource.escape(world.getName()) + "\"} ";
+    }
+
+    private static String timingLabel(TimingHandler handler) {
+        return "{group=\"" + MetricSource.escape(handler.group) + "\",name=\"" + MetricSource.escape(handler.name) + "\"} ";
+    }
+}
@@ -127,6 +127,11 @@ public static boolean postEvent(Event event) {
         return getGame().getEventManager().post(event);
     }
 
+    public static boolean hasListeners(Class<? extends Event> eventClass) {
+        SpongeEventManager eventManager = (SpongeEventManager) getGame().getEventManager();
+        return !eventManager.isListenerQuerySupported() || eventManager.hasListeners(eventClass);
+    }
+
     public static Logger getLogger() {
         return getInstance().logger;
     }
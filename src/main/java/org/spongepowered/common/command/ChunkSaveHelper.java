@@ -25,6 +25,7 @@
 package org.spongepowered.common.command;
 
 import com.flowpowered.math.GenericMath;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.stream.JsonWriter;
 import gnu.trove.map.hash.TObjectIntHashMap;
 import net.minecraft.entity.Entity;
@@ -35,6 +36,9 @@
 import net.minecraft.world.WorldServer;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.world.ChunkStatsIndex;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -47,8 +51,75 @@
 
 public class ChunkSaveHelper {
 
-    @SuppressWarnings("rawtypes")
     public static void writeChunks(File file, boolean logAll) {
+        write(file, collect(logAll));
+    }
+
+    /**
+     * Gathers the chunk report on the calling thread, which has to be the
+     * main thread, and writes it to the file in the background.
+     *
+     * <p>Apart from the {@code logAll} details the counts come from the
+     * {@link ChunkStatsIndex} of each world, so gathering them does not walk
+     * the loaded entities or tile entities.</p>
+     *
+     * @param file The file to write to
+     * @param logAll Whether to include every tile entity and the entity colliders
+     * @return The future completing once the file is written
+     */
+    public static ListenableFuture<?> writeChunksAsync(File file, boolean logAll) {
+        final List<WorldReport> reports = collect(logAll);
+        return SpongeScheduler.getInstance().getListeningExecService().submit(() -> write(file, reports));
+    }
+
+    private static List<WorldReport> collect(boolean logAll) {
+        final List<WorldReport> reports = new ArrayList<>();
+        for (World spongeWorld : SpongeImpl.getGame().getServer().getWorlds()) {
+            final WorldServer world = (WorldServer) spongeWorld;
+            final ChunkStatsIndex stats = ((IMixinWorldServer) world).getChunkStats();
+            final WorldReport report = new WorldReport();
+            report.name = world.getSaveHandler().getWorldDirectoryName();
+            report.dimensionId = world.provider.getDimensionId();
+            report.players = world.playerEntities.size();
+            report.loadedChunks = world.theChunkProviderServer.loadedChunks.size();
+            report.activeChunks = world.activeChunkSet.size();
+            report.entities = world.loadedEntityList.size();
+            report.tiles = world.loadedTileEntityList.size();
+            report.entitiesByClass = stats.getEntityCountsByType();
+            report.entitiesByChunk = stats.getEntityCountsByChunk();
+            report.tilesByClass = stats.getTileEntityCountsByType();
+            report.tilesByChunk = stats.getTileEntityCountsByChunk();
+            report.pendingTicks = ((IMixinWorldServer) world).getPendingTickIndex().size();
+            report.pendingTicksByChunk = ((IMixinWorldServer) world).getPendingTickIndex().getChunkCounts();
+
+            if (logAll) {
+                report.entityCollisionCounts = new TObjectIntHashMap<>();
+                Set<BlockPos> collidingCoords = new HashSet<>();
+                for (int i = 0; i < world.loadedEntityList.size(); i++) {
+                    Entity entity = world.loadedEntityList.get(i);
+                    if (entity.getCollisionBoundingBox() != null) {
+                        BlockPos coords = new BlockPos(GenericMath.floor(entity.posX), GenericMath.floor(entity.posY), GenericMath.floor(entity.posZ));
+                        if (collidingCoords.add(coords)) {
+                            int size = entity.worldObj.getEntitiesWithinAABBExcludingEntity(entity, entity.getCollisionBoundingBox().expand(1, 1, 1)).size();
+                            if (size >= 5) {
+                                report.entityCollisionCounts.put(entity.toString(), size);
+                            }
+                        }
+                    }
+                }
+
+                report.tileDetails = new ArrayList<>(world.loadedTileEntityList.size());
+                for (int i = 0; i < world.loadedTileEntityList.size(); i++) {
+                    TileEntity tile = world.loadedTileEntityList.get(i);
+                    report.tileDetails.add(new TileDetail(tile));
+                }
+            }
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    private static void write(File file, List<WorldReport> reports) {
         try {
             if (file.getParentFile() != null) {
                 file.getParentFile().mkdirs();
@@ -59,70 +130,43 @@ public static void writeChunks(File file, boolean logAll) {
             writer.setIndent("  ");
             writer.beginArray();
 
-            for (World spongeWorld : SpongeImpl.getGame().getServer().getWorlds()) {
-                WorldServer world = (WorldServer) spongeWorld;
+            for (WorldReport report : reports) {
                 writer.beginObject();
-                writer.name("name").value(((WorldServer) spongeWorld).getSaveHandler().getWorldDirectoryName());
-                writer.name("dimensionId").value(world.provider.getDimensionId());
-                writer.name("players").value(world.playerEntities.size());
-                writer.name("loadedChunks").value(world.theChunkProviderServer.loadedChunks.size());
-                writer.name("activeChunks").value(world.activeChunkSet.size());
-                writer.name("entities").value(world.loadedEntityList.size());
-                writer.name("tiles").value(world.loadedTileEntityList.size());
-
-                TObjectIntHashMap<ChunkCoordIntPair> chunkEntityCounts = new TObjectIntHashMap<>();
-                TObjectIntHashMap<Class> classEntityCounts = new TObjectIntHashMap<>();
-                TObjectIntHashMap<Entity> entityCollisionCounts = new TObjectIntHashMap<>();
-                Set<BlockPos> collidingCoords = new HashSet<>();
-                for (int i = 0; i < world.loadedEntityList.size(); i++) {
-                    Entity entity = (Entity) world.loadedEntityList.get(i);
-                    ChunkCoordIntPair chunkCoords = new ChunkCoordIntPair((int) entity.posX >> 4, (int) entity.posZ >> 4);
-                    chunkEntityCounts.adjustOrPutValue(chunkCoords, 1, 1);
-                    classEntityCounts.adjustOrPutValue(entity.getClass(), 1, 1);
-                    if ((entity.getCollisionBoundingBox() != null) && logAll) {
-                        BlockPos coords = new BlockPos(GenericMath.floor(entity.posX), GenericMath.floor(entity.posY), GenericMath.floor(entity.posZ));
-                        if (!collidingCoords.contains(coords)) {
-                            collidingCoords.add(coords);
-                            int size = entity.worldObj.getEntitiesWithinAABBExcludingEntity(entity, entity.getCollisionBoundingBox().expand(1, 1, 1)).size();
-                            if (size < 5) {
-                                continue;
-                            }
-                            entityCollisionCounts.put(entity, size);
-                        }
-                    }
-                }
+                writer.name("name").value(report.name);
+                writer.name("dimensionId").value(report.dimensionId);
+                writer.name("players").value(report.players);
+                writer.name("loadedChunks").value(report.loadedChunks);
+                writer.name("activeChunks").value(report.activeChunks);
+                writer.name("entities").value(report.entities);
+                writer.name("tiles").value(report.tiles);
 
-                TObjectIntHashMap<ChunkCoordIntPair> chunkTileCounts = new TObjectIntHashMap<>();
-                TObjectIntHashMap<Class> classTileCounts = new TObjectIntHashMap<>();
                 writer.name("tiles").beginArray();
-                for (int i = 0; i < world.loadedTileEntityList.size(); i++) {
-                    TileEntity tile = (TileEntity) world.loadedTileEntityList.get(i);
-                    if (logAll) {
+                if (report.tileDetails != null) {
+                    for (TileDetail tile : report.tileDetails) {
                         writer.beginObject();
-                        writer.name("type").value(tile.getClass().toString());
-                        writer.name("x").value(tile.getPos().getX());
-                        writer.name("y").value(tile.getPos().getY());
-                        writer.name("z").value(tile.getPos().getZ());
-                        writer.name("isInvalid").value(tile.isInvalid());
-                        // writer.name("canUpdate").value(tile.canUpdate());
-                        writer.name("block").value("" + tile.getBlockType());
+                        writer.name("type").value(tile.type);
+                        writer.name("x").value(tile.x);
+                        writer.name("y").value(tile.y);
+                        writer.name("z").value(tile.z);
+                        writer.name("isInvalid").value(tile.invalid);
+                        writer.name("block").value(tile.block);
                         writer.endObject();
                     }
-                    ChunkCoordIntPair chunkCoords = new ChunkCoordIntPair(tile.getPos().getX() >> 4, tile.getPos().getZ() >> 4);
-                    chunkTileCounts.adjustOrPutValue(chunkCoords, 1, 1);
-                    classTileCounts.adjustOrPutValue(tile.getClass(), 1, 1);
                 }
                 writer.endArray();
 
-                if (logAll) {
-                    writeChunkCounts(writer, "topEntityColliders", entityCollisionCounts, 20);
+                if (report.entityCollisionCounts != null) {
+                    writeChunkCounts(writer, "topEntityColliders", report.entityCollisionCounts, 20);
                 }
 
-                writeChunkCounts(writer, "entitiesByClass", classEntityCounts);
-                writeChunkCounts(writer, "entitiesByChunk", chunkEntityCounts);
+                writeChunkCounts(writer, "entitiesByClass", report.entitiesByClass);
+                writeChunkCounts(writer, "entitiesByChunk", report.entitiesByChunk);
+
+                writeChunkCounts(writer, "tilesByClass", report.tilesByClass);
+                writeChunkCounts(writer, "tilesByChunk", report.tilesByChunk);
 
-                writeChunkCounts(writer, "tilesByClass", classTileCounts);
-                writeChunkCounts(writer, "tilesByChunk", chunkTileCounts);
+                writer.name("pendingTicks").value(report.pendingTicks);
+                writeChunkCounts(writer, "pendingTicksByChunk", report.pendingTicksByChunk);
 
                 writer.endObject(); // Dimension
             }
@@ -159,5 +203,42 @@ private static <T> void writeChunkCounts(JsonWriter writer, String name, final T
         writer.endArray();
     }
 
+    private static final class WorldReport {
+
+        String name;
+        int dimensionId;
+        int players;
+        int loadedChunks;
+        int activeChunks;
+        int entities;
+        int tiles;
+        TObjectIntHashMap<Class<?>> entitiesByClass;
+        TObjectIntHashMap<ChunkCoordIntPair> entitiesByChunk;
+        TObjectIntHashMap<Class<?>> tilesByClass;
+        TObjectIntHashMap<ChunkCoordIntPair> tilesByChunk;
+        int pendingTicks;
+        TObjectIntHashMap<ChunkCoordIntPair> pendingTicksByChunk;
+        List<TileDetail> tileDetails;
+        TObjectIntHashMap<String> entityCollisionCounts;
+    }
+
+    private static final class TileDetail {
+
+        final String type;
+        final int x;
+        final int y;
+        final int z;
+        final boolean invalid;
+        final String block;
+
+        TileDetail(TileEntity tile) {
+            this.type = tile.getClass().toString();
+            this.x = tile.getPos().getX();
+            this.y = tile.getPos().getY();
+            this.z = tile.getPos().getZ();
+            this.invalid = tile.isInvalid();
+            this.block = "" + tile.getBlockType();
+        }
+    }
 
 }
@@ -61,7 +61,10 @@
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.scheduler.SpongeScheduler;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.ChunkStatsIndex;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeDimensionType;
 
@@ -70,6 +73,7 @@
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -190,8 +194,10 @@ public CommandResult execute(CommandSource src, CommandContext args) throws Comm
                             File file = new File(new File(new File("."), "chunk-dumps"),
                                 "chunk-info-" + DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss").format(Instant.now()) + "-server.txt");
                             src.sendMessage(Text.of("Writing chunk info to: ", file));
-                            ChunkSaveHelper.writeChunks(file, args.hasAny("dump-all"));
-                            src.sendMessage(Text.of("Chunk info complete"));
+                            // Only the snapshot is taken here, the file is written in the background
+                            ChunkSaveHelper.writeChunksAsync(file, args.hasAny("dump-all")).addListener(
+                                    () -> src.sendMessage(Text.of("Chunk info complete")),
+                                    SpongeScheduler.getInstance().createSyncExecutor(SpongeImpl.getPlugin()));
                         }
                         return res;
                     }
@@ -237,7 +243,21 @@ protected Text getChunksInfo(WorldServer worldserver) {
                                 key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
                                 key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                                 key("Removed Entities:"), value(worldserver.unloadedEntityList.size()), NEWLINE_TEXT,
-                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT
+                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT,
+                                getCrowdedChunksInfo(worldserver)
+                        );
+                    }
+
+                    protected Text getCrowdedChunksInfo(WorldServer worldserver) {
+                        final ChunkStatsIndex stats = ((IMixinWorldServer) worldserver).getChunkStats();
+                        final List<ChunkStatsIndex.ChunkCount> entities = stats.getTopChunksByEntities(1);
+                        final List<ChunkStatsIndex.ChunkCount> tiles = stats.getTopChunksByTileEntities(1);
+                        return Text.of(key("Most entities: "), value(entities.isEmpty() ? "none" : describe(entities.get(0))), NEWLINE_TEXT,
+                                key("Most tile entities: "), value(tiles.isEmpty() ? "none" : describe(tiles.get(0))), NEWLINE_TEXT);
+                    }
+
+                    protected String describe(ChunkStatsIndex.ChunkCount chunk) {
+                        return chunk.count + " in chunk " + chunk.chunkX + ", " + chunk.chunkZ;
                         );
                     }
                 })
@@ -0,0 +1,220 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config;
+
+import com.google.common.collect.ImmutableSet;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig.DimensionConfig;
+import org.spongepowered.common.config.SpongeConfig.WorldConfig;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable snapshot of the configuration that is active for a single
+ * world, resolved from its world, dimension and global configs.
+ *
+ * <p>Settings read on hot paths are copied into final fields when the
+ * snapshot is created, so they can be checked without walking the config
+ * categories. A snapshot becomes stale as soon as a reload or save changes
+ * the values of any {@link SpongeConfig}, see {@link #isValid()}.</p>
+ */
+public final class ActiveConfig {
+
+    private final SpongeConfig<?> config;
+    private final int generation;
+
+    private final boolean logBlockBreak;
+    private final boolean logBlockModify;
+    private final boolean logBlockPlace;
+    private final boolean logBlockPopulate;
+    private final boolean logBlockTracking;
+    private final boolean logChunkLoad;
+    private final boolean logChunkUnload;
+    private final boolean logEntityDeath;
+    private final boolean logEntityDespawn;
+    private final boolean logEntitySpawn;
+    private final boolean logEntityCollisionChecks;
+    private final boolean logEntitySpeedRemoval;
+    private final boolean logStackTraces;
+    private final boolean logExploitSignCommandUpdates;
+    private final boolean logExploitItemStackNameOverflow;
+    private final boolean logExploitRespawnInvisibility;
+
+    private final int maxBoundingBoxSize;
+    private final int maxSpeed;
+    private final int maxCollisionSize;
+
+    private final boolean blockTrackingEnabled;
+    private final ImmutableSet<String> blockTrackingBlacklist;
+
+    private ActiveConfig(SpongeConfig<?> config, int generation) {
+        this.config = config;
+        this.generation = generation;
+
+        final SpongeConfig.ConfigBase base = config.getConfig();
+        final SpongeConfig.LoggingCategory logging = base.getLogging();
+        this.logBlockBreak = logging.blockBreakLogging();
+        this.logBlockModify = logging.blockModifyLogging();
+        this.logBlockPlace = logging.blockPlaceLogging();
+        this.logBlockPopulate = logging.blockPopulateLogging();
+        this.logBlockTracking = logging.blockTrackLogging();
+        this.logChunkLoad = logging.chunkLoadLogging();
+        this.logChunkUnload = logging.chunkUnloadLogging();
+        this.logEntityDeath = logging.entityDeathLogging();
+        this.logEntityDespawn = logging.entityDespawnLogging();
+        this.logEntitySpawn = logging.entitySpawnLogging();
+        this.logEntityCollisionChecks = logging.logEntityCollisionChecks();
+        this.logEntitySpeedRemoval = logging.logEntitySpeedRemoval();
+        this.logStackTraces = logging.logWithStackTraces();
+        this.logExploitSignCommandUpdates = logging.logExploitSignCommandUpdates;
+        this.logExploitItemStackNameOverflow = logging.logExploitItemStackNameOverflow;
+        this.logExploitRespawnInvisibility = logging.logExploitRespawnInvisibility;
+
+        final SpongeConfig.EntityCategory entity = base.getEntity();
+        this.maxBoundingBoxSize = entity.getMaxBoundingBoxSize();
+        this.maxSpeed = entity.getMaxSpeed();
+        this.maxCollisionSize = entity.getMaxCollisionSize();
+
+        this.blockTrackingEnabled = base.getBlockTracking().isEnabled();
+        this.blockTrackingBlacklist = ImmutableSet.copyOf(base.getBlockTracking().getBlockBlacklist());
+    }
+
+    /**
+     * Resolves the active configuration, preferring an enabled world config
+     * over an enabled dimension config over the global config.
+     *
+     * @param worldConfig The world config, if any
+     * @param dimensionConfig The dimension config, if any
+     * @return The resolved snapshot
+     */
+    public static ActiveConfig resolve(@Nullable SpongeConfig<WorldConfig> worldConfig, @Nullable SpongeConfig<DimensionConfig> dimensionConfig) {
+        // Read the generation first, a reload racing with this call will then simply cause another rebuild
+        final int generation = SpongeConfig.getGeneration();
+        if (worldConfig != null && worldConfig.getConfig().isConfigEnabled()) {
+            return new ActiveConfig(worldConfig, generation);
+        } else if (dimensionConfig != null && dimensionConfig.getConfig().isConfigEnabled()) {
+            return new ActiveConfig(dimensionConfig, generation);
+        }
+        return new ActiveConfig(SpongeImpl.getGlobalConfig(), generation);
+    }
+
+    /**
+     * Gets whether no config values have changed since this snapshot was
+     * resolved.
+     *
+     * @return True if the snapshot is still up to date
+     */
+    public boolean isValid() {
+        return this.generation == SpongeConfig.getGeneration();
+    }
+
+    public SpongeConfig<?> getConfig() {
+        return this.config;
+    }
+
+    public boolean logBlockBreak() {
+        return this.logBlockBreak;
+    }
+
+    public boolean logBlockModify() {
+        return this.logBlockModify;
+    }
+
+    public boolean logBlockPlace() {
+        return this.logBlockPlace;
+    }
+
+    public boolean logBlockPopulate() {
+        return this.logBlockPopulate;
+    }
+
+    public boolean logBlockTracking() {
+        return this.logBlockTracking;
+    }
+
+    public boolean logChunkLoad() {
+        return this.logChunkLoad;
+    }
+
+    public boolean logChunkUnload() {
+        return this.logChunkUnload;
+    }
+
+    public boolean logEntityDeath() {
+        return this.logEntityDeath;
+    }
+
+    public boolean logEntityDespawn() {
+        return this.logEntityDespawn;
+    }
+
+    public boolean logEntitySpawn() {
+        return this.logEntitySpawn;
+    }
+
+    public boolean logEntityCollisionChecks() {
+        return this.logEntityCollisionChecks;
+    }
+
+    public boolean logEntitySpeedRemoval() {
+        return this.logEntitySpeedRemoval;
+    }
+
+    public boolean logStackTraces() {
+        return this.logStackTraces;
+    }
+
+    public boolean logExploitSignCommandUpdates() {
+        return this.logExploitSignCommandUpdates;
+    }
+
+    public boolean logExploitItemStackNameOverflow() {
+        return this.logExploitItemStackNameOverflow;
+    }
+
+    public boolean logExploitRespawnInvisibility() {
+        return this.logExploitRespawnInvisibility;
+    }
+
+    public int getMaxBoundingBoxSize() {
+        return this.maxBoundingBoxSize;
+    }
+
+    public int getMaxSpeed() {
+        return this.maxSpeed;
+    }
+
+    public int getMaxCollisionSize() {
+        return this.maxCollisionSize;
+    }
+
+    public boolean isBlockTrackingEnabled() {
+        return this.blockTrackingEnabled;
+    }
+
+    public boolean isBlockTrackingBlacklisted(String blockId) {
+        return this.blockTrackingBlacklist.contains(blockId);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.Nullable;
+
+/**
+ * Compares two raw config node values, as returned by
+ * {@code ConfigurationNode#getValue()}, and lists the keys that differ.
+ *
+ * <p>Maps are walked recursively and their keys joined with dots, matching
+ * the keys accepted by {@link SpongeConfig#getSetting(String)}. Any other
+ * value, lists included, is compared as a whole.</p>
+ */
+public final class ConfigDiff {
+
+    private ConfigDiff() {
+    }
+
+    /**
+     * Gets the keys of all values that were added, removed or changed.
+     *
+     * @param before The old value
+     * @param after The new value
+     * @return The changed keys in natural order, empty if nothing changed
+     */
+    public static Set<String> changedKeys(@Nullable Object before, @Nullable Object after) {
+        if (Objects.equals(before, after)) {
+            return Collections.emptySet();
+        }
+        final Set<String> changed = new TreeSet<>();
+        collect("", before, after, changed);
+        return changed;
+    }
+
+    /**
+     * Gets whether the given key or one of its children is in the changed
+     * keys.
+     *
+     * @param changedKeys The changed keys
+     * @param key The key to check, such as a category name
+     * @return True if the key or any key below it changed
+     */
+    public static boolean isAffected(Set<String> changedKeys, String key) {
+        for (String changed : changedKeys) {
+            if (changed.equals(key) || changed.startsWith(key + ".") || key.startsWith(changed + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collect(String prefix, @Nullable Object before, @Nullable Object after, Set<String> changed) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (!(before instanceof Map) && !(after instanceof Map)) {
+            changed.add(prefix);
+            return;
+        }
+        if (!prefix.isEmpty() && (before != null && !(before instanceof Map) || after != null && !(after instanceof Map))) {
+            // The node was replaced by or with a section
+            changed.add(prefix);
+        }
+        final Map<?, ?> beforeMap = before instanceof Map ? (Map<?, ?>) before : Collections.emptyMap();
+        final Map<?, ?> afterMap = after instanceof Map ? (Map<?, ?>) after : Collections.emptyMap();
+        final Set<Object> keys = new HashSet<>(beforeMap.keySet());
+        keys.addAll(afterMap.keySet());
+        for (Object key : keys) {
+            collect(prefix.isEmpty() ? String.valueOf(key) : prefix + "." + key, beforeMap.get(key), afterMap.get(key), changed);
+        }
+    }
+}
@@ -44,16 +44,26 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.util.IpSet;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
 
@@ -78,6 +88,8 @@ public enum Type {
     public static final String DEBUG_DUMP_CHUNKS_ON_DEADLOCK = "dump-chunks-on-deadlock";
     public static final String DEBUG_DUMP_HEAP_ON_DEADLOCK = "dump-heap-on-deadlock";
     public static final String DEBUG_DUMP_THREADS_ON_WARN = "dump-threads-on-warn";
+    public static final String DEBUG_LAG_SPIKE_THRESHOLD = "lag-spike-threshold";
+    public static final String DEBUG_LAG_SPIKE_SAMPLE_INTERVAL = "lag-spike-sample-interval";
 
     // ENTITY
     public static final String ENTITY_MAX_BOUNDING_BOX_SIZE = "max-bounding-box-size";
@@ -129,6 +141,7 @@ public enum Type {
 
     // WORLD
     public static final String WORLD_PVP_ENABLED = "pvp-enabled";
+    public static final String WORLD_CHUNK_READ_AHEAD = "chunk-read-ahead";
     public static final String WORLD_ENABLED = "world-enabled";
     public static final String WORLD_FLOWING_LAVA_DECAY = "flowing-lava-decay";
     public static final String WORLD_INFINITE_WATER_SOURCE = "infinite-water-source";
@@ -145,18 +158,31 @@ public enum Type {
             + "# IRC: #sponge @ irc.esper.net ( http://webchat.esper.net/?channel=sponge )\n"
             + "# Forums: https://forums.spongepowered.org/\n";
 
+    // Configs loaded from disk for worlds that are not loaded, keyed by file
+    private static final Map<Path, SpongeConfig<?>> diskConfigCache = new ConcurrentHashMap<>();
+    // Bumped whenever the values of any config change, used to invalidate resolved ActiveConfigs
+    private static final AtomicInteger generation = new AtomicInteger();
+    private static final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
     private Type type;
-    private HoconConfigurationLoader loader;
+    private Path path;
     private CommentedConfigurationNode root = SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults()
             .setHeader(HEADER));
     private ObjectMapper<T>.BoundInstance configMapper;
     private T configBase;
     private String modId;
+    // The file contents and values as last read or written by this instance
+    @Nullable private String savedText;
+    @Nullable private Object savedValue;
+    // The contents of the latest queued write, which may not have reached the file yet
+    @Nullable private String queuedText;
+    private volatile CompletableFuture<?> pendingWrite = CompletableFuture.completedFuture(null);
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     public SpongeConfig(Type type, Path path, String modId) {
 
         this.type = type;
+        this.path = path;
         this.modId = modId;
 
         try {
@@ -165,7 +191,6 @@ public SpongeConfig(Type type, Path path, String modId) {
                 Files.createFile(path);
             }
 
-            this.loader = HoconConfigurationLoader.builder().setPath(path).build();
             this.configMapper = (ObjectMapper.BoundInstance) ObjectMapper.forClass(this.type.type).bindToNew();
 
             reload();
@@ -175,37 +200,201 @@ public SpongeConfig(Type type, Path path, String modId) {
         }
     }
 
+    /**
+     * Gets the config stored at the given path, only parsing the file if it
+     * was not already read by a previous call. Used to look up configs of
+     * worlds and dimensions that are not loaded.
+     *
+     * @param type The type of config
+     * @param path The path to the config file
+     * @param modId The id of the root node
+     * @param <T> The type of config base
+     * @return The config
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends ConfigBase> SpongeConfig<T> getDiskConfig(Type type, Path path, String modId) {
+        SpongeConfig<?> config = diskConfigCache.get(path);
+        if (config == null || config.type != type) {
+            config = new SpongeConfig<>(type, path, modId);
+            diskConfigCache.put(path, config);
+        }
+        return (SpongeConfig<T>) config;
+    }
+
+    /**
+     * Gets the current config generation, which changes every time the
+     * values of any config change through a reload or save.
+     *
+     * @return The current generation
+     */
+    public static int getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Registers a listener that is called whenever a reload or save changes
+     * the given key, or any key below it, of any config.
+     *
+     * <p>Keys are relative to the root node of the config, for example
+     * {@code "logging"} or {@code "world.pvp-enabled"}. Listeners are called
+     * on the thread that reloaded the config, or on the one that wrote the
+     * file for a save.</p>
+     *
+     * @param key The key to watch
+     * @param listener The listener
+     */
+    public static void subscribe(String key, ChangeListener listener) {
+        subscriptions.add(new Subscription(key, listener));
+    }
+
+    private void onChanged(Set<String> changedKeys) {
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        if (this.type == Type.GLOBAL) {
+            diskConfigCache.clear();
+        } else {
+            // Another instance wrote to or re-read this file, the cached copy is stale
+            final SpongeConfig<?> cached = diskConfigCache.get(this.path);
+            if (cached != null && cached != this) {
+                diskConfigCache.remove(this.path, cached);
+            }
+        }
+        generation.incrementAndGet();
+        for (Subscription subscription : subscriptions) {
+            if (ConfigDiff.isAffected(changedKeys, subscription.key)) {
+                try {
+                    subscription.listener.onChanged(this, changedKeys);
+                } catch (Exception e) {
+                    SpongeImpl.getLogger().error("Could not pass config change of {} to listener", this.path, e);
+                }
+            }
+        }
+    }
+
     public T getConfig() {
         return this.configBase;
     }
 
+    /**
+     * Writes the config to its file, unless the file already holds exactly
+     * what would be written. The write goes through the same queue as
+     * {@link #saveAsync()}, this only waits for it.
+     */
     public void save() {
+        saveAsync().join();
+    }
+
+    /**
+     * Serializes the config on the calling thread and writes it to its file
+     * in the background, unless nothing changed since it was last read or
+     * queued for writing. Writes are done one after another in the order
+     * they were queued, and a following {@link #reload()} waits for them.
+     *
+     * @return The future completing once the file is written
+     */
+    public synchronized CompletableFuture<?> saveAsync() {
+        final String text;
         try {
-            this.configMapper.serialize(this.root.getNode(this.modId));
-            this.loader.save(this.root);
+            text = serialize();
         } catch (IOException | ObjectMappingException e) {
             SpongeImpl.getLogger().error("Failed to save configuration", e);
+            return CompletableFuture.completedFuture(null);
+        }
+        if (text.equals(this.queuedText)) {
+            return this.pendingWrite;
         }
+        this.queuedText = text;
+        final Object value = this.root.getNode(this.modId).getValue();
+        this.pendingWrite = this.pendingWrite.thenRunAsync(() -> write(text, value), ForkJoinPool.commonPool());
+        return this.pendingWrite;
     }
 
+    /**
+     * Maps the config object back onto the root node and renders it.
+     *
+     * @return The rendered file
+     */
+    private String serialize() throws IOException, ObjectMappingException {
+        this.configMapper.serialize(this.root.getNode(this.modId));
+        final StringWriter writer = new StringWriter();
+        HoconConfigurationLoader.builder().setSink(() -> new BufferedWriter(writer)).build().save(this.root);
+        return writer.toString();
+    }
+
+    private void write(String text, Object value) {
+        try {
+            Files.write(this.path, text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to save configuration", e);
+            synchronized (this) {
+                // Let the next save try again
+                if (text.equals(this.queuedText)) {
+                    this.queuedText = this.savedText;
+                }
+            }
+            return;
+        }
+        final Object before;
+        synchronized (this) {
+            before = this.savedValue;
+            this.savedText = text;
+            this.savedValue = value;
+        }
+        // Only changed values matter to listeners, new comments or formatting do not
+        onChanged(ConfigDiff.changedKeys(before, value));
+    }
+
+    /**
+     * Re-reads the config from its file. Parsing and mapping are skipped if
+     * the file still holds what this instance last read or wrote, and
+     * listeners are only told about the keys whose values changed.
+     */
     public void reload() {
+        CompletableFuture<?> write;
+        do {
+            // Waited for outside of the lock, a write takes it to record what it wrote
+            write = this.pendingWrite;
+            write.join();
+        } while (!reload(write));
+    }
+
+    private synchronized boolean reload(CompletableFuture<?> write) {
+        if (this.pendingWrite != write) {
+            // Another save was queued in the meantime
+            return false;
+        }
         try {
-            this.root = this.loader.load(ConfigurationOptions.defaults()
+            final String text = new String(Files.readAllBytes(this.path), StandardCharsets.UTF_8);
+            if (text.equals(this.savedText)) {
+                return true;
+            }
+            this.root = HoconConfigurationLoader.builder().setSource(() -> new BufferedReader(new StringReader(text))).build()
+                    .load(ConfigurationOptions.defaults()
                     .setSerializers(
                             TypeSerializers.getDefaultSerializers().newChild().registerType(TypeToken.of(IpSet.class), new IpSet.IpSetSerializer()))
                     .setHeader(HEADER));
             this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+            final Object before = this.savedValue;
+            this.savedText = text;
+            this.queuedText = text;
+            this.savedValue = this.root.getNode(this.modId).getValue();
+            onChanged(ConfigDiff.changedKeys(before, this.savedValue));
         } catch (Exception e) {
             SpongeImpl.getLogger().error("Failed to load configuration", e);
         }
+        return true;
     }
 
     public CompletableFuture<CommentedConfigurationNode> updateSetting(String key, Object value) {
         return Functional.asyncFailableFuture(() -> {
-            CommentedConfigurationNode upd = getSetting(key);
-            upd.setValue(value);
-            this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
-            this.loader.save(this.root);
+            CommentedConfigurationNode upd;
+            synchronized (this) {
+                upd = getSetting(key);
+                upd.setValue(value);
+                this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+            }
+            saveAsync().join();
             return upd;
         }, ForkJoinPool.commonPool());
     }
@@ -230,6 +419,32 @@ public Type getType() {
         return this.type;
     }
 
+    /**
+     * Listens for changed values of a config, see
+     * {@link #subscribe(String, ChangeListener)}.
+     */
+    public interface ChangeListener {
+
+        /**
+         * Called after a reload or save changed the watched key.
+         *
+         * @param config The config that changed
+         * @param changedKeys All keys of the config whose values changed
+         */
+        void onChanged(SpongeConfig<?> config, Set<String> changedKeys);
+    }
+
+    private static final class Subscription {
+
+        final String key;
+        final ChangeListener listener;
+
+        Subscription(String key, ChangeListener listener) {
+            this.key = key;
+            this.listener = listener;
+        }
+    }
+
     public static class GlobalConfig extends ConfigBase {
 
         @Setting(comment = "Configuration options related to the Sql service, including connection aliases etc")
@@ -281,6 +496,10 @@ public ExploitCategory getExploits() {
             return this.exploits;
         }
 
+        public Map<String, List<IpSet>> getIpSetDefinitions() {
+            return Collections.unmodifiableMap(this.ipSets);
+        }
+
         public Predicate<InetAddress> getIpSet(String name) {
             return this.ipSets.containsKey(name) ? Predicates.and(this.ipSets.get(name)) : null;
         }
@@ -415,6 +634,11 @@ public static class DebugCategory extends Category {
         private boolean dumpHeapOnDeadlock = false;
         @Setting(value = DEBUG_DUMP_THREADS_ON_WARN, comment = "Dump the server thread on deadlock warning")
         private boolean dumpThreadsOnWarn = false;
+        @Setting(value = DEBUG_LAG_SPIKE_THRESHOLD, comment = "Ticks taking longer than this many milliseconds have the server thread sampled "
+                + "and a report written to debug/lag-spikes, 0 to disable")
+        private int lagSpikeThreshold = 0;
+        @Setting(value = DEBUG_LAG_SPIKE_SAMPLE_INTERVAL, comment = "How often, in milliseconds, the server thread is sampled during a lag spike")
+        private int lagSpikeSampleInterval = 5;
 
         public boolean isEnableThreadContentionMonitoring() {
             return this.enableThreadContentionMonitoring;
@@ -447,6 +671,14 @@ public boolean dumpThreadsOnWarn() {
         public void setDumpThreadsOnWarn(boolean dumpThreadsOnWarn) {
             this.dumpThreadsOnWarn = dumpThreadsOnWarn;
         }
+
+        public int getLagSpikeThreshold() {
+            return this.lagSpikeThreshold;
+        }
+
+        public int getLagSpikeSampleInterval() {
+            return this.lagSpikeSampleInterval;
+        }
     }
 
     @ConfigSerializable
@@ -856,6 +1088,10 @@ public static class WorldCategory extends Category {
         @Setting(value = WORLD_PVP_ENABLED, comment = "Enable if this world allows PVP combat.")
         protected boolean pvpEnabled = true;
 
+        @Setting(value = WORLD_CHUNK_READ_AHEAD, comment = "The number of chunk rows beyond the view distance to read from disk in the background "
+                + "ahead of fast moving players. Set to 0 to disable.")
+        protected int chunkReadAhead = 2;
+
         public boolean hasInfiniteWaterSource() {
             return this.infiniteWaterSource;
         }
@@ -911,6 +1147,10 @@ public boolean getGenerateSpawnOnLoad() {
         public void setGenerateSpawnOnLoad(boolean allow) {
             this.generateSpawnOnLoad = allow;
         }
+
+        public int getChunkReadAhead() {
+            return this.chunkReadAhead;
+        }
     }
 
     @ConfigSerializable
@@ -934,6 +1174,16 @@ public static class TimingsCategory extends Category {
         @Setting("history-length")
         private int historyLength = 3600;
 
+        @Setting(value = "local-export", comment = "If enabled, timings reports are written to the 'timings' folder of the server "
+                + "instead of being uploaded to timings.aikar.co")
+        private boolean localExport = false;
+
+        @Setting(value = "metrics-port", comment = "The port to serve rolling timings metrics on in a plain text format, 0 to disable")
+        private int metricsPort = 0;
+
+        @Setting(value = "metrics-address", comment = "The address the metrics endpoint binds to")
+        private String metricsAddress = "127.0.0.1";
+
         public boolean isVerbose() {
             return this.verbose;
         }
@@ -966,6 +1216,18 @@ public void setHistoryLength(int historyLength) {
             this.historyLength = historyLength;
         }
 
+        public boolean isLocalExport() {
+            return this.localExport;
+        }
+
+        public int getMetricsPort() {
+            return this.metricsPort;
+        }
+
+        public String getMetricsAddress() {
+            return this.metricsAddress;
+        }
+
     }
 
     @ConfigSerializable
@@ -25,6 +25,7 @@
 package org.spongepowered.common.entity;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
@@ -34,12 +35,14 @@
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagDouble;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.MemoryDataContainer;
 import org.spongepowered.api.data.Property;
 import org.spongepowered.api.data.Queries;
 import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.manipulator.DataManipulator;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
@@ -58,37 +61,61 @@
 import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.util.persistence.NbtTranslator;
 import org.spongepowered.common.data.SpongeDataManager;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
 public class SpongeEntitySnapshot implements EntitySnapshot {
 
+    // Entities with snapshots that have not captured their data yet, only ever touched on the server thread
+    private static final List<IMixinEntity> entitiesWithPendingSnapshots = new ArrayList<>();
+    // How long a reader on another thread waits for the server thread to capture the data
+    private static final long CAPTURE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final long CAPTURE_POLL_MILLIS = 50;
+
     @Nullable private final UUID entityUuid;
     private final UUID worldUuid;
     private final EntityType entityType;
     private final Vector3d position;
     private final Vector3d rotation;
     private final Vector3d scale;
-    private final ImmutableList<ImmutableDataManipulator<?, ?>> manipulators;
-    private final ImmutableSet<Key<?>> keys;
-    private final ImmutableSet<ImmutableValue<?>> values;
-    @Nullable private final NBTTagCompound compound;
+    // Set until the entity's data is captured, see SpongeEntitySnapshotBuilder#from(Entity)
+    @Nullable private volatile net.minecraft.entity.Entity pendingEntity;
+    private ImmutableList<ImmutableDataManipulator<?, ?>> manipulators;
+    private ImmutableSet<Key<?>> keys;
+    private ImmutableSet<ImmutableValue<?>> values;
+    @Nullable private NBTTagCompound compound;
 
     SpongeEntitySnapshot(SpongeEntitySnapshotBuilder builder) {
         this.entityType = builder.entityType;
         this.entityUuid = builder.entityId == null ? null : builder.entityId;
-        if (builder.manipulators == null) {
+        if (builder.lazyEntity != null) {
+            this.pendingEntity = builder.lazyEntity;
+            ((IMixinEntity) builder.lazyEntity).addPendingSnapshot(this);
+        } else {
+            setData(builder.manipulators, builder.compound == null ? null : (NBTTagCompound) builder.compound.copy());
+        }
+        this.worldUuid = builder.worldId == null ? null : builder.worldId;
+        this.position = builder.position == null ? null : builder.position;
+        this.rotation = builder.rotation == null ? null : builder.rotation;
+        this.scale = builder.scale == null ? null : builder.scale;
+    }
+
+    private void setData(@Nullable List<ImmutableDataManipulator<?, ?>> manipulators, @Nullable NBTTagCompound compound) {
+        if (manipulators == null) {
             this.manipulators = ImmutableList.of();
         } else {
-            this.manipulators = ImmutableList.copyOf(builder.manipulators);
+            this.manipulators = ImmutableList.copyOf(manipulators);
         }
         if (this.manipulators.isEmpty()) {
             this.keys = ImmutableSet.of();
@@ -105,11 +132,77 @@ public class SpongeEntitySnapshot implements EntitySnapshot {
             this.keys = keyBuilder.build();
             this.values = valueBuilder.build();
         }
-        this.compound = builder.compound == null ? null : (NBTTagCompound) builder.compound.copy();
-        this.worldUuid = builder.worldId == null ? null : builder.worldId;
-        this.position = builder.position == null ? null : builder.position;
-        this.rotation = builder.rotation == null ? null : builder.rotation;
-        this.scale = builder.scale == null ? null : builder.scale;
+        this.compound = compound;
+    }
+
+    /**
+     * Captures the data of the entity this snapshot was taken from, if that
+     * has not happened yet. Called on the server thread before the entity
+     * changes, and before any of the snapshot's data is read.
+     */
+    public void capture() {
+        checkState(MinecraftServer.getServer().isCallingFromMinecraftThread(), "Entity snapshots can only be captured on the server thread!");
+        final net.minecraft.entity.Entity entity = this.pendingEntity;
+        if (entity == null) {
+            return;
+        }
+        final List<ImmutableDataManipulator<?, ?>> manipulators = new ArrayList<>();
+        for (DataManipulator<?, ?> manipulator : ((Entity) entity).getContainers()) {
+            manipulators.add(manipulator.asImmutable());
+        }
+        final NBTTagCompound compound = new NBTTagCompound();
+        entity.writeToNBT(compound);
+        setData(manipulators, compound);
+        // Cleared last, a reader that sees it null also sees the data
+        this.pendingEntity = null;
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    public static void markPending(IMixinEntity entity) {
+        checkState(MinecraftServer.getServer().isCallingFromMinecraftThread(), "Entity snapshots can only be deferred on the server thread!");
+        entitiesWithPendingSnapshots.add(entity);
+    }
+
+    /**
+     * Captures every snapshot still waiting for its entity. Called at the end
+     * of each tick so no snapshot outlives the tick it was taken in.
+     */
+    public static void captureAllPending() {
+        if (entitiesWithPendingSnapshots.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < entitiesWithPendingSnapshots.size(); i++) {
+            entitiesWithPendingSnapshots.get(i).capturePendingSnapshots();
+        }
+        entitiesWithPendingSnapshots.clear();
+    }
+
+    private void resolve() {
+        if (this.pendingEntity == null) {
+            return;
+        }
+        final MinecraftServer server = MinecraftServer.getServer();
+        if (server.isCallingFromMinecraftThread()) {
+            capture();
+            return;
+        }
+        // The entity may only be read on the server thread, which captures every pending snapshot at the end of
+        // the current tick. Nothing is posted to the server thread, it may well be waiting on this thread itself.
+        final long deadline = System.nanoTime() + CAPTURE_TIMEOUT_NANOS;
+        synchronized (this) {
+            while (this.pendingEntity != null) {
+                checkState(server.isServerRunning(), "The server stopped before the entity snapshot data was captured!");
+                checkState(System.nanoTime() - deadline < 0, "The server thread did not capture the entity snapshot data in time!");
+                try {
+                    wait(CAPTURE_POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the entity snapshot data!", e);
+                }
+            }
+        }
     }
 
     @Override
@@ -150,6 +243,7 @@ public Optional<Location<World>> getLocation() {
 
     @Override
     public List<ImmutableDataManipulator<?, ?>> getManipulators() {
+        resolve();
         return this.manipulators;
     }
 
@@ -160,6 +254,7 @@ public int getContentVersion() {
 
     @Override
     public DataContainer toContainer() {
+        resolve();
         final List<DataView> dataList = DataUtil.getSerializedImmutableManipulatorList(this.manipulators);
         final DataContainer container = new MemoryDataContainer()
             .set(Queries.CONTENT_VERSION, getContentVersion())
@@ -195,6 +290,7 @@ public DataContainer toContainer() {
     @SuppressWarnings("unchecked")
     @Override
     public <T extends ImmutableDataManipulator<?, ?>> Optional<T> get(Class<T> containerClass) {
+        resolve();
         for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
             if (containerClass.isInstance(manipulator)) {
                 return Optional.of((T) manipulator);
@@ -224,6 +320,7 @@ public DataContainer toContainer() {
     @SuppressWarnings("rawtypes")
     @Override
     public boolean supports(Class<? extends ImmutableDataManipulator<?, ?>> containerClass) {
+        resolve();
         for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
             if (containerClass.isInstance(manipulator)) {
                 return true;
@@ -235,6 +332,7 @@ public boolean supports(Class<? extends ImmutableDataManipulator<?, ?>> containe
 
     @Override
     public <E> Optional<EntitySnapshot> transform(Key<? extends BaseValue<E>> key, Function<E, E> function) {
+        resolve();
         checkNotNull(key);
         checkNotNull(function);
         final ImmutableList.Builder<ImmutableDataManipulator<?, ?>> builder = ImmutableList.builder();
@@ -284,6 +382,7 @@ public Optional<EntitySnapshot> with(Iterable<ImmutableDataManipulator<?, ?>> va
 
     @Override
     public Optional<EntitySnapshot> without(Class<? extends ImmutableDataManipulator<?, ?>> containerClass) {
+        resolve();
         if (!supports(containerClass)) {
             return Optional.empty();
         }
@@ -316,6 +415,7 @@ public EntitySnapshot merge(EntitySnapshot that, MergeFunction function) {
     @SuppressWarnings("unchecked")
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
+        resolve();
         checkNotNull(key);
         for (ImmutableValue<?> value : this.values) {
             if (value.getKey().equals(key)) {
@@ -328,6 +428,7 @@ public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
     @SuppressWarnings("unchecked")
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
+        resolve();
         checkNotNull(key);
         for (ImmutableValue<?> value : this.values) {
             if (value.getKey().equals(key)) {
@@ -339,6 +440,7 @@ public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
 
     @Override
     public boolean supports(Key<?> key) {
+        resolve();
         return this.keys.contains(key);
     }
 
@@ -349,11 +451,13 @@ public EntitySnapshot copy() {
 
     @Override
     public Set<Key<?>> getKeys() {
+        resolve();
         return this.keys;
     }
 
     @Override
     public Set<ImmutableValue<?>> getValues() {
+        resolve();
         return this.values;
     }
 
@@ -369,6 +473,7 @@ public Vector3i getPosition() {
 
     @Override
     public EntitySnapshot withLocation(Location<World> location) {
+        resolve();
         checkNotNull(location, "location");
         final SpongeEntitySnapshotBuilder builder = createBuilder();
         builder.position = location.getPosition();
@@ -388,6 +493,7 @@ private SpongeEntitySnapshotBuilder createBuilder() {
     }
 
     public Optional<NBTTagCompound> getCompound() {
+        resolve();
         if (this.compound == null) {
             return Optional.empty();
         } else {
@@ -397,6 +503,7 @@ public Optional<NBTTagCompound> getCompound() {
 
     @Override
     public Optional<Entity> restore() {
+        resolve();
         Optional<World> world = SpongeImpl.getGame().getServer().getWorld(this.worldUuid);
         if (!world.isPresent()) {
             return Optional.empty();
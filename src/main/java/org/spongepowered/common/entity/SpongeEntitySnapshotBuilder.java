@@ -31,6 +31,7 @@
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.Queries;
 import org.spongepowered.api.data.manipulator.DataManipulator;
@@ -67,6 +68,8 @@ public class SpongeEntitySnapshotBuilder extends AbstractDataBuilder<EntitySnaps
     @Nullable UUID entityId;
     @Nullable List<ImmutableDataManipulator<?, ?>> manipulators;
     @Nullable NBTTagCompound compound;
+    // The entity whose data the built snapshot captures lazily, set only by from(Entity) on the server thread
+    @Nullable net.minecraft.entity.Entity lazyEntity;
 
     public SpongeEntitySnapshotBuilder() {
         super(EntitySnapshot.class, 1);
@@ -86,6 +89,7 @@ public SpongeEntitySnapshotBuilder worldId(UUID worldUuid) {
     @Override
     public SpongeEntitySnapshotBuilder type(EntityType entityType) {
         this.entityType = checkNotNull(entityType);
+        this.lazyEntity = null;
         this.compound = null;
         this.manipulators = null;
         this.entityId = null;
@@ -113,23 +117,10 @@ public SpongeEntitySnapshotBuilder id(UUID entityId) {
         return this;
     }
 
-    @SuppressWarnings("rawtypes")
     @Override
     public SpongeEntitySnapshotBuilder from(Entity entity) {
         reset();
-        this.worldId = entity.getWorld().getUniqueId();
-        this.position = entity.getTransform().getPosition();
-        this.rotation = entity.getTransform().getRotation();
-        this.scale = entity.getTransform().getScale();
-        this.entityType = entity.getType();
-        this.entityId = entity.getUniqueId();
-        this.manipulators = Lists.newArrayList();
-        for (DataManipulator<?, ?> manipulator : entity.getContainers()) {
-            addManipulator((ImmutableDataManipulator) manipulator.asImmutable());
-        }
-        this.compound = new NBTTagCompound();
-        ((net.minecraft.entity.Entity) entity).writeToNBT(this.compound);
-        return this;
+        return from((net.minecraft.entity.Entity) entity);
     }
 
     @SuppressWarnings("rawtypes")
@@ -155,6 +146,7 @@ public SpongeEntitySnapshotBuilder add(ImmutableDataManipulator<?, ?> manipulato
     }
 
     private void addManipulator(ImmutableDataManipulator<?, ?> manipulator) {
+        captureLazyEntity();
         if (this.manipulators == null) {
             this.manipulators = Lists.newArrayList();
         }
@@ -174,6 +166,7 @@ private void addManipulator(ImmutableDataManipulator<?, ?> manipulator) {
     @SuppressWarnings("rawtypes")
     @Override
     public SpongeEntitySnapshotBuilder from(EntitySnapshot holder) {
+        this.lazyEntity = null;
         this.entityType = holder.getType();
         this.worldId = holder.getWorldUniqueId();
         if (holder.getUniqueId().isPresent()) {
@@ -196,6 +189,16 @@ public SpongeEntitySnapshotBuilder from(EntitySnapshot holder) {
         return this;
     }
 
+    /**
+     * Sets up a snapshot of the given entity. On the server thread only the
+     * identity and transform are taken here. The manipulators and NBT are
+     * captured when the snapshot is first read, or before the entity is
+     * next ticked, damaged, mounted, removed or offered data, whichever
+     * happens first, and at the latest at the end of the tick.
+     *
+     * @param minecraftEntity The entity
+     * @return This builder, for chaining
+     */
     public SpongeEntitySnapshotBuilder from(net.minecraft.entity.Entity minecraftEntity) {
         this.entityType = ((Entity) minecraftEntity).getType();
         this.worldId = ((Entity) minecraftEntity).getWorld().getUniqueId();
@@ -204,16 +207,31 @@ public SpongeEntitySnapshotBuilder from(net.minecraft.entity.Entity minecraftEnt
         this.position = transform.getPosition();
         this.rotation = transform.getRotation();
         this.scale = transform.getScale();
+        this.manipulators = null;
+        this.compound = null;
+        this.lazyEntity = minecraftEntity;
+        if (!MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+            captureLazyEntity();
+        }
+        return this;
+    }
+
+    private void captureLazyEntity() {
+        final net.minecraft.entity.Entity entity = this.lazyEntity;
+        if (entity == null) {
+            return;
+        }
+        this.lazyEntity = null;
         this.manipulators = Lists.newArrayList();
-        for (DataManipulator<?, ?> manipulator : ((Entity) minecraftEntity).getContainers()) {
+        for (DataManipulator<?, ?> manipulator : ((Entity) entity).getContainers()) {
             addManipulator(manipulator.asImmutable());
         }
         this.compound = new NBTTagCompound();
-        minecraftEntity.writeToNBT(this.compound);
-        return this;
+        entity.writeToNBT(this.compound);
     }
 
     public SpongeEntitySnapshotBuilder unsafeCompound(NBTTagCompound compound) {
+        captureLazyEntity();
         this.compound = (NBTTagCompound) checkNotNull(compound).copy();
         return this;
     }
@@ -229,11 +247,16 @@ public SpongeEntitySnapshotBuilder reset() {
         this.entityId = null;
         this.manipulators = null;
         this.compound = null;
+        this.lazyEntity = null;
         return this;
     }
 
     @Override
     public EntitySnapshot build() {
+        // Deferred capture relies on the server thread's hooks, a snapshot built elsewhere takes its data right away
+        if (this.lazyEntity != null && !MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+            captureLazyEntity();
+        }
         return new SpongeEntitySnapshot(this);
     }
 
@@ -242,6 +265,7 @@ protected Optional<EntitySnapshot> buildContent(DataView container) throws Inval
         if (!container.contains(Queries.WORLD_ID, DataQueries.ENTITY_TYPE, DataQueries.ENTITY_ROTATION, DataQueries.ENTITY_SCALE, DataQueries.SNAPSHOT_WORLD_POSITION)) {
             return Optional.empty();
         }
+        this.lazyEntity = null;
         this.worldId = UUID.fromString(container.getString(Queries.WORLD_ID).get());
         this.position = DataUtil.getPosition3d(container);
         this.rotation = DataUtil.getPosition3d(container, DataQueries.ENTITY_ROTATION);
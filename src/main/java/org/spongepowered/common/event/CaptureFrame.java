@@ -0,0 +1,105 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.world.gen.PopulatorType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single level of captured state in a {@link CauseTracker}.
+ *
+ * <p>Frames are pushed and popped by the tracker as nested phases start and
+ * finish, so that handling captures only ever walks what the current phase
+ * produced. The buffers are owned by the frame and reused once the frame is
+ * returned to the tracker's pool.</p>
+ */
+public final class CaptureFrame {
+
+    final List<BlockSnapshot> capturedSpongeBlockSnapshots = new ArrayList<>();
+    final List<Entity> capturedEntities = new ArrayList<>();
+    final List<Entity> capturedEntityItems = new ArrayList<>();
+    final Map<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> capturedSpongePopulators = new HashMap<>();
+
+    CaptureFrame() {
+    }
+
+    public List<BlockSnapshot> getCapturedSpongeBlockSnapshots() {
+        return this.capturedSpongeBlockSnapshots;
+    }
+
+    public List<Entity> getCapturedEntities() {
+        return this.capturedEntities;
+    }
+
+    public List<Entity> getCapturedEntityItems() {
+        return this.capturedEntityItems;
+    }
+
+    public Map<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> getCapturedPopulators() {
+        return this.capturedSpongePopulators;
+    }
+
+    public boolean isEmpty() {
+        return this.capturedSpongeBlockSnapshots.isEmpty() && this.capturedEntities.isEmpty() && this.capturedEntityItems.isEmpty()
+               && this.capturedSpongePopulators.isEmpty();
+    }
+
+    /**
+     * Moves everything that is still captured in this frame to the end of
+     * the given frame, leaving this frame empty.
+     *
+     * @param parent The frame to hand the remaining captures to
+     */
+    void drainTo(CaptureFrame parent) {
+        parent.capturedSpongeBlockSnapshots.addAll(this.capturedSpongeBlockSnapshots);
+        parent.capturedEntities.addAll(this.capturedEntities);
+        parent.capturedEntityItems.addAll(this.capturedEntityItems);
+        for (Map.Entry<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> entry : this.capturedSpongePopulators.entrySet()) {
+            LinkedHashMap<Vector3i, Transaction<BlockSnapshot>> existing = parent.capturedSpongePopulators.get(entry.getKey());
+            if (existing == null) {
+                parent.capturedSpongePopulators.put(entry.getKey(), entry.getValue());
+            } else {
+                existing.putAll(entry.getValue());
+            }
+        }
+        clear();
+    }
+
+    void clear() {
+        this.capturedSpongeBlockSnapshots.clear();
+        this.capturedEntities.clear();
+        this.capturedEntityItems.clear();
+        this.capturedSpongePopulators.clear();
+    }
+}
@@ -25,11 +25,11 @@
 package org.spongepowered.common.event;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.crash.CrashReport;
@@ -99,7 +99,9 @@
 import org.spongepowered.common.world.CaptureType;
 import org.spongepowered.common.world.SpongeProxyBlockAccess;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -112,6 +114,8 @@
 
 public final class CauseTracker {
 
+    private static final int MAX_POOLED_FRAMES = 8;
+
     private final net.minecraft.world.World targetWorld;
 
     private boolean processingCaptureCause = false;
@@ -123,14 +127,14 @@ public final class CauseTracker {
     private boolean captureCommand = false;
     private boolean restoringBlocks = false;
     private boolean spawningDeathDrops = false;
-    private List<Entity> capturedEntities = new ArrayList<>();
-    private List<Entity> capturedEntityItems = new ArrayList<>();
     @Nullable private BlockSnapshot currentTickBlock;
     @Nullable private Entity currentTickEntity;
     @Nullable private TileEntity currentTickTileEntity;
     @Nullable private Cause pluginCause;
-    private List<BlockSnapshot> capturedSpongeBlockSnapshots = new ArrayList<>();
-    private Map<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> capturedSpongePopulators = Maps.newHashMap();
+    private final CaptureFrame rootFrame = new CaptureFrame();
+    private final Deque<CaptureFrame> frameStack = new ArrayDeque<>();
+    private final Deque<CaptureFrame> framePool = new ArrayDeque<>();
+    private CaptureFrame currentFrame = this.rootFrame;
     private List<Transaction<BlockSnapshot>> invalidTransactions = new ArrayList<>();
     private boolean worldSpawnerRunning;
     private boolean chunkSpawnerRunning;
@@ -224,11 +228,83 @@ public void setSpawningDeathDrops(boolean spawningDeathDrops) {
     }
 
     public List<Entity> getCapturedEntities() {
-        return this.capturedEntities;
+        return this.currentFrame.capturedEntities;
     }
 
     public List<Entity> getCapturedEntityItems() {
-        return this.capturedEntityItems;
+        return this.currentFrame.capturedEntityItems;
+    }
+
+    /**
+     * Gets whether any block changes, entity spawns or populator changes are
+     * waiting to be handled by {@link #handlePostTickCaptures(Cause)}.
+     *
+     * @return True if there is anything captured
+     */
+    public boolean hasCaptures() {
+        return !this.currentFrame.isEmpty();
+    }
+
+    public CaptureFrame getCurrentFrame() {
+        return this.currentFrame;
+    }
+
+    /**
+     * Starts a new capture frame on top of the current one. Everything
+     * captured until the frame is committed or rolled back is kept apart
+     * from the captures of the enclosing phase.
+     *
+     * @return The new current frame
+     */
+    public CaptureFrame pushFrame() {
+        CaptureFrame frame = this.framePool.poll();
+        if (frame == null) {
+            frame = new CaptureFrame();
+        }
+        this.frameStack.push(this.currentFrame);
+        this.currentFrame = frame;
+        return frame;
+    }
+
+    /**
+     * Handles the captures of the current frame with the given cause and
+     * pops it. Anything left unhandled is handed back to the enclosing frame.
+     *
+     * @param cause The cause to handle the captures with
+     */
+    public void commitFrame(Cause cause) {
+        checkState(this.currentFrame != this.rootFrame, "Cannot commit the root capture frame!");
+        handlePostTickCaptures(cause);
+        popFrame();
+    }
+
+    /**
+     * Discards the current frame, restoring any captured block changes in
+     * reverse order. Captured entities have not been added to the world yet,
+     * so they are simply dropped.
+     */
+    public void rollbackFrame() {
+        checkState(this.currentFrame != this.rootFrame, "Cannot roll back the root capture frame!");
+        List<BlockSnapshot> snapshots = this.currentFrame.capturedSpongeBlockSnapshots;
+        this.restoringBlocks = true;
+        try {
+            for (int i = snapshots.size() - 1; i >= 0; i--) {
+                snapshots.get(i).restore(true, false);
+            }
+        } finally {
+            this.restoringBlocks = false;
+            this.currentFrame.clear();
+            popFrame();
+        }
+    }
+
+    private void popFrame() {
+        CaptureFrame frame = this.currentFrame;
+        this.currentFrame = this.frameStack.pop();
+        frame.drainTo(this.currentFrame);
+        if (this.framePool.size() < MAX_POOLED_FRAMES) {
+            this.framePool.push(frame);
+        }
     }
 
     public boolean hasTickingBlock() {
@@ -268,11 +344,11 @@ public void setCurrentTickTileEntity(TileEntity currentTickTileEntity) {
     }
 
     public List<BlockSnapshot> getCapturedSpongeBlockSnapshots() {
-        return this.capturedSpongeBlockSnapshots;
+        return this.currentFrame.capturedSpongeBlockSnapshots;
     }
 
     public Map<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> getCapturedPopulators() {
-        return this.capturedSpongePopulators;
+        return this.currentFrame.capturedSpongePopulators;
     }
 
     public List<Transaction<BlockSnapshot>> getInvalidTransactions() {
@@ -312,7 +388,8 @@ public boolean hasPluginCause() {
     }
 
     public void handleEntitySpawns(Cause cause) {
-        Iterator<Entity> iter = this.capturedEntities.iterator();
+        final boolean hasListeners = SpongeImpl.hasListeners(SpawnEntityEvent.class);
+        Iterator<Entity> iter = this.currentFrame.capturedEntities.iterator();
         ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
         while (iter.hasNext()) {
             Entity currentEntity = iter.next();
@@ -342,46 +419,56 @@ public void handleEntitySpawns(Cause cause) {
                     ((IMixinEntity) currentEntity).trackEntityUniqueId(NbtDataUtil.SPONGE_ENTITY_CREATOR, owner.get().getUniqueId());
                 }
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (hasListeners) {
+                entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            }
         }
 
-        List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
-        if (entitySnapshots.isEmpty()) {
+        if (this.currentFrame.capturedEntities.isEmpty()) {
+            return;
+        }
+        if (!hasListeners) {
+            // Nobody could see the event, so spawn everything without building it
+            spawnCapturedEntities(this.currentFrame.capturedEntities.iterator(), cause);
             return;
         }
+        List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
         SpawnEntityEvent event;
 
         if (this.worldSpawnerRunning) {
-            event = SpongeEventFactory.createSpawnEntityEventSpawner(cause, this.capturedEntities, entitySnapshots, this.getWorld());
+            event = SpongeEventFactory.createSpawnEntityEventSpawner(cause, this.currentFrame.capturedEntities, entitySnapshots, this.getWorld());
         } else if (this.chunkSpawnerRunning) {
-            event = SpongeEventFactory.createSpawnEntityEventChunkLoad(cause, this.capturedEntities, entitySnapshots, this.getWorld());
+            event = SpongeEventFactory.createSpawnEntityEventChunkLoad(cause, this.currentFrame.capturedEntities, entitySnapshots, this.getWorld());
         } else {
-            event = SpongeEventFactory.createSpawnEntityEvent(cause, this.capturedEntities, entitySnapshotBuilder.build(), this.getWorld());
+            event = SpongeEventFactory.createSpawnEntityEvent(cause, this.currentFrame.capturedEntities, entitySnapshotBuilder.build(), this.getWorld());
         }
 
         if (!(SpongeImpl.postEvent(event))) {
-            Iterator<Entity> iterator = event.getEntities().iterator();
-            while (iterator.hasNext()) {
-                Entity entity = iterator.next();
-                if (entity.isRemoved()) { // Entity removed in an event handler
-                    iterator.remove();
-                    continue;
-                }
-                net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
-                if (nmsEntity instanceof EntityWeatherEffect) {
-                    addWeatherEffect(nmsEntity, cause);
-                } else {
-                    int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
-                    int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
-                    this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
-                    this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
-                    this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
-                    SpongeHooks.logEntitySpawn(cause, nmsEntity);
-                }
+            spawnCapturedEntities(event.getEntities().iterator(), cause);
+        } else {
+            this.currentFrame.capturedEntities.clear();
+        }
+    }
+
+    private void spawnCapturedEntities(Iterator<? extends Entity> iterator, Cause cause) {
+        while (iterator.hasNext()) {
+            Entity entity = iterator.next();
+            if (entity.isRemoved()) { // Entity removed in an event handler
                 iterator.remove();
+                continue;
             }
-        } else {
-            this.capturedEntities.clear();
+            net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
+            if (nmsEntity instanceof EntityWeatherEffect) {
+                addWeatherEffect(nmsEntity, cause);
+            } else {
+                int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
+                int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
+                this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
+                this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
+                this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
+                SpongeHooks.logEntitySpawn(cause, nmsEntity);
+            }
+            iterator.remove();
         }
     }
 
@@ -389,8 +476,7 @@ public void handleEntitySpawns(Cause cause) {
     public void handlePostTickCaptures(Cause cause) {
         if (this.getMinecraftWorld().isRemote || this.restoringBlocks || this.spawningDeathDrops || cause == null) {
             return;
-        } else if (this.capturedEntities.size() == 0 && this.capturedEntityItems.size() == 0 && this.capturedSpongeBlockSnapshots.size() == 0
-                   && this.capturedSpongePopulators.size() == 0 && StaticMixinHelper.packetPlayer == null) {
+        } else if (this.currentFrame.isEmpty() && StaticMixinHelper.packetPlayer == null) {
             return; // nothing was captured, return
         }
 
@@ -398,8 +484,8 @@ public void handlePostTickCaptures(Cause cause) {
         Packet packetIn = StaticMixinHelper.processingPacket;
 
         // Attempt to find a Player cause if we do not have one
-        if (!cause.first(User.class).isPresent() && !(this.capturedSpongeBlockSnapshots.size() > 0
-                                                      && ((SpongeBlockSnapshot) this.capturedSpongeBlockSnapshots.get(0)).captureType
+        if (!cause.first(User.class).isPresent() && !(this.currentFrame.capturedSpongeBlockSnapshots.size() > 0
+                                                      && ((SpongeBlockSnapshot) this.currentFrame.capturedSpongeBlockSnapshots.get(0)).captureType
                                                          == CaptureType.DECAY)) {
             if ((cause.first(BlockSnapshot.class).isPresent() || cause.first(TileEntity.class).isPresent())) {
                 // Check for player at pos of first transaction
@@ -496,14 +582,14 @@ public void handlePostTickCaptures(Cause cause) {
         }
 
         // Handle Entity captures
-        if (this.capturedEntityItems.size() > 0) {
+        if (this.currentFrame.capturedEntityItems.size() > 0) {
             if (StaticMixinHelper.dropCause != null) {
                 cause = StaticMixinHelper.dropCause;
                 StaticMixinHelper.destructItemDrop = true;
             }
             handleDroppedItems(cause);
         }
-        if (this.capturedEntities.size() > 0) {
+        if (this.currentFrame.capturedEntities.size() > 0) {
             handleEntitySpawns(cause);
         }
 
@@ -512,8 +598,20 @@ public void handlePostTickCaptures(Cause cause) {
         this.invalidTransactions.clear();
     }
 
+    /**
+     * Gets whether any listener could receive one of the item drop events.
+     * Those are also {@link SpawnEntityEvent}s while {@link DropItemEvent}
+     * itself is not, so the concrete types have to be queried.
+     */
+    private static boolean hasDropItemListeners() {
+        return SpongeImpl.hasListeners(DropItemEvent.Destruct.class)
+                || SpongeImpl.hasListeners(DropItemEvent.Dispense.class)
+                || SpongeImpl.hasListeners(DropItemEvent.Custom.class);
+    }
+
     public void handleDroppedItems(Cause cause) {
-        Iterator<Entity> iter = this.capturedEntityItems.iterator();
+        final boolean hasListeners = hasDropItemListeners();
+        Iterator<Entity> iter = this.currentFrame.capturedEntityItems.iterator();
         ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
         while (iter.hasNext()) {
             Entity currentEntity = iter.next();
@@ -555,22 +653,27 @@ public void handleDroppedItems(Cause cause) {
                     }
                 }
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (hasListeners) {
+                entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            }
         }
 
-        List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
-        if (entitySnapshots.isEmpty()) {
+        if (this.currentFrame.capturedEntityItems.isEmpty()) {
             return;
         }
         DropItemEvent event = null;
 
-        if (StaticMixinHelper.destructItemDrop) {
-            event = SpongeEventFactory.createDropItemEventDestruct(cause, this.capturedEntityItems, entitySnapshots, this.getWorld());
-        } else {
-            event = SpongeEventFactory.createDropItemEventDispense(cause, this.capturedEntityItems, entitySnapshots, this.getWorld());
+        // Nobody could see the event, so the items are dropped without building it
+        if (hasListeners) {
+            List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
+            if (StaticMixinHelper.destructItemDrop) {
+                event = SpongeEventFactory.createDropItemEventDestruct(cause, this.currentFrame.capturedEntityItems, entitySnapshots, this.getWorld());
+            } else {
+                event = SpongeEventFactory.createDropItemEventDispense(cause, this.currentFrame.capturedEntityItems, entitySnapshots, this.getWorld());
+            }
         }
 
-        if (!(SpongeImpl.postEvent(event))) {
+        if (event == null || !(SpongeImpl.postEvent(event))) {
             // Handle player deaths
             for (Player causePlayer : cause.allOf(Player.class)) {
                 EntityPlayerMP playermp = (EntityPlayerMP) causePlayer;
@@ -579,35 +682,25 @@ public void handleDroppedItems(Cause cause) {
                         playermp.inventory.clear();
                     } else {
                         // don't drop anything if keepInventory is enabled
-                        this.capturedEntityItems.clear();
+                        this.currentFrame.capturedEntityItems.clear();
                     }
                 }
             }
 
-            Iterator<Entity> iterator =
-                event instanceof DropItemEvent.Destruct ? ((DropItemEvent.Destruct) event).getEntities().iterator()
-                                                        : ((DropItemEvent.Dispense) event).getEntities().iterator();
-            while (iterator.hasNext()) {
-                Entity entity = iterator.next();
-                if (entity.isRemoved()) { // Entity removed in an event handler
-                    iterator.remove();
-                    continue;
-                }
-
-                net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
-                int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
-                int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
-                this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
-                this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
-                this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
-                SpongeHooks.logEntitySpawn(cause, nmsEntity);
-                iterator.remove();
+            Iterator<? extends Entity> iterator;
+            if (event == null) {
+                iterator = this.currentFrame.capturedEntityItems.iterator();
+            } else if (event instanceof DropItemEvent.Destruct) {
+                iterator = ((DropItemEvent.Destruct) event).getEntities().iterator();
+            } else {
+                iterator = ((DropItemEvent.Dispense) event).getEntities().iterator();
             }
+            spawnCapturedEntities(iterator, cause);
         } else {
             if (cause.root() == StaticMixinHelper.packetPlayer) {
                 sendItemChangeToPlayer(StaticMixinHelper.packetPlayer);
             }
-            this.capturedEntityItems.clear();
+            this.currentFrame.capturedEntityItems.clear();
         }
     }
 
@@ -643,7 +736,7 @@ public void handleBlockCaptures(Cause cause) {
         ChangeBlockEvent.Place placeEvent = null;
         List<ChangeBlockEvent> blockEvents = new ArrayList<>();
 
-        Iterator<BlockSnapshot> iterator = this.capturedSpongeBlockSnapshots.iterator();
+        Iterator<BlockSnapshot> iterator = this.currentFrame.capturedSpongeBlockSnapshots.iterator();
         while (iterator.hasNext()) {
             SpongeBlockSnapshot blockSnapshot = (SpongeBlockSnapshot) iterator.next();
             CaptureType captureType = blockSnapshot.captureType;
@@ -726,8 +819,8 @@ public void handleBlockCaptures(Cause cause) {
                 }
 
                 // clear entity list and return to avoid spawning items
-                this.capturedEntities.clear();
-                this.capturedEntityItems.clear();
+                this.currentFrame.capturedEntities.clear();
+                this.currentFrame.capturedEntityItems.clear();
                 return;
             }
         }
@@ -766,8 +859,8 @@ public void handleBlockCaptures(Cause cause) {
                 handlePostPlayerBlockEvent(captureType, blockEvent.getTransactions());
 
                 // clear entity list and return to avoid spawning items
-                this.capturedEntities.clear();
-                this.capturedEntityItems.clear();
+                this.currentFrame.capturedEntities.clear();
+                this.currentFrame.capturedEntityItems.clear();
                 return;
             } else {
                 for (Transaction<BlockSnapshot> transaction : blockEvent.getTransactions()) {
@@ -812,7 +905,7 @@ public void handleBlockCaptures(Cause cause) {
                     handlePostPlayerBlockEvent(captureType, this.invalidTransactions);
                 }
 
-                if (this.capturedEntityItems.size() > 0 && blockEvents.get(0) == breakEvent) {
+                if (this.currentFrame.capturedEntityItems.size() > 0 && blockEvents.get(0) == breakEvent) {
                     StaticMixinHelper.destructItemDrop = true;
                 }
 
@@ -933,9 +1026,9 @@ public boolean processSpawnEntity(Entity entity, Cause cause) {
                     }
                 }
                 if (entityIn instanceof EntityItem) {
-                    this.capturedEntityItems.add((Item) entityIn);
+                    this.currentFrame.capturedEntityItems.add((Item) entityIn);
                 } else {
-                    this.capturedEntities.add((Entity) entityIn);
+                    this.currentFrame.capturedEntities.add((Entity) entityIn);
                 }
                 return true;
             } else { // Custom
@@ -985,17 +1078,28 @@ else if (!(entityIn instanceof EntityPlayer) && entityIn instanceof EntityTameab
                     cause = cause.with(NamedCause.of(causeName, specialCause));
                 }
 
+                if (entityIn instanceof EntityItem ? !hasDropItemListeners() : !SpongeImpl.hasListeners(SpawnEntityEvent.Custom.class)) {
+                    // Nobody could see the event, skip capturing and snapshotting the entity
+                    if (entityIn instanceof EntityWeatherEffect) {
+                        return addWeatherEffect(entityIn, cause);
+                    }
+                    this.getMinecraftWorld().getChunkFromChunkCoords(i, j).addEntity(entityIn);
+                    this.getMinecraftWorld().loadedEntityList.add(entityIn);
+                    this.getMixinWorld().onSpongeEntityAdded(entityIn);
+                    return true;
+                }
+
                 org.spongepowered.api.event.Event event = null;
                 ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
                 entitySnapshotBuilder.add(((Entity) entityIn).createSnapshot());
 
                 if (entityIn instanceof EntityItem) {
-                    this.capturedEntityItems.add((Item) entityIn);
-                    event = SpongeEventFactory.createDropItemEventCustom(cause, this.capturedEntityItems,
+                    this.currentFrame.capturedEntityItems.add((Item) entityIn);
+                    event = SpongeEventFactory.createDropItemEventCustom(cause, this.currentFrame.capturedEntityItems,
                             entitySnapshotBuilder.build(), this.getWorld());
                 } else {
-                    this.capturedEntities.add((Entity) entityIn);
-                    event = SpongeEventFactory.createSpawnEntityEventCustom(cause, this.capturedEntities,
+                    this.currentFrame.capturedEntities.add((Entity) entityIn);
+                    event = SpongeEventFactory.createSpawnEntityEventCustom(cause, this.currentFrame.capturedEntities,
                             entitySnapshotBuilder.build(), this.getWorld());
                 }
                 if (!SpongeImpl.postEvent(event) && !entity.isRemoved()) {
@@ -1007,9 +1111,9 @@ else if (!(entityIn instanceof EntityPlayer) && entityIn instanceof EntityTameab
                     this.getMinecraftWorld().loadedEntityList.add(entityIn);
                     this.getMixinWorld().onSpongeEntityAdded(entityIn);
                     if (entityIn instanceof EntityItem) {
-                        this.capturedEntityItems.remove(entityIn);
+                        this.currentFrame.capturedEntityItems.remove(entityIn);
                     } else {
-                        this.capturedEntities.remove(entityIn);
+                        this.currentFrame.capturedEntities.remove(entityIn);
                     }
                     return true;
                 }
@@ -1150,15 +1254,26 @@ public void markAndNotifyBlockPost(List<Transaction<BlockSnapshot>> transactions
             }
 
             proxyBlockAccess.proceed();
-            this.getMixinWorld().markAndNotifyNeighbors(pos, null, originalState, newState, updateFlag);
+            // Capture the notifications in their own frame so only what they caused is handled below
+            final CaptureFrame notifyFrame = this.pushFrame();
+            try {
+                this.getMixinWorld().markAndNotifyNeighbors(pos, null, originalState, newState, updateFlag);
 
-            // Handle any additional captures during notify
-            // This is to ensure new captures do not leak into next tick with wrong cause
-            if (this.getCapturedEntities().size() > 0 && this.pluginCause == null) {
-                this.handlePostTickCaptures(cause);
+                // Handle any additional captures during notify
+                // This is to ensure new captures do not leak into next tick with wrong cause
+                if (this.getCapturedEntities().size() > 0 && this.pluginCause == null) {
+                    this.commitFrame(cause);
+                } else {
+                    this.popFrame();
+                }
+            } finally {
+                // A notification threw before the frame was closed, undo whatever it captured
+                // so the frame stack stays balanced and nothing half-applied leaks out
+                if (this.currentFrame == notifyFrame) {
+                    this.rollbackFrame();
+                }
+                this.setCurrentTickBlock(currentTickingBlock);
             }
-
-            this.setCurrentTickBlock(currentTickingBlock);
         }
     }
 
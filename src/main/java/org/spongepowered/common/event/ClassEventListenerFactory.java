@@ -66,6 +66,7 @@
 import org.spongepowered.common.event.filter.EventFilter;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
+import org.spongepowered.common.launch.LaunchTimings;
 
 import java.lang.reflect.Method;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -81,7 +82,10 @@ public final class ClassEventListenerFactory implements AnnotatedEventListener.F
 
                 @Override
                 public Class<? extends AnnotatedEventListener> load(Method method) throws Exception {
-                    return createClass(method);
+                    long start = System.nanoTime();
+                    Class<? extends AnnotatedEventListener> listenerClass = createClass(method);
+                    LaunchTimings.recordListenerClass(start);
+                    return listenerClass;
                 }
             });
     private FilterFactory filterFactory;
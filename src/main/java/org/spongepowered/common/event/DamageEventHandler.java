@@ -30,7 +30,6 @@
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemArmor;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.potion.Potion;
@@ -58,6 +57,8 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.event.damage.DamageFunction;
+import org.spongepowered.common.event.damage.DamageFunctions;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.util.VecHelper;
@@ -70,13 +71,11 @@
 
 public class DamageEventHandler {
 
-    public static final Function<Double, Double> HARD_HAT_FUNCTION = damage -> -(damage - (damage * 0.75F));
-    public static final Function<Double, Double> BLOCKING_FUNCTION = damage -> -(damage - ((1.0F + damage) * 0.5F));
+    public static final DamageFunction HARD_HAT_FUNCTION = DamageFunctions.HARD_HAT;
+    public static final DamageFunction BLOCKING_FUNCTION = DamageFunctions.BLOCKING;
 
-    public static Function<Double, Double> createResistanceFunction(int resistanceAmplifier) {
-        final int base = (resistanceAmplifier + 1) * 5;
-        final int modifier = 25 - base;
-        return damage -> -(damage - ((damage.floatValue() * (float) modifier) / 25.0F));
+    public static DamageFunction createResistanceFunction(int resistanceAmplifier) {
+        return DamageFunctions.resistance(resistanceAmplifier);
     }
 
 
@@ -107,36 +106,27 @@ public static Optional<Tuple<DamageModifier, Function<? super Double, Double>>>
         return Optional.empty();
     }
 
-    private static double damageToHandle;
-
     public static Optional<List<Tuple<DamageModifier, Function<? super Double, Double>>>> createArmorModifiers(EntityLivingBase entityLivingBase,
                                                                                                                DamageSource damageSource, double damage) {
         if (!damageSource.isDamageAbsolute()) {
             damage *= 25;
             net.minecraft.item.ItemStack[] inventory = entityLivingBase instanceof EntityPlayer
                                                        ? ((EntityPlayer) entityLivingBase).inventory.armorInventory : entityLivingBase.getInventory();
-            List<Tuple<DamageModifier, Function<? super Double, Double>>> modifiers = new ArrayList<>();
-            List<DamageObject> damageObjects = new ArrayList<>();
+            List<Tuple<DamageModifier, Function<? super Double, Double>>> modifiers = null;
+            double ratio = 0;
             for (int index = 0; index < inventory.length; index++) {
                 net.minecraft.item.ItemStack itemStack = inventory[index];
-                if (itemStack == null) {
+                if (itemStack == null || !(itemStack.getItem() instanceof ItemArmor)) {
                     continue;
                 }
-                Item item = itemStack.getItem();
-                if (item instanceof ItemArmor) {
-                    ItemArmor armor = (ItemArmor) item;
-                    double reduction = armor.damageReduceAmount / 25D;
-                    DamageObject object = new DamageObject();
-                    object.slot = index;
-                    object.ratio = reduction;
-                    damageObjects.add(object);
+                ItemArmor armor = (ItemArmor) itemStack.getItem();
+                final boolean first = modifiers == null;
+                if (first) {
+                    modifiers = new ArrayList<>(inventory.length);
                 }
-            }
-            boolean first = true;
-            double ratio = 0;
-
-            for (DamageObject prop : damageObjects) {
-                EquipmentType type = resolveEquipment(prop.slot);
+                DamageObject prop = new DamageObject();
+                prop.slot = index;
+                prop.ratio = armor.damageReduceAmount / 25D;
 
                 final DamageObject object = new DamageObject();
                 object.ratio = ratio;
@@ -144,37 +134,18 @@ public static Optional<List<Tuple<DamageModifier, Function<? super Double, Doubl
                     object.previousDamage = damage;
                     object.augment = true;
                 }
-                Function<? super Double, Double> function = incomingDamage -> {
-                    incomingDamage *= 25;
-                    if (object.augment) {
-                        // This is the damage that needs to be archived for the "first" armor modifier
-                        // function since the armor modifiers work based on the initial damage and not as
-                        // a chain one after another.
-                        damageToHandle = incomingDamage;
-                    }
-                    double functionDamage = damageToHandle;
-                    object.previousDamage = functionDamage;
-                    object.ratio = prop.ratio;
-                    object.ratio += prop.ratio;
-                    return - ((functionDamage * prop.ratio) / 25);
-                };
                 ratio += prop.ratio;
 
                 DamageModifier modifier = DamageModifier.builder()
-                    .cause(Cause.of(NamedCause.of(DamageEntityEvent.GENERAL_ARMOR + ":" + type.getId(),
-                                                  ((org.spongepowered.api.item.inventory.ItemStack) inventory[prop.slot]).createSnapshot()),
+                    .cause(Cause.of(NamedCause.of(DamageEntityEvent.GENERAL_ARMOR + ":" + resolveEquipment(index).getId(),
+                                                  ((org.spongepowered.api.item.inventory.ItemStack) itemStack).createSnapshot()),
                                     NamedCause.of("ArmorProperty", prop), // We need this property to refer to the slot.
                                     NamedCause.of("0xDEADBEEF", object))) // We need this object later on.
                     .type(DamageModifierTypes.ARMOR)
                     .build();
-                modifiers.add(new Tuple<>(modifier, function));
-                first = false;
-            }
-            if (modifiers.isEmpty()) {
-                return Optional.empty();
-            } else {
-                return Optional.of(modifiers);
+                modifiers.add(new Tuple<>(modifier, DamageFunctions.armor(armor.damageReduceAmount, first)));
             }
+            return Optional.ofNullable(modifiers);
         }
         return Optional.empty();
     }
@@ -192,8 +163,8 @@ public static Optional<List<Tuple<DamageModifier, Function<? super Double, Doubl
      */
     public static void acceptArmorModifier(EntityLivingBase entity, DamageSource damageSource, DamageModifier modifier, double damage) {
         Optional<DamageObject> property = modifier.getCause().first(DamageObject.class);
-        final net.minecraft.item.ItemStack[] inventory = entity instanceof EntityPlayer ? ((EntityPlayer) entity).inventory.armorInventory : entity.getInventory();
         if (property.isPresent()) {
+            final net.minecraft.item.ItemStack[] inventory = entity instanceof EntityPlayer ? ((EntityPlayer) entity).inventory.armorInventory : entity.getInventory();
             damage = Math.abs(damage) * 25;
             net.minecraft.item.ItemStack stack = inventory[property.get().slot];
             int itemDamage = (int) (damage / 25D < 1 ? 1 : damage / 25D);
@@ -231,17 +202,21 @@ public static Optional<Tuple<DamageModifier, Function<? super Double, Double>>>
         return Optional.empty();
     }
 
-    private static double enchantmentDamageTracked;
-    private static double previousEnchantmentModifier = 0;
-
-    public static Optional<List<Tuple<DamageModifier, Function<? super Double, Double>>>> createEnchantmentModifiers(EntityLivingBase entityLivingBase, DamageSource damageSource) {
+    /**
+     * Adds a modifier for each protection enchantment on the armor of the
+     * entity that applies to the damage source.
+     *
+     * @param entityLivingBase The entity being damaged
+     * @param damageSource The source of the damage
+     * @param modifiers The list to add the modifiers to
+     */
+    public static void addEnchantmentModifiers(EntityLivingBase entityLivingBase, DamageSource damageSource,
+            List<Tuple<DamageModifier, Function<? super Double, Double>>> modifiers) {
         net.minecraft.item.ItemStack[] inventory = entityLivingBase instanceof EntityPlayer ? ((EntityPlayer) entityLivingBase).inventory.armorInventory : entityLivingBase.getInventory();
         if (EnchantmentHelper.getEnchantmentModifierDamage(inventory, damageSource) == 0) {
-            return Optional.empty();
+            return;
         }
-        List<Tuple<DamageModifier, Function<? super Double, Double>>> modifiers = new ArrayList<>();
         boolean first = true;
-        int totalModifier = 0;
         for (net.minecraft.item.ItemStack itemStack : inventory) {
             if (itemStack == null) {
                 continue;
@@ -250,75 +225,38 @@ public static Optional<List<Tuple<DamageModifier, Function<? super Double, Doubl
             if (enchantmentList == null) {
                 continue;
             }
+            ItemStackSnapshot snapshot = null;
             for (int i = 0; i < enchantmentList.tagCount(); ++i) {
                 final short enchantmentId = enchantmentList.getCompoundTagAt(i).getShort(NbtDataUtil.ITEM_ENCHANTMENT_ID);
                 final short level = enchantmentList.getCompoundTagAt(i).getShort(NbtDataUtil.ITEM_ENCHANTMENT_LEVEL);
 
-                if (Enchantment.getEnchantmentById(enchantmentId) != null) {
-                    // Ok, we have an enchantment!
-                    final Enchantment enchantment = Enchantment.getEnchantmentById(enchantmentId);
-                    final int temp = enchantment.calcModifierDamage(level, damageSource);
-                    if (temp != 0) {
-                        ItemStackSnapshot snapshot = ((ItemStack) itemStack).createSnapshot();
-                        // Now we can actually consider this as a modifier!
-
-                        final DamageObject object = new DamageObject();
-                        int modifier = enchantment.calcModifierDamage(level, damageSource);
-                        object.previousDamage = totalModifier;
-                        if (object.previousDamage > 25) {
-                            object.previousDamage = 25;
-                        }
-                        totalModifier += modifier;
-                        object.augment = first;
-                        object.ratio = modifier;
-                        Function<? super Double, Double> enchantmentFunction = damageIn -> {
-                            if (object.augment) {
-                                enchantmentDamageTracked = damageIn;
-                            }
-                            if (damageIn <= 0) {
-                                return 0D;
-                            }
-                            double actualDamage = enchantmentDamageTracked;
-                            if (object.previousDamage > 25) {
-                                return 0D;
-                            }
-                            double modifierDamage = actualDamage;
-                            double magicModifier;
-                            if (modifier > 0 && modifier <= 20) {
-                                int j = 25 - modifier;
-                                magicModifier = modifierDamage * (float) j;
-                                modifierDamage = magicModifier / 25.0F;
-                            }
-                            return - Math.max(actualDamage - modifierDamage, 0.0D);
-                        };
-                        if (first) {
-                            first = false;
-                        }
-
-                        DamageModifier enchantmentModifier = DamageModifier.builder()
-                            .cause(Cause.of(NamedCause.of("ArmorEnchantment", enchantment),
-                                            NamedCause.of("ItemStack", snapshot),
-                                            NamedCause.source(entityLivingBase)))
-                            .type(DamageModifierTypes.ARMOR_ENCHANTMENT)
-                            .build();
-                        modifiers.add(new Tuple<>(enchantmentModifier, enchantmentFunction));
-                    }
+                final Enchantment enchantment = Enchantment.getEnchantmentById(enchantmentId);
+                if (enchantment == null) {
+                    continue;
+                }
+                final int modifier = enchantment.calcModifierDamage(level, damageSource);
+                if (modifier == 0) {
+                    continue;
                 }
+                if (snapshot == null) {
+                    snapshot = ((ItemStack) itemStack).createSnapshot();
+                }
+                DamageModifier enchantmentModifier = DamageModifier.builder()
+                    .cause(Cause.of(NamedCause.of("ArmorEnchantment", enchantment),
+                                    NamedCause.of("ItemStack", snapshot),
+                                    NamedCause.source(entityLivingBase)))
+                    .type(DamageModifierTypes.ARMOR_ENCHANTMENT)
+                    .build();
+                modifiers.add(new Tuple<>(enchantmentModifier, DamageFunctions.enchantment(modifier, first)));
+                first = false;
             }
         }
-        if (!modifiers.isEmpty()) {
-            return Optional.of(modifiers);
-        } else {
-            return Optional.empty();
-        }
-
     }
 
     public static Optional<Tuple<DamageModifier, Function<? super Double, Double>>> createAbsorptionModifier(EntityLivingBase entityLivingBase,
                                                                                                              DamageSource damageSource) {
         if (entityLivingBase.isPotionActive(Potion.absorption)) {
-            Function<? super Double, Double> function = damage ->
-                -(Math.max(damage - Math.max(damage - entityLivingBase.getAbsorptionAmount(), 0.0F), 0.0F));
+            DamageFunction function = damage -> DamageFunctions.absorption(damage, entityLivingBase.getAbsorptionAmount());
             DamageModifier modifier = DamageModifier.builder()
                 .cause(Cause.of(NamedCause.of(DamageEntityEvent.ABSORPTION, entityLivingBase.getActivePotionEffect(Potion.absorption)),
                                 NamedCause.of(DamageEntityEvent.CREATOR, entityLivingBase)))
@@ -47,13 +47,20 @@
     private final EventListener<? super T> listener;
 
     private final boolean beforeModifications;
+    private final boolean causeFiltered;
 
     RegisteredListener(PluginContainer plugin, Class<T> eventClass, Order order, EventListener<? super T> listener, boolean beforeModifications) {
+        this(plugin, eventClass, order, listener, beforeModifications, false);
+    }
+
+    RegisteredListener(PluginContainer plugin, Class<T> eventClass, Order order, EventListener<? super T> listener, boolean beforeModifications,
+            boolean causeFiltered) {
         this.plugin = checkNotNull(plugin, "plugin");
         this.eventClass = checkNotNull(eventClass, "eventClass");
         this.order = checkNotNull(order, "order");
         this.listener = checkNotNull(listener, "listener");
         this.beforeModifications = beforeModifications;
+        this.causeFiltered = causeFiltered;
     }
 
     public PluginContainer getPlugin() {
@@ -72,6 +79,17 @@ public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
 
+    /**
+     * Gets whether the generated filter of this listener looks up cause
+     * objects by type, which may be shared through a
+     * {@link org.spongepowered.common.event.filter.CauseIndex}.
+     *
+     * @return Whether the listener filters on the cause by type
+     */
+    public boolean isCauseFiltered() {
+        return this.causeFiltered;
+    }
+
     @Override
     public Object getHandle() {
         if (this.listener instanceof SpongeEventListener) {
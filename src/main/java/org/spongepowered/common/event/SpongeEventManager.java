@@ -44,6 +44,7 @@
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.api.event.EventManager;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.filter.CauseIndex;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 
@@ -52,8 +53,10 @@
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import javax.inject.Inject;
@@ -84,9 +87,30 @@ public RegisteredListener.Cache load(Class<? extends Event> eventClass) throws E
                 }
             });
 
+    /**
+     * Whether any listener could receive an event of a given type, cleared
+     * together with {@link #handlersCache}.
+     */
+    private final Map<Class<?>, Boolean> hasListenersCache = new ConcurrentHashMap<>();
+
+    /**
+     * Whether {@link #hasListeners} knows about every listener, which is only
+     * the case for subclasses forwarding events elsewhere once they override
+     * it.
+     */
+    private final boolean listenerQueriesSupported;
+
     @Inject
     public SpongeEventManager(PluginManager pluginManager) {
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
+        boolean supported;
+        try {
+            supported = getClass() == SpongeEventManager.class
+                    || getClass().getMethod("hasListeners", Class.class).getDeclaringClass() != SpongeEventManager.class;
+        } catch (NoSuchMethodException e) {
+            supported = false;
+        }
+        this.listenerQueriesSupported = supported;
     }
 
     private RegisteredListener.Cache bakeHandlers(Class<?> rootEvent) {
@@ -134,6 +158,7 @@ private void register(List<RegisteredListener<?>> handlers) {
 
             if (changed) {
                 this.handlersCache.invalidateAll();
+                this.hasListenersCache.clear();
             }
         }
     }
@@ -166,7 +191,7 @@ public void registerListener(PluginContainer plugin, Object listenerObject) {
                         continue;
                     }
 
-                    handlers.add(createRegistration(plugin, eventClass, listener, handler));
+                    handlers.add(createRegistration(plugin, eventClass, listener, handler, CauseIndex.isIndexed(method)));
                 } else {
                     SpongeImpl.getLogger().warn("The method {} on {} has @{} but has the wrong signature", method, handle.getName(),
                             Listener.class.getName());
@@ -179,8 +204,8 @@ public void registerListener(PluginContainer plugin, Object listenerObject) {
     }
 
     private static <T extends Event> RegisteredListener<T> createRegistration(PluginContainer plugin, Class<T> eventClass, Listener listener,
-            EventListener<? super T> handler) {
-        return createRegistration(plugin, eventClass, listener.order(), listener.beforeModifications(), handler);
+            EventListener<? super T> handler, boolean causeFiltered) {
+        return new RegisteredListener<>(plugin, eventClass, listener.order(), handler, listener.beforeModifications(), causeFiltered);
     }
 
     private static <T extends Event> RegisteredListener<T> createRegistration(PluginContainer plugin, Class<T> eventClass, Order order,
@@ -230,6 +255,7 @@ private void unregister(Predicate<RegisteredListener<?>> unregister) {
 
             if (changed) {
                 this.handlersCache.invalidateAll();
+                this.hasListenersCache.clear();
             }
         }
     }
@@ -247,17 +273,73 @@ public void unregisterPluginListeners(Object pluginObj) {
         unregister(handler -> plugin.equals(handler.getPlugin()));
     }
 
+    /**
+     * Gets whether {@link #hasListeners} can be trusted to skip events. This is
+     * false for subclasses which forward events to other buses without
+     * overriding it, as their listeners would be missed.
+     *
+     * @return Whether listener queries are supported
+     */
+    public boolean isListenerQuerySupported() {
+        return this.listenerQueriesSupported;
+    }
+
+    /**
+     * Gets whether posting an event of the given type, or of any of its
+     * subtypes, could reach a listener. Callers use this to skip building
+     * events nobody will see.
+     *
+     * <p>Implementations that forward events elsewhere must override this to
+     * account for their own listeners.</p>
+     *
+     * @param eventClass The event type
+     * @return Whether a listener could receive the event
+     */
+    public boolean hasListeners(Class<?> eventClass) {
+        checkNotNull(eventClass, "eventClass");
+        Boolean cached = this.hasListenersCache.get(eventClass);
+        if (cached == null) {
+            synchronized (this.lock) {
+                cached = false;
+                for (Class<?> type : this.handlersByEvent.keySet()) {
+                    if (type.isAssignableFrom(eventClass) || eventClass.isAssignableFrom(type)) {
+                        cached = true;
+                        break;
+                    }
+                }
+                this.hasListenersCache.put(eventClass, cached);
+            }
+        }
+        return cached;
+    }
+
     protected RegisteredListener.Cache getHandlerCache(Event event) {
         return this.handlersCache.getUnchecked(checkNotNull(event, "event").getClass());
     }
 
     @SuppressWarnings("unchecked")
     protected static boolean post(Event event, List<RegisteredListener<?>> handlers) {
-        for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
-            try {
-                handler.handle(event);
-            } catch (Throwable e) {
-                SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
+        if (handlers.isEmpty()) {
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        }
+        CauseIndex previousIndex = null;
+        boolean indexed = false;
+        try {
+            for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
+                if (!indexed && handler.isCauseFiltered()) {
+                    // Share cause lookups of the generated filters between the remaining listeners
+                    previousIndex = CauseIndex.enter(event.getCause());
+                    indexed = true;
+                }
+                try {
+                    handler.handle(event);
+                } catch (Throwable e) {
+                    SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
+                }
+            }
+        } finally {
+            if (indexed) {
+                CauseIndex.exit(previousIndex);
             }
         }
 
@@ -0,0 +1,172 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.damage;
+
+import org.spongepowered.api.event.cause.entity.damage.DamageModifier;
+import org.spongepowered.api.util.Tuple;
+
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+/**
+ * The shared damage modifier functions, and the primitive pipeline used to
+ * apply a list of modifiers without posting a {@code DamageEntityEvent}.
+ */
+public final class DamageFunctions {
+
+    public static final DamageFunction HARD_HAT = damage -> -(damage - (damage * 0.75F));
+    public static final DamageFunction BLOCKING = damage -> -(damage - ((1.0F + damage) * 0.5F));
+
+    private static final DamageFunction[] RESISTANCE = new DamageFunction[5];
+    // Vanilla armor reduces by at most 20 and enchantment protection is capped at 25
+    private static final int CACHED_MODIFIERS = 26;
+    private static final DamageFunction[] FIRST_ARMOR = new DamageFunction[CACHED_MODIFIERS];
+    private static final DamageFunction[] ARMOR = new DamageFunction[CACHED_MODIFIERS];
+    private static final DamageFunction[] FIRST_ENCHANTMENT = new DamageFunction[CACHED_MODIFIERS];
+    private static final DamageFunction[] ENCHANTMENT = new DamageFunction[CACHED_MODIFIERS];
+
+    // Each armor piece and each protection enchantment reduces the damage the first of them received,
+    // not what the pieces before it left over. The first function of a hit records that damage for
+    // the following ones. Damage is only handled on the server thread, so plain fields do.
+    private static double armorDamage;
+    private static double enchantmentDamage;
+
+    static {
+        for (int amplifier = 0; amplifier < RESISTANCE.length; amplifier++) {
+            RESISTANCE[amplifier] = createResistance(amplifier);
+        }
+        for (int modifier = 0; modifier < CACHED_MODIFIERS; modifier++) {
+            FIRST_ARMOR[modifier] = createArmor(modifier, true);
+            ARMOR[modifier] = createArmor(modifier, false);
+            FIRST_ENCHANTMENT[modifier] = createEnchantment(modifier, true);
+            ENCHANTMENT[modifier] = createEnchantment(modifier, false);
+        }
+    }
+
+    private DamageFunctions() {
+    }
+
+    public static DamageFunction resistance(int amplifier) {
+        if (amplifier >= 0 && amplifier < RESISTANCE.length) {
+            return RESISTANCE[amplifier];
+        }
+        return createResistance(amplifier);
+    }
+
+    private static DamageFunction createResistance(int amplifier) {
+        final int base = (amplifier + 1) * 5;
+        final int modifier = 25 - base;
+        return damage -> -(damage - (((float) damage * (float) modifier) / 25.0F));
+    }
+
+    /**
+     * Gets the function of an armor piece with the given damage reduce amount.
+     *
+     * @param reduceAmount The damage reduce amount of the armor piece
+     * @param first Whether this is the first armor function of the hit
+     * @return The function
+     */
+    public static DamageFunction armor(int reduceAmount, boolean first) {
+        if (reduceAmount >= 0 && reduceAmount < CACHED_MODIFIERS) {
+            return first ? FIRST_ARMOR[reduceAmount] : ARMOR[reduceAmount];
+        }
+        return createArmor(reduceAmount, first);
+    }
+
+    private static DamageFunction createArmor(int reduceAmount, boolean first) {
+        final double ratio = reduceAmount / 25D;
+        return damage -> {
+            if (first) {
+                armorDamage = damage * 25;
+            }
+            return -((armorDamage * ratio) / 25);
+        };
+    }
+
+    /**
+     * Gets the function of an armor enchantment with the given modifier.
+     *
+     * @param modifier The modifier damage of the enchantment
+     * @param first Whether this is the first enchantment function of the hit
+     * @return The function
+     */
+    public static DamageFunction enchantment(int modifier, boolean first) {
+        if (modifier >= 0 && modifier < CACHED_MODIFIERS) {
+            return first ? FIRST_ENCHANTMENT[modifier] : ENCHANTMENT[modifier];
+        }
+        return createEnchantment(modifier, first);
+    }
+
+    private static DamageFunction createEnchantment(int modifier, boolean first) {
+        return damage -> {
+            if (first) {
+                enchantmentDamage = damage;
+            }
+            if (damage <= 0) {
+                return 0D;
+            }
+            final double actualDamage = enchantmentDamage;
+            double modifierDamage = actualDamage;
+            if (modifier > 0 && modifier <= 20) {
+                final int j = 25 - modifier;
+                modifierDamage = modifierDamage * (float) j / 25.0F;
+            }
+            return -Math.max(actualDamage - modifierDamage, 0.0D);
+        };
+    }
+
+    public static double absorption(double damage, float absorptionAmount) {
+        return -(Math.max(damage - Math.max(damage - absorptionAmount, 0.0F), 0.0F));
+    }
+
+    /**
+     * Applies the modifiers in order, the same way a {@code DamageEntityEvent}
+     * computes its final damage: each function receives the damage left after
+     * the modifiers before it.
+     *
+     * @param modifiers The modifiers to apply
+     * @param baseDamage The damage before any modifier
+     * @param modifierDamages Receives the damage of each modifier, at the same index
+     * @return The final damage
+     */
+    public static double applyAll(List<Tuple<DamageModifier, Function<? super Double, Double>>> modifiers, double baseDamage,
+            double[] modifierDamages) {
+        double damage = baseDamage;
+        for (int i = 0; i < modifiers.size(); i++) {
+            Function<? super Double, Double> function = modifiers.get(i).getSecond();
+            double modifierDamage;
+            if (function instanceof DoubleUnaryOperator) {
+                modifierDamage = ((DoubleUnaryOperator) function).applyAsDouble(damage);
+            } else {
+                modifierDamage = function.apply(damage);
+            }
+            modifierDamages[i] = modifierDamage;
+            damage += modifierDamage;
+        }
+        return damage;
+    }
+
+}
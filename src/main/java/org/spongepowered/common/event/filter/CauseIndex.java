@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.filter;
+
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.filter.cause.All;
+import org.spongepowered.api.event.filter.cause.First;
+import org.spongepowered.api.event.filter.cause.Last;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * Remembers the cause lookups made by generated event filters while one
+ * event is being posted. Every listener of that event receives the same
+ * {@link Cause}, so after the first listener asks for e.g. the first
+ * {@code Player}, the others get the answer without scanning the cause.
+ *
+ * <p>Causes are immutable, so a lookup can never go stale while the event
+ * is being dispatched.</p>
+ */
+public final class CauseIndex {
+
+    private static final ThreadLocal<CauseIndex> current = new ThreadLocal<>();
+
+    private final Cause cause;
+    @Nullable private Map<Class<?>, Optional<?>> first;
+    @Nullable private Map<Class<?>, Optional<?>> last;
+    @Nullable private Map<Class<?>, List<?>> all;
+
+    private CauseIndex(Cause cause) {
+        this.cause = cause;
+    }
+
+    /**
+     * Gets whether the filter generated for the given listener method looks
+     * up the cause through this index.
+     *
+     * @param method The listener method
+     * @return Whether the generated filter uses the index
+     */
+    public static boolean isIndexed(Method method) {
+        for (Annotation[] annotations : method.getParameterAnnotations()) {
+            for (Annotation annotation : annotations) {
+                if (annotation instanceof First || annotation instanceof Last || annotation instanceof All) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts indexing lookups on the given cause for the current thread.
+     *
+     * @param cause The cause of the event about to be posted
+     * @return The index which was active before, to be passed to {@link #exit}
+     */
+    @Nullable
+    public static CauseIndex enter(Cause cause) {
+        CauseIndex previous = current.get();
+        current.set(new CauseIndex(cause));
+        return previous;
+    }
+
+    public static void exit(@Nullable CauseIndex previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    @Nullable
+    private static CauseIndex get(Cause cause) {
+        CauseIndex index = current.get();
+        return index != null && index.cause == cause ? index : null;
+    }
+
+    public static Optional<?> first(Cause cause, Class<?> type) {
+        CauseIndex index = get(cause);
+        if (index == null) {
+            return cause.first(type);
+        }
+        if (index.first == null) {
+            index.first = new IdentityHashMap<>();
+        }
+        Optional<?> result = index.first.get(type);
+        if (result == null) {
+            result = cause.first(type);
+            index.first.put(type, result);
+        }
+        return result;
+    }
+
+    public static Optional<?> last(Cause cause, Class<?> type) {
+        CauseIndex index = get(cause);
+        if (index == null) {
+            return cause.last(type);
+        }
+        if (index.last == null) {
+            index.last = new IdentityHashMap<>();
+        }
+        Optional<?> result = index.last.get(type);
+        if (result == null) {
+            result = cause.last(type);
+            index.last.put(type, result);
+        }
+        return result;
+    }
+
+    public static List<?> allOf(Cause cause, Class<?> type) {
+        CauseIndex index = get(cause);
+        if (index == null) {
+            return cause.allOf(type);
+        }
+        if (index.all == null) {
+            index.all = new IdentityHashMap<>();
+        }
+        List<?> result = index.all.get(type);
+        if (result == null) {
+            result = cause.allOf(type);
+            index.all.put(type, result);
+        }
+        return result;
+    }
+
+}
@@ -32,13 +32,14 @@
 import static org.objectweb.asm.Opcodes.ICONST_0;
 import static org.objectweb.asm.Opcodes.IFEQ;
 import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
-import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Type;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.filter.cause.All;
+import org.spongepowered.common.event.filter.CauseIndex;
 
 import java.lang.reflect.Parameter;
 
@@ -58,8 +59,8 @@ protected void insertCauseCall(MethodVisitor mv, Parameter param, Class<?> targe
             throw new IllegalStateException(
                     "Parameter " + param.getName() + " is marked with @All but is not an array type");
         }
-        mv.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(Cause.class), "allOf",
-                "(Ljava/lang/Class;)Ljava/util/List;", false);
+        mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(CauseIndex.class), "allOf",
+                "(" + Type.getDescriptor(Cause.class) + "Ljava/lang/Class;)Ljava/util/List;", false);
     }
 
     @Override
@@ -31,6 +31,7 @@
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.world.ChunkStatsIndex.ChunkStats;
 
 import java.util.Map;
 import java.util.Optional;
@@ -60,4 +61,6 @@ public interface IMixinChunk {
 
     void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
 
+    ChunkStats getChunkStats();
+
 }
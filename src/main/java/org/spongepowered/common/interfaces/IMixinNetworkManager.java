@@ -25,6 +25,7 @@
 package org.spongepowered.common.interfaces;
 
 import com.mojang.authlib.properties.Property;
+import net.minecraft.network.Packet;
 import org.spongepowered.api.MinecraftVersion;
 
 import java.net.InetSocketAddress;
@@ -52,4 +53,21 @@ public interface IMixinNetworkManager {
     Property[] getSpoofedProfile();
 
     void setSpoofedProfile(Property[] profile);
+
+    /**
+     * Starts holding back the packets sent through this connection by the
+     * current thread, until {@link #endPacketBatch()} writes them out.
+     *
+     * <p>Packets should still be sent through
+     * {@link net.minecraft.network.NetHandlerPlayServer#sendPacket(Packet)},
+     * so everything hooked into sending them sees each packet as usual.</p>
+     */
+    void beginPacketBatch();
+
+    /**
+     * Writes all packets held back since {@link #beginPacketBatch()} to the
+     * channel in order and flushes it once, instead of flushing after every
+     * packet.
+     */
+    void endPacketBatch();
 }
@@ -26,6 +26,7 @@
 
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.Packet;
+import net.minecraft.scoreboard.Score;
 
 public interface IMixinServerScoreboard extends IMixinScoreboard {
 
@@ -35,4 +36,16 @@ public interface IMixinServerScoreboard extends IMixinScoreboard {
 
     void sendToPlayers(Packet<?> packet);
 
+    /**
+     * Records the value a score had before it is changed, so that a change
+     * which is reverted within the same tick is never sent.
+     *
+     * @param score The score about to be updated
+     * @param previousPoints The value the players currently know about
+     * @param forced Whether the update must be sent even if unchanged
+     */
+    void prepareScoreUpdate(Score score, int previousPoints, boolean forced);
+
+    void flushPendingUpdates();
+
 }
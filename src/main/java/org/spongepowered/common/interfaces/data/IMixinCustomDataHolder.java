@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.interfaces.data;
 
+import net.minecraft.nbt.NBTTagList;
 import org.spongepowered.api.data.DataTransactionResult;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.DataManipulator;
@@ -33,6 +34,8 @@
 import java.util.List;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 public interface IMixinCustomDataHolder {
 
     default DataTransactionResult offerCustom(DataManipulator<?, ?> manipulator) {
@@ -59,4 +62,21 @@ default DataTransactionResult offerCustom(DataManipulator<?, ?> manipulator) {
 
     DataTransactionResult removeCustom(Key<?> key);
 
+    /**
+     * Keeps custom data read from NBT without deserializing it. It is only
+     * turned into manipulators once any of the other methods is called.
+     *
+     * @param manipulatorTagList The serialized manipulators, never modified
+     */
+    void setPendingCustomData(NBTTagList manipulatorTagList);
+
+    /**
+     * Gets the custom data read from NBT, if it has not been touched since.
+     * It can then be written back as is.
+     *
+     * @return The serialized manipulators, or null once deserialized
+     */
+    @Nullable
+    NBTTagList getPendingCustomData();
+
 }
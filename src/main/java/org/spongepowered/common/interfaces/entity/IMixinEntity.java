@@ -30,6 +30,7 @@
 import org.spongepowered.api.data.manipulator.DataManipulator;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.entity.SpongeEntitySnapshot;
 
 import java.util.List;
 import java.util.Optional;
@@ -103,4 +104,17 @@ default void supplyVanillaManipulators(List<DataManipulator<?, ?>> manipulators)
 
     void setUntargetable(boolean untargetable);
 
+    /**
+     * Registers a snapshot that still has to capture this entity's data.
+     *
+     * @param snapshot The snapshot
+     */
+    void addPendingSnapshot(SpongeEntitySnapshot snapshot);
+
+    /**
+     * Captures this entity's data into every snapshot still waiting for it.
+     * Must be called before anything changes the entity.
+     */
+    void capturePendingSnapshots();
+
 }
@@ -31,8 +31,10 @@
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.data.Transaction;
 import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.common.config.ActiveConfig;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.event.CauseTracker;
+import org.spongepowered.common.world.BlockChangeBatch;
 import org.spongepowered.common.world.CaptureType;
 import org.spongepowered.common.world.gen.SpongeChunkProvider;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
@@ -45,6 +47,14 @@ public interface IMixinWorld {
 
     SpongeConfig<SpongeConfig.WorldConfig> getWorldConfig();
 
+    /**
+     * Gets the resolved config snapshot of this world, rebuilding it if any
+     * config was reloaded or saved since it was last resolved.
+     *
+     * @return The active config snapshot
+     */
+    ActiveConfig getActiveConfig();
+
     CauseTracker getCauseTracker();
 
     BlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag);
@@ -69,4 +79,33 @@ public interface IMixinWorld {
 
     void markAndNotifyNeighbors(BlockPos pos, @Nullable net.minecraft.world.chunk.Chunk chunk, IBlockState old, IBlockState new_, int flags);
 
+    /**
+     * Sets many blocks at once on behalf of a plugin.
+     *
+     * <p>The changes are offered to plugins up front, as one
+     * {@link org.spongepowered.api.event.block.ChangeBlockEvent} per kind of
+     * change. All accepted blocks are then written before any lighting,
+     * client update or neighbor notification happens, and only blocks
+     * outside the batch are notified of their changed neighbors.</p>
+     *
+     * @param changes The changes to apply
+     * @param notifyNeighbors Whether to notify the blocks around the changes
+     * @param cause The cause, with the plugin at its root
+     * @return The transactions that were applied
+     */
+    List<Transaction<BlockSnapshot>> setBlocks(BlockChangeBatch changes, boolean notifyNeighbors, Cause cause);
+
+    /**
+     * Sets many blocks at once without a plugin cause, the batched form of
+     * {@link org.spongepowered.api.world.extent.MutableBlockVolume#setBlock(int, int, int, org.spongepowered.api.block.BlockState)}.
+     * This also implements {@link org.spongepowered.common.world.extent.DefaultedExtent#setBlocks(BlockChangeBatch)}
+     * for worlds.
+     *
+     * <p>While the cause tracker captures block changes the blocks are set
+     * one by one, so the captured changes still become events.</p>
+     *
+     * @param changes The changes to apply
+     */
+    void setBlocks(BlockChangeBatch changes);
+
 }
@@ -65,46 +65,31 @@
 @SuppressWarnings("unchecked")
 public class SpongeItemStackSnapshot implements ItemStackSnapshot {
 
+    // Marks a resolved compound that turned out to be empty
+    private static final NBTTagCompound NO_COMPOUND = new NBTTagCompound();
+
     private final ItemType itemType;
     private final int count;
     private final int damageValue;
-    private final ImmutableList<ImmutableDataManipulator<?, ?>> manipulators;
     private final ItemStack privateStack; // only for internal use since the processors have a huge say
-    private final ImmutableSet<Key<?>> keys;
-    private final ImmutableSet<ImmutableValue<?>> values;
-    @Nullable private final NBTTagCompound compound;
+    // The manipulators, keys, values and filtered compound are only built when first asked for. They are all derived from
+    // the private stack, which is never modified, so a racing thread at worst builds the same thing twice.
+    @Nullable private volatile ImmutableList<ImmutableDataManipulator<?, ?>> manipulators;
+    @Nullable private ImmutableSet<Key<?>> keys;
+    @Nullable private ImmutableSet<ImmutableValue<?>> values;
+    @Nullable private volatile NBTTagCompound compound;
+    // Snapshots built from manipulators hold part of their data in the private stack and part in the kept compound
+    private final boolean mergeCompound;
+    // The form snapshots are compared on, see #toRawCompound
+    @Nullable private volatile NBTTagCompound rawCompound;
 
     public SpongeItemStackSnapshot(ItemStack itemStack) {
         checkNotNull(itemStack);
         this.itemType = itemStack.getItem();
         this.count = itemStack.getQuantity();
-        ImmutableList.Builder<ImmutableDataManipulator<?, ?>> builder = ImmutableList.builder();
-        ImmutableSet.Builder<Key<?>> keyBuilder = ImmutableSet.builder();
-        ImmutableSet.Builder<ImmutableValue<?>> valueBuilder = ImmutableSet.builder();
-        for (DataManipulator<?, ?> manipulator : itemStack.getContainers()) {
-            builder.add(manipulator.asImmutable());
-            keyBuilder.addAll(manipulator.getKeys());
-            valueBuilder.addAll(manipulator.getValues());
-        }
         this.damageValue = ((net.minecraft.item.ItemStack) itemStack).getItemDamage();
-        this.manipulators = builder.build();
         this.privateStack = itemStack.copy();
-        this.keys = keyBuilder.build();
-        this.values = valueBuilder.build();
-        @Nullable NBTTagCompound compound = ((net.minecraft.item.ItemStack) this.privateStack).getTagCompound();
-        if (compound != null) {
-            compound = (NBTTagCompound) compound.copy();
-        }
-        if (compound != null) {
-            NbtDataUtil.filterSpongeCustomData(compound);
-            if (!compound.hasNoTags()) {
-                this.compound = compound;
-            } else {
-                this.compound = null;
-            }
-        } else {
-            this.compound = null;
-        }
+        this.mergeCompound = false;
     }
 
     public SpongeItemStackSnapshot(ItemType itemType,
@@ -114,19 +99,92 @@ public SpongeItemStackSnapshot(ItemType itemType,
                                    @Nullable NBTTagCompound compound) {
         this.itemType = checkNotNull(itemType);
         this.count = count;
-        this.manipulators = checkNotNull(manipulators);
         this.damageValue = damageValue;
         this.privateStack = (ItemStack) new net.minecraft.item.ItemStack((Item) this.itemType, this.count, this.damageValue);
         ImmutableSet.Builder<Key<?>> keyBuilder = ImmutableSet.builder();
         ImmutableSet.Builder<ImmutableValue<?>> valueBuilder = ImmutableSet.builder();
-        for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
+        for (ImmutableDataManipulator<?, ?> manipulator : checkNotNull(manipulators)) {
             this.privateStack.offer(manipulator.asMutable());
             keyBuilder.addAll(manipulator.getKeys());
             valueBuilder.addAll(manipulator.getValues());
         }
         this.keys = keyBuilder.build();
         this.values = valueBuilder.build();
-        this.compound = compound == null ? null : (NBTTagCompound) compound.copy();
+        this.manipulators = manipulators;
+        this.compound = compound == null ? NO_COMPOUND : (NBTTagCompound) compound.copy();
+        this.mergeCompound = true;
+    }
+
+    private ImmutableList<ImmutableDataManipulator<?, ?>> resolveManipulators() {
+        ImmutableList<ImmutableDataManipulator<?, ?>> manipulators = this.manipulators;
+        if (manipulators == null) {
+            ImmutableList.Builder<ImmutableDataManipulator<?, ?>> builder = ImmutableList.builder();
+            ImmutableSet.Builder<Key<?>> keyBuilder = ImmutableSet.builder();
+            ImmutableSet.Builder<ImmutableValue<?>> valueBuilder = ImmutableSet.builder();
+            for (DataManipulator<?, ?> manipulator : this.privateStack.getContainers()) {
+                builder.add(manipulator.asImmutable());
+                keyBuilder.addAll(manipulator.getKeys());
+                valueBuilder.addAll(manipulator.getValues());
+            }
+            this.keys = keyBuilder.build();
+            this.values = valueBuilder.build();
+            // Written last, reading it first makes the keys and values visible
+            this.manipulators = manipulators = builder.build();
+        }
+        return manipulators;
+    }
+
+    @Nullable
+    private NBTTagCompound resolveCompound() {
+        NBTTagCompound compound = this.compound;
+        if (compound == null) {
+            compound = ((net.minecraft.item.ItemStack) this.privateStack).getTagCompound();
+            if (compound != null) {
+                compound = (NBTTagCompound) compound.copy();
+                NbtDataUtil.filterSpongeCustomData(compound);
+            }
+            if (compound == null || compound.hasNoTags()) {
+                compound = NO_COMPOUND;
+            }
+            this.compound = compound;
+        }
+        return compound == NO_COMPOUND ? null : compound;
+    }
+
+    @Nullable
+    private NBTTagCompound resolveRawCompound() {
+        if (!this.mergeCompound) {
+            // The kept compound already is the private stack's filtered tag
+            return resolveCompound();
+        }
+        NBTTagCompound rawCompound = this.rawCompound;
+        if (rawCompound == null) {
+            rawCompound = toRawCompound(((net.minecraft.item.ItemStack) this.privateStack).getTagCompound(), resolveCompound());
+            this.rawCompound = rawCompound = rawCompound == null ? NO_COMPOUND : rawCompound;
+        }
+        return rawCompound == NO_COMPOUND ? null : rawCompound;
+    }
+
+    /**
+     * Gets the canonical form of a snapshot's data, the filtered tag of its
+     * private stack merged with the compound kept for the snapshot. Data
+     * offered from manipulators ends up in the former, so snapshots built
+     * either way compare equal when they hold the same data.
+     *
+     * @param stackCompound The tag of the private stack
+     * @param keptCompound The filtered compound kept for the snapshot
+     * @return The merged compound, or null if it has no tags
+     */
+    @Nullable
+    static NBTTagCompound toRawCompound(@Nullable NBTTagCompound stackCompound, @Nullable NBTTagCompound keptCompound) {
+        final NBTTagCompound rawCompound = new NBTTagCompound();
+        if (stackCompound != null) {
+            rawCompound.merge(NbtDataUtil.filterSpongeCustomData((NBTTagCompound) stackCompound.copy()));
+        }
+        if (keptCompound != null) {
+            rawCompound.merge(keptCompound);
+        }
+        return rawCompound.hasNoTags() ? null : rawCompound;
     }
 
     @Override
@@ -146,7 +204,7 @@ public ItemStack createStack() {
 
     @Override
     public List<ImmutableDataManipulator<?, ?>> getManipulators() {
-        return this.manipulators;
+        return resolveManipulators();
     }
 
     @Override
@@ -161,11 +219,13 @@ public DataContainer toContainer() {
             .set(DataQueries.ITEM_TYPE, this.itemType.getId())
             .set(DataQueries.ITEM_COUNT, this.count)
             .set(DataQueries.ITEM_DAMAGE_VALUE, this.damageValue);
-        if (!this.manipulators.isEmpty()) {
-            container.set(DataQueries.DATA_MANIPULATORS, DataUtil.getSerializedImmutableManipulatorList(this.manipulators));
+        final List<ImmutableDataManipulator<?, ?>> manipulators = resolveManipulators();
+        if (!manipulators.isEmpty()) {
+            container.set(DataQueries.DATA_MANIPULATORS, DataUtil.getSerializedImmutableManipulatorList(manipulators));
         }
-        if (this.compound != null) {
-            container.set(DataQueries.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(this.compound));
+        @Nullable final NBTTagCompound compound = resolveCompound();
+        if (compound != null) {
+            container.set(DataQueries.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(compound));
         }
         return container;
     }
@@ -173,7 +233,7 @@ public DataContainer toContainer() {
     @Override
     public <T extends ImmutableDataManipulator<?, ?>> Optional<T> get(Class<T> containerClass) {
         checkNotNull(containerClass);
-        for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
+        for (ImmutableDataManipulator<?, ?> manipulator : resolveManipulators()) {
             if (containerClass.isInstance(manipulator)) {
                 return Optional.of((T) (Object) manipulator);
             }
@@ -278,7 +338,7 @@ public ItemStackSnapshot merge(ItemStackSnapshot that, MergeFunction function) {
 
     @Override
     public List<ImmutableDataManipulator<?, ?>> getContainers() {
-        return this.manipulators;
+        return resolveManipulators();
     }
 
     @Override
@@ -303,14 +363,36 @@ public ItemStackSnapshot copy() {
 
     @Override
     public Set<Key<?>> getKeys() {
+        resolveManipulators();
         return this.keys;
     }
 
     @Override
     public Set<ImmutableValue<?>> getValues() {
+        resolveManipulators();
         return this.values;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final SpongeItemStackSnapshot other = (SpongeItemStackSnapshot) obj;
+        return this.itemType == other.itemType
+                && this.count == other.count
+                && this.damageValue == other.damageValue
+                && Objects.equal(resolveRawCompound(), other.resolveRawCompound());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(this.itemType, this.count, this.damageValue, resolveRawCompound());
+    }
+
     @Override
     public String toString() {
         return Objects.toStringHelper(this)
@@ -334,8 +416,9 @@ public int getDamageValue() {
     }
 
     public Optional<NBTTagCompound> getCompound() {
-        if (this.compound != null) {
-            return Optional.of((NBTTagCompound) this.compound.copy());
+        @Nullable final NBTTagCompound compound = resolveCompound();
+        if (compound != null) {
+            return Optional.of((NBTTagCompound) compound.copy());
         } else {
             return Optional.empty();
         }
@@ -0,0 +1,80 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.launch;
+
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects where time goes while classes are transformed and generated
+ * during startup, and reports it once the server has started ticking.
+ */
+public final class LaunchTimings {
+
+    private static final AtomicInteger transformedClasses = new AtomicInteger();
+    private static final AtomicLong transformNanos = new AtomicLong();
+    private static final AtomicInteger listenerClasses = new AtomicInteger();
+    private static final AtomicLong listenerNanos = new AtomicLong();
+    private static volatile boolean reported;
+
+    private LaunchTimings() {
+    }
+
+    public static void recordTransform(long startNanos) {
+        transformNanos.addAndGet(System.nanoTime() - startNanos);
+        transformedClasses.incrementAndGet();
+    }
+
+    public static void recordListenerClass(long startNanos) {
+        listenerNanos.addAndGet(System.nanoTime() - startNanos);
+        listenerClasses.incrementAndGet();
+    }
+
+    public static void report(Logger logger) {
+        if (reported) {
+            return;
+        }
+        reported = true;
+
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        logger.info("Startup finished {} ms after JVM start", ManagementFactory.getRuntimeMXBean().getUptime());
+        logger.info("  Classes loaded: {}", classLoading.getTotalLoadedClassCount());
+        if (compilation != null && compilation.isCompilationTimeMonitoringSupported()) {
+            logger.info("  JIT compilation: {} ms", compilation.getTotalCompilationTime());
+        }
+        logger.info("  Superclass transformer: {} classes in {} ms", transformedClasses.get(),
+                TimeUnit.NANOSECONDS.toMillis(transformNanos.get()));
+        logger.info("  Event listener classes: {} generated in {} ms", listenerClasses.get(),
+                TimeUnit.NANOSECONDS.toMillis(listenerNanos.get()));
+    }
+
+}
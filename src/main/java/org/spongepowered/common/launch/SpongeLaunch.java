@@ -71,6 +71,7 @@ public static MixinEnvironment setupMixinEnvironment() {
                 .addConfiguration("mixins.common.api.json")
                 .addConfiguration("mixins.common.core.json")
                 .addConfiguration("mixins.common.bungeecord.json")
+                .addConfiguration("mixins.common.entityactivation.json")
                 .addConfiguration("mixins.common.exploit.json")
                 .addConfiguration("mixins.common.timings.json");
     }
@@ -33,6 +33,7 @@
 import org.spongepowered.asm.lib.tree.MethodInsnNode;
 import org.spongepowered.asm.lib.tree.MethodNode;
 import org.spongepowered.asm.lib.util.CheckClassAdapter;
+import org.spongepowered.common.launch.LaunchTimings;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -43,6 +44,7 @@ public class SpongeSuperclassTransformer implements IClassTransformer {
     public byte[] transform(String name, String transformedName, byte[] basicClass) {
         String superclass = SpongeSuperclassRegistry.getSuperclass(name);
         if (superclass != null) {
+            long start = System.nanoTime();
             ClassNode node = this.readClass(basicClass);
 
             node.methods.stream().forEach(m -> this.transformMethod(m, name, node.superName, superclass));
@@ -52,7 +54,9 @@ public byte[] transform(String name, String transformedName, byte[] basicClass)
 
             ClassWriter writer = new ClassWriter(0);
             node.accept(writer);
-            return writer.toByteArray();
+            byte[] bytes = writer.toByteArray();
+            LaunchTimings.recordTransform(start);
+            return bytes;
 
         }
         return basicClass;
@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.mixin.core.block.tiles;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import net.minecraft.block.Block;
 import net.minecraft.nbt.NBTTagCompound;
@@ -205,22 +204,9 @@ public void onReadFromNBT(NBTTagCompound compound, CallbackInfo ci) {
     public void readFromNbt(NBTTagCompound compound) {
         if (this instanceof IMixinCustomDataHolder) {
             if (compound.hasKey(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, NbtDataUtil.TAG_LIST)) {
-                final NBTTagList list = compound.getTagList(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, NbtDataUtil.TAG_COMPOUND);
-                final ImmutableList.Builder<DataView> builder = ImmutableList.builder();
-                if (list != null && list.tagCount() != 0) {
-                    for (int i = 0; i < list.tagCount(); i++) {
-                        final NBTTagCompound internal = list.getCompoundTagAt(i);
-                        builder.add(NbtTranslator.getInstance().translateFrom(internal));
-                    }
-                }
-                try {
-                    final List<DataManipulator<?, ?>> manipulators = DataUtil.deserializeManipulatorList(builder.build());
-                    for (DataManipulator<?, ?> manipulator : manipulators) {
-                        offer(manipulator);
-                    }
-                } catch (InvalidDataException e) {
-                    SpongeImpl.getLogger().error("Could not deserialize custom plugin data! ", e);
-                }
+                // Only deserialized once a plugin asks for custom data, and written back as is until then
+                ((IMixinCustomDataHolder) this).setPendingCustomData(
+                        compound.getTagList(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, NbtDataUtil.TAG_COMPOUND));
             }
         }
     }
@@ -233,6 +219,11 @@ public void readFromNbt(NBTTagCompound compound) {
     @Override
     public void writeToNbt(NBTTagCompound compound) {
         if (this instanceof IMixinCustomDataHolder) {
+            final NBTTagList pendingCustomData = ((IMixinCustomDataHolder) this).getPendingCustomData();
+            if (pendingCustomData != null) {
+                compound.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, pendingCustomData);
+                return;
+            }
             final List<DataView> manipulatorViews = DataUtil.getSerializedManipulatorList(((IMixinCustomDataHolder) this).getCustomManipulators());
             final NBTTagList manipulatorTagList = new NBTTagList();
             for (DataView dataView : manipulatorViews) {
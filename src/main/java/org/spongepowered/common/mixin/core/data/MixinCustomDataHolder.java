@@ -26,17 +26,24 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NBTTagList;
 import net.minecraft.tileentity.TileEntity;
 import org.spongepowered.api.data.DataTransactionResult;
+import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.DataManipulator;
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.api.util.persistence.InvalidDataException;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.interfaces.data.IMixinCustomDataHolder;
+import org.spongepowered.common.util.persistence.NbtTranslator;
 
 import java.util.Iterator;
 import java.util.List;
@@ -49,9 +56,43 @@
 public abstract class MixinCustomDataHolder implements IMixinCustomDataHolder {
 
     private List<DataManipulator<?, ?>> manipulators = Lists.newArrayList();
+    // Most entities and tile entities are loaded and saved again without a plugin ever looking at their custom data
+    @Nullable private NBTTagList pendingCustomData;
+
+    @Override
+    public void setPendingCustomData(NBTTagList manipulatorTagList) {
+        resolvePendingCustomData();
+        this.pendingCustomData = manipulatorTagList;
+    }
+
+    @Nullable
+    @Override
+    public NBTTagList getPendingCustomData() {
+        return this.pendingCustomData;
+    }
+
+    private void resolvePendingCustomData() {
+        final NBTTagList list = this.pendingCustomData;
+        if (list == null) {
+            return;
+        }
+        this.pendingCustomData = null;
+        final ImmutableList.Builder<DataView> builder = ImmutableList.builder();
+        for (int i = 0; i < list.tagCount(); i++) {
+            builder.add(NbtTranslator.getInstance().translateFrom(list.getCompoundTagAt(i)));
+        }
+        try {
+            for (DataManipulator<?, ?> manipulator : DataUtil.deserializeManipulatorList(builder.build())) {
+                offerCustom(manipulator);
+            }
+        } catch (InvalidDataException e) {
+            SpongeImpl.getLogger().error("Could not deserialize custom plugin data! ", e);
+        }
+    }
 
     @Override
     public DataTransactionResult offerCustom(DataManipulator<?, ?> manipulator, MergeFunction function) {
+        resolvePendingCustomData();
         @Nullable DataManipulator<?, ?> existingManipulator = null;
         for (DataManipulator<?, ?> existing : this.manipulators) {
             if (manipulator.getClass().isInstance(existing)) {
@@ -74,6 +115,7 @@ public DataTransactionResult offerCustom(DataManipulator<?, ?> manipulator, Merg
     @SuppressWarnings("unchecked")
     @Override
     public <T extends DataManipulator<?, ?>> Optional<T> getCustom(Class<T> customClass) {
+        resolvePendingCustomData();
         for (DataManipulator<?, ?> existing : this.manipulators) {
             if (customClass.isInstance(existing)) {
                 return Optional.of((T) existing.copy());
@@ -84,6 +126,7 @@ public DataTransactionResult offerCustom(DataManipulator<?, ?> manipulator, Merg
 
     @Override
     public DataTransactionResult removeCustom(Class<? extends DataManipulator<?, ?>> customClass) {
+        resolvePendingCustomData();
         @Nullable DataManipulator<?, ?> manipulator = null;
         for (DataManipulator<?, ?> existing : this.manipulators) {
             if (customClass.isInstance(existing)) {
@@ -100,11 +143,13 @@ public DataTransactionResult removeCustom(Class<? extends DataManipulator<?, ?>>
 
     @Override
     public boolean hasManipulators() {
+        resolvePendingCustomData();
         return !this.manipulators.isEmpty();
     }
 
     @Override
     public boolean supportsCustom(Key<?> key) {
+        resolvePendingCustomData();
         return this.manipulators.stream()
                 .filter(manipulator -> manipulator.supports(key))
                 .findFirst()
@@ -113,6 +158,7 @@ public boolean supportsCustom(Key<?> key) {
 
     @Override
     public <E> Optional<E> getCustom(Key<? extends BaseValue<E>> key) {
+        resolvePendingCustomData();
         return this.manipulators.stream()
                 .filter(manipulator -> manipulator.supports(key))
                 .findFirst()
@@ -121,6 +167,7 @@ public <E> Optional<E> getCustom(Key<? extends BaseValue<E>> key) {
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getCustomValue(Key<V> key) {
+        resolvePendingCustomData();
         return this.manipulators.stream()
                 .filter(manipulator -> manipulator.supports(key))
                 .findFirst()
@@ -129,12 +176,14 @@ public <E, V extends BaseValue<E>> Optional<V> getCustomValue(Key<V> key) {
 
     @Override
     public List<DataManipulator<?, ?>> getCustomManipulators() {
+        resolvePendingCustomData();
         return this.manipulators.stream().map(DataManipulator::copy).collect(Collectors.toList());
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public <E> DataTransactionResult offerCustom(Key<? extends BaseValue<E>> key, E value) {
+        resolvePendingCustomData();
         for (DataManipulator<?, ?> manipulator : this.manipulators) {
             if (manipulator.supports(key)) {
                 final DataTransactionResult.Builder builder = DataTransactionResult.builder();
@@ -149,6 +198,7 @@ public <E> DataTransactionResult offerCustom(Key<? extends BaseValue<E>> key, E
 
     @Override
     public DataTransactionResult removeCustom(Key<?> key) {
+        resolvePendingCustomData();
         final Iterator<DataManipulator<?, ?>> iterator = this.manipulators.iterator();
         while (iterator.hasNext()) {
             final DataManipulator<?, ?> manipulator = iterator.next();
@@ -47,6 +47,7 @@
 import org.spongepowered.common.data.ValueProcessor;
 import org.spongepowered.common.entity.player.SpongeUser;
 import org.spongepowered.common.interfaces.data.IMixinCustomDataHolder;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
 
 import java.util.Optional;
 
@@ -148,6 +149,7 @@ public boolean supports(Class<? extends DataManipulator<?, ?>> holderClass) {
 
     @Override
     public <E> DataTransactionResult offer(Key<? extends BaseValue<E>> key, E value) {
+        captureEntitySnapshots();
         if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
             SpongeTimings.dataOfferKey.startTiming();
         }
@@ -174,6 +176,7 @@ public <E> DataTransactionResult offer(Key<? extends BaseValue<E>> key, E value)
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     public DataTransactionResult offer(DataManipulator<?, ?> valueContainer, MergeFunction function) {
+        captureEntitySnapshots();
         if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
             SpongeTimings.dataOfferManipulator.startTiming();
         }
@@ -198,6 +201,7 @@ public DataTransactionResult offer(DataManipulator<?, ?> valueContainer, MergeFu
 
     @Override
     public DataTransactionResult offer(Iterable<DataManipulator<?, ?>> valueContainers) {
+        captureEntitySnapshots();
         if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
             SpongeTimings.dataOfferMultiManipulators.startTiming();
         }
@@ -236,6 +240,7 @@ public DataTransactionResult offer(Iterable<DataManipulator<?, ?>> valueContaine
 
     @Override
     public DataTransactionResult remove(Class<? extends DataManipulator<?, ?>> containerClass) {
+        captureEntitySnapshots();
         if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
             SpongeTimings.dataRemoveManipulator.startTiming();
         }
@@ -263,6 +268,7 @@ public DataTransactionResult remove(Class<? extends DataManipulator<?, ?>> conta
 
     @Override
     public DataTransactionResult remove(Key<?> key) {
+        captureEntitySnapshots();
         if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
             SpongeTimings.dataRemoveKey.startTiming();
         }
@@ -398,4 +404,11 @@ public boolean supports(Key<?> key) {
         return false;
     }
 
+    private void captureEntitySnapshots() {
+        // Snapshots taken lazily must see the entity as it was before this change
+        if (this instanceof IMixinEntity) {
+            ((IMixinEntity) this).capturePendingSnapshots();
+        }
+    }
+
 }
@@ -27,7 +27,6 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
@@ -90,6 +89,7 @@
 import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.data.value.immutable.ImmutableSpongeValue;
+import org.spongepowered.common.entity.SpongeEntitySnapshot;
 import org.spongepowered.common.entity.SpongeEntitySnapshotBuilder;
 import org.spongepowered.common.event.DamageEventHandler;
 import org.spongepowered.common.event.MinecraftBlockDamageSource;
@@ -104,6 +104,7 @@
 import org.spongepowered.common.util.persistence.NbtTranslator;
 import org.spongepowered.common.world.DimensionManager;
 
+import java.util.ArrayList;
 import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -775,22 +776,9 @@ public void setRawData(DataContainer container) throws InvalidDataException {
     public void readFromNbt(NBTTagCompound compound) {
         if (this instanceof IMixinCustomDataHolder) {
             if (compound.hasKey(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, NbtDataUtil.TAG_LIST)) {
-                final NBTTagList list = compound.getTagList(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, NbtDataUtil.TAG_COMPOUND);
-                final ImmutableList.Builder<DataView> builder = ImmutableList.builder();
-                if (list != null && list.tagCount() != 0) {
-                    for (int i = 0; i < list.tagCount(); i++) {
-                        final NBTTagCompound internal = list.getCompoundTagAt(i);
-                        builder.add(NbtTranslator.getInstance().translateFrom(internal));
-                    }
-                }
-                try {
-                    final List<DataManipulator<?, ?>> manipulators = DataUtil.deserializeManipulatorList(builder.build());
-                    for (DataManipulator<?, ?> manipulator : manipulators) {
-                        offer(manipulator);
-                    }
-                } catch (InvalidDataException e) {
-                    SpongeImpl.getLogger().error("Could not deserialize custom plugin data! ", e);
-                }
+                // Only deserialized once a plugin asks for custom data, and written back as is until then
+                ((IMixinCustomDataHolder) this).setPendingCustomData(
+                        compound.getTagList(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, NbtDataUtil.TAG_COMPOUND));
             }
         }
     }
@@ -803,6 +791,11 @@ public void readFromNbt(NBTTagCompound compound) {
     @Override
     public void writeToNbt(NBTTagCompound compound) {
         if (this instanceof IMixinCustomDataHolder) {
+            final NBTTagList pendingCustomData = ((IMixinCustomDataHolder) this).getPendingCustomData();
+            if (pendingCustomData != null) {
+                compound.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, pendingCustomData);
+                return;
+            }
             final List<DataManipulator<?, ?>> manipulators = ((IMixinCustomDataHolder) this).getCustomManipulators();
             if (!manipulators.isEmpty()) {
                 final List<DataView> manipulatorViews = DataUtil.getSerializedManipulatorList(manipulators);
@@ -1058,6 +1051,7 @@ public Translation getTranslation() {
     private boolean collision = false;
     private boolean untargetable = false;
     private boolean isReallyInvisible = false;
+    @Nullable private List<SpongeEntitySnapshot> pendingSnapshots;
 
     @Override
     public boolean isReallyREALLYInvisible() {
@@ -1089,6 +1083,36 @@ public void setUntargetable(boolean untargetable) {
         this.untargetable = untargetable;
     }
 
+    @Override
+    public void addPendingSnapshot(SpongeEntitySnapshot snapshot) {
+        if (this.pendingSnapshots == null) {
+            this.pendingSnapshots = new ArrayList<>(1);
+            SpongeEntitySnapshot.markPending(this);
+        }
+        this.pendingSnapshots.add(snapshot);
+    }
+
+    @Override
+    public void capturePendingSnapshots() {
+        final List<SpongeEntitySnapshot> snapshots = this.pendingSnapshots;
+        if (snapshots != null) {
+            this.pendingSnapshots = null;
+            for (SpongeEntitySnapshot snapshot : snapshots) {
+                snapshot.capture();
+            }
+        }
+    }
+
+    @Inject(method = "setDead()V", at = @At("HEAD"))
+    private void onSetDeadCaptureSnapshots(CallbackInfo ci) {
+        capturePendingSnapshots();
+    }
+
+    @Inject(method = "mountEntity(Lnet/minecraft/entity/Entity;)V", at = @At("HEAD"))
+    private void onMountCaptureSnapshots(net.minecraft.entity.Entity entity, CallbackInfo ci) {
+        capturePendingSnapshots();
+    }
+
     /**
      * @author gabizou - January 4th, 2016
      * @updated gabizou - January 27th, 2016 - Rewrite to a redirect
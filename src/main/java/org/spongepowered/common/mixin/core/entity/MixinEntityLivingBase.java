@@ -52,9 +52,11 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.living.human.EntityHuman;
 import org.spongepowered.common.event.DamageEventHandler;
 import org.spongepowered.common.event.DamageObject;
+import org.spongepowered.common.event.damage.DamageFunctions;
 import org.spongepowered.common.interfaces.entity.IMixinEntityLivingBase;
 
 import java.util.ArrayList;
@@ -63,6 +65,8 @@
 import java.util.Optional;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+
 @SuppressWarnings("rawtypes")
 @NonnullByDefault
 @Mixin(value = EntityLivingBase.class, priority = 999)
@@ -71,6 +75,7 @@ public abstract class MixinEntityLivingBase extends MixinEntity implements Livin
     private EntityLivingBase nmsEntityLiving = (EntityLivingBase) (Object) this;
     private int maxAir = 300;
     private DamageSource lastDamageSource;
+    @Nullable private static List<Tuple<DamageModifier, Function<? super Double, Double>>> modifierPool;
 
     @Shadow public int maxHurtResistantTime;
     @Shadow public int hurtTime;
@@ -197,6 +202,7 @@ protected void damageEntity(DamageSource damageSource, float damage) {
     @Override
     @Overwrite
     public boolean attackEntityFrom(DamageSource source, float amount) {
+        this.capturePendingSnapshots();
         this.lastDamageSource = source;
         if (source == null) {
             Thread.dumpStack();
@@ -328,70 +334,84 @@ public boolean damageEntityHook(DamageSource damageSource, float damage) {
                 damage = 0;
             }
 
-            List<Tuple<DamageModifier, Function<? super Double, Double>>> originalFunctions = new ArrayList<>();
+            // Server thread only. An event keeps its list, so only hits that skip the event return theirs to the pool
+            List<Tuple<DamageModifier, Function<? super Double, Double>>> originalFunctions = modifierPool != null ? modifierPool : new ArrayList<>();
+            modifierPool = null;
             Optional<Tuple<DamageModifier, Function<? super Double, Double>>> hardHatFunction =
                 DamageEventHandler.createHardHatModifier(this.nmsEntityLiving, damageSource);
-            Optional<Tuple<DamageModifier, Function<? super Double, Double>>> blockingFunction =
-                DamageEventHandler.createBlockingModifier(this.nmsEntityLiving, damageSource);
-            Optional<List<Tuple<DamageModifier, Function<? super Double, Double>>>> armorFunction =
-                provideArmorModifiers(this.nmsEntityLiving, damageSource, damage);
-            Optional<Tuple<DamageModifier, Function<? super Double, Double>>> resistanceFunction =
-                DamageEventHandler.createResistanceModifier(this.nmsEntityLiving, damageSource);
-            Optional<List<Tuple<DamageModifier, Function<? super Double, Double>>>> armorEnchantments =
-                DamageEventHandler.createEnchantmentModifiers(this.nmsEntityLiving, damageSource);
-            Optional<Tuple<DamageModifier, Function<? super Double, Double>>> absorptionFunction =
-                DamageEventHandler.createAbsorptionModifier(this.nmsEntityLiving, damageSource);
-
             if (hardHatFunction.isPresent()) {
                 originalFunctions.add(hardHatFunction.get());
             }
 
+            Optional<Tuple<DamageModifier, Function<? super Double, Double>>> blockingFunction =
+                DamageEventHandler.createBlockingModifier(this.nmsEntityLiving, damageSource);
             if (blockingFunction.isPresent()) {
                 originalFunctions.add(blockingFunction.get());
             }
 
+            Optional<List<Tuple<DamageModifier, Function<? super Double, Double>>>> armorFunction =
+                provideArmorModifiers(this.nmsEntityLiving, damageSource, damage);
             if (armorFunction.isPresent()) {
                 originalFunctions.addAll(armorFunction.get());
             }
 
+            Optional<Tuple<DamageModifier, Function<? super Double, Double>>> resistanceFunction =
+                DamageEventHandler.createResistanceModifier(this.nmsEntityLiving, damageSource);
             if (resistanceFunction.isPresent()) {
                 originalFunctions.add(resistanceFunction.get());
             }
 
-            if (armorEnchantments.isPresent()) {
-                originalFunctions.addAll(armorEnchantments.get());
-            }
+            DamageEventHandler.addEnchantmentModifiers(this.nmsEntityLiving, damageSource, originalFunctions);
 
+            Optional<Tuple<DamageModifier, Function<? super Double, Double>>> absorptionFunction =
+                DamageEventHandler.createAbsorptionModifier(this.nmsEntityLiving, damageSource);
             if (absorptionFunction.isPresent()) {
                 originalFunctions.add(absorptionFunction.get());
             }
-            final Cause cause = DamageEventHandler.generateCauseFor(damageSource);
 
-            DamageEntityEvent event = SpongeEventFactory.createDamageEntityEvent(cause, originalFunctions,
-                         (Entity) this.nmsEntityLiving, originalDamage);
-            Sponge.getEventManager().post(event);
-            if (event.isCancelled()) {
-                return false;
-            }
+            double absorptionModifier = 0;
+            final boolean hasListeners = SpongeImpl.hasListeners(DamageEntityEvent.class);
+            // Armor durability is applied through the event, so it is still needed for armor that takes the hit
+            if (hasListeners || (armorFunction.isPresent() && !damageSource.isUnblockable())) {
+                final Cause cause = DamageEventHandler.generateCauseFor(damageSource);
+
+                DamageEntityEvent event = SpongeEventFactory.createDamageEntityEvent(cause, originalFunctions,
+                             (Entity) this.nmsEntityLiving, originalDamage);
+                if (hasListeners) {
+                    Sponge.getEventManager().post(event);
+                    if (event.isCancelled()) {
+                        return false;
+                    }
+                }
 
-            damage = (float) event.getFinalDamage();
+                damage = (float) event.getFinalDamage();
 
-            // Helmet
-            if ((damageSource instanceof FallingBlockDamageSource) && this.nmsEntityLiving.getEquipmentInSlot(4) != null) {
-                this.nmsEntityLiving.getEquipmentInSlot(4).damageItem(
-                    (int) (event.getBaseDamage() * 4.0F + this.rand.nextFloat() * event.getBaseDamage() * 2.0F), this.nmsEntityLiving);
-            }
+                // Helmet
+                this.applyHardHatDamage(damageSource, event.getBaseDamage());
 
-            // Armor
-            if (!damageSource.isUnblockable()) {
-                for (Tuple<DamageModifier, Function<? super Double, Double>> modifier : event.getModifiers()) {
-                    applyArmorDamage(this.nmsEntityLiving, damageSource, event, modifier.getFirst());
+                // Armor
+                if (!damageSource.isUnblockable()) {
+                    for (Tuple<DamageModifier, Function<? super Double, Double>> modifier : event.getModifiers()) {
+                        applyArmorDamage(this.nmsEntityLiving, damageSource, event, modifier.getFirst());
+                    }
                 }
-            }
 
-            double absorptionModifier = 0;
-            if (absorptionFunction.isPresent()) {
-                absorptionModifier = event.getDamage(absorptionFunction.get().getFirst());
+                if (absorptionFunction.isPresent()) {
+                    absorptionModifier = event.getDamage(absorptionFunction.get().getFirst());
+                }
+            } else {
+                // Nobody can change the outcome, so skip the event and apply the modifiers directly
+                double[] modifierDamages = new double[originalFunctions.size()];
+                damage = (float) DamageFunctions.applyAll(originalFunctions, originalDamage, modifierDamages);
+
+                this.applyHardHatDamage(damageSource, originalDamage);
+
+                if (absorptionFunction.isPresent()) {
+                    // Always added last
+                    absorptionModifier = modifierDamages[modifierDamages.length - 1];
+                }
+                originalFunctions.clear();
+                modifierPool = originalFunctions;
             }
 
             this.nmsEntityLiving.setAbsorptionAmount(Math.max(this.nmsEntityLiving.getAbsorptionAmount() + (float) absorptionModifier, 0.0F));
@@ -415,6 +435,13 @@ public boolean damageEntityHook(DamageSource damageSource, float damage) {
         return false;
     }
 
+    private void applyHardHatDamage(DamageSource damageSource, double baseDamage) {
+        if ((damageSource instanceof FallingBlockDamageSource) && this.nmsEntityLiving.getEquipmentInSlot(4) != null) {
+            this.nmsEntityLiving.getEquipmentInSlot(4).damageItem(
+                (int) (baseDamage * 4.0F + this.rand.nextFloat() * baseDamage * 2.0F), this.nmsEntityLiving);
+        }
+    }
+
     @Override
     public float applyModDamage(EntityLivingBase entityLivingBase, DamageSource source, float damage) {
         return damage;
@@ -103,6 +103,7 @@
 import org.spongepowered.common.interfaces.text.IMixinTitle;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.text.action.SpongeCallbackHolder;
 import org.spongepowered.common.text.chat.SpongeChatType;
 import org.spongepowered.common.util.LanguageUtil;
 import org.spongepowered.common.util.SkinUtil;
@@ -234,7 +235,14 @@ public Set<SkinPart> getDisplayedSkinParts() {
 
     @Override
     public void sendMessage(ChatType type, Text message) {
-        IChatComponent component = SpongeTexts.toComponent(message);
+        IChatComponent component;
+        // Callbacks in the message belong to this player until they log out
+        SpongeCallbackHolder.getInstance().enterScope(this.getUniqueId());
+        try {
+            component = SpongeTexts.toComponent(message);
+        } finally {
+            SpongeCallbackHolder.getInstance().exitScope();
+        }
         if (type == ChatTypes.ACTION_BAR) {
             component = SpongeTexts.fixActionBarFormatting(component);
         }
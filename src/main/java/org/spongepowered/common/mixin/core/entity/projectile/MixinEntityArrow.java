@@ -33,6 +33,7 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.entity.projectile.ProjectileSourceSerializer;
+import org.spongepowered.common.interfaces.entity.IMixinEntityArrow;
 import org.spongepowered.common.mixin.core.entity.MixinEntity;
 
 import java.util.List;
@@ -40,10 +41,11 @@
 import javax.annotation.Nullable;
 
 @Mixin(EntityArrow.class)
-public abstract class MixinEntityArrow extends MixinEntity implements Arrow {
+public abstract class MixinEntityArrow extends MixinEntity implements Arrow, IMixinEntityArrow {
 
     @Shadow public double damage;
     @Shadow public Entity shootingEntity;
+    @Shadow private boolean inGround;
 
     // Not all ProjectileSources are entities (e.g. BlockProjectileSource).
     // This field is used to store a ProjectileSource that isn't an entity.
@@ -60,6 +62,11 @@ public ProjectileSource getShooter() {
         return ProjectileSource.UNKNOWN;
     }
 
+    @Override
+    public boolean isInGround() {
+        return this.inGround;
+    }
+
     @Override
     public void supplyVanillaManipulators(List<DataManipulator<?, ?>> manipulators) {
         manipulators.add(getKnockbackData());
@@ -28,7 +28,9 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.PacketBuffer;
 import org.spongepowered.api.data.DataView;
@@ -52,7 +54,6 @@ public abstract class MixinPacketBuffer extends ByteBuf {
     @Shadow @Final private ByteBuf buf;
 
     @Shadow protected abstract NBTTagCompound readNBTTagCompoundFromBuffer() throws IOException;
-    @Shadow protected abstract void writeNBTTagCompoundToBuffer(NBTTagCompound compound);
 
     private ChannelBuf oppositeOrder;
 
@@ -336,8 +337,13 @@ public abstract class MixinPacketBuffer extends ByteBuf {
     }
 
     public ChannelBuf cbuf$writeDataView(DataView data) {
-        NBTTagCompound compound = NbtTranslator.getInstance().translateData(checkNotNull(data, "data"));
-        this.writeNBTTagCompoundToBuffer(compound);
+        checkNotNull(data, "data");
+        try {
+            // Same wire format as writeNBTTagCompoundToBuffer, without building the compound first
+            NbtTranslator.getInstance().write(data, new ByteBufOutputStream(this));
+        } catch (IOException e) {
+            throw new EncoderException(e);
+        }
         return (ChannelBuf) this;
     }
 
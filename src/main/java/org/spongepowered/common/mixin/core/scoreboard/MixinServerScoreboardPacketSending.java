@@ -41,15 +41,23 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.IMixinNetworkManager;
 import org.spongepowered.common.interfaces.IMixinServerScoreboard;
+import org.spongepowered.common.scoreboard.ScoreboardUpdateQueue;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 @Mixin(ServerScoreboard.class)
 public abstract class MixinServerScoreboardPacketSending extends Scoreboard implements IMixinServerScoreboard {
 
@@ -60,38 +68,101 @@ public abstract class MixinServerScoreboardPacketSending extends Scoreboard impl
 
     private List<EntityPlayerMP> players = new ArrayList<>();
 
+    // Score updates made on the main thread are buffered until the end of the tick.
+    // Each score maps to the value the players last saw, or null if it must be sent.
+    private final Map<Score, Integer> pendingScores = new LinkedHashMap<>();
+    @Nullable private Score updatingScore;
+
     @Override
     public void sendToPlayers(Packet<?> packet) {
+        // Keep the buffered scores ahead of anything which may depend on them
+        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+            this.flushPendingUpdates();
+        }
         for (EntityPlayerMP player: this.players) {
             player.playerNetServerHandler.sendPacket(packet);
         }
     }
 
+    @Override
+    public void prepareScoreUpdate(Score score, int previousPoints, boolean forced) {
+        if (forced) {
+            this.pendingScores.put(score, null);
+        } else if (!this.pendingScores.containsKey(score)) {
+            this.pendingScores.put(score, previousPoints);
+        }
+    }
+
+    @Override
+    public void flushPendingUpdates() {
+        if (this.pendingScores.isEmpty()) {
+            return;
+        }
+        List<Packet<?>> packets = new ArrayList<>(this.pendingScores.size());
+        for (Map.Entry<Score, Integer> entry : this.pendingScores.entrySet()) {
+            Score score = entry.getKey();
+            Integer previous = entry.getValue();
+            if (previous == null || previous != score.getScorePoints()) {
+                packets.add(new S3CPacketUpdateScore(score));
+            }
+        }
+        this.pendingScores.clear();
+        this.sendBatch(packets);
+    }
+
+    private void sendBatch(List<Packet<?>> packets) {
+        if (packets.isEmpty()) {
+            return;
+        }
+        for (EntityPlayerMP player: this.players) {
+            sendBatch(player, packets);
+        }
+    }
+
+    private static void sendBatch(EntityPlayerMP player, List<Packet<?>> packets) {
+        // The packets still go through the play handler, only the channel flush is held back until the end
+        final IMixinNetworkManager networkManager = (IMixinNetworkManager) player.playerNetServerHandler.netManager;
+        networkManager.beginPacketBatch();
+        try {
+            for (Packet<?> packet : packets) {
+                player.playerNetServerHandler.sendPacket(packet);
+            }
+        } finally {
+            networkManager.endPacketBatch();
+        }
+    }
+
     @Override
     public void addPlayer(EntityPlayerMP player) {
+        this.flushPendingUpdates();
         this.players.add(player);
         this.sendScoreboard(player);
     }
 
+    @SuppressWarnings("unchecked")
     void sendScoreboard(EntityPlayerMP player) {
+        List<Packet<?>> packets = new ArrayList<>();
         for (ScorePlayerTeam team: (Collection<ScorePlayerTeam>) this.getTeams()) {
-            player.playerNetServerHandler.sendPacket(new S3EPacketTeams(team, 0));
+            packets.add(new S3EPacketTeams(team, 0));
         }
 
         for (ScoreObjective objective: (Collection<ScoreObjective>) this.getScoreObjectives()) {
-            player.playerNetServerHandler.sendPacket(new S3BPacketScoreboardObjective(objective, 0));
+            packets.add(new S3BPacketScoreboardObjective(objective, 0));
             for (Score score: (Collection<Score>) this.getSortedScores(objective)) {
-                player.playerNetServerHandler.sendPacket(new S3CPacketUpdateScore(score));
+                packets.add(new S3CPacketUpdateScore(score));
             }
         }
 
         for (int i = 0; i < 19; ++i) {
-            player.playerNetServerHandler.sendPacket(new S3DPacketDisplayScoreboard(i, this.getObjectiveInDisplaySlot(i)));
+            packets.add(new S3DPacketDisplayScoreboard(i, this.getObjectiveInDisplaySlot(i)));
         }
+
+        sendBatch(player, packets);
     }
 
     @Override
     public void removePlayer(EntityPlayerMP player) {
+        this.flushPendingUpdates();
         this.players.remove(player);
         this.removeScoreboard(player);
     }
@@ -115,9 +186,25 @@ void removeObjectives(EntityPlayerMP player) {
         }
     }
 
+    @Inject(method = "func_96536_a", at = @At("HEAD"))
+    public void onUpdateScoreValue(Score score, CallbackInfo ci) {
+        this.updatingScore = score;
+    }
+
     @Redirect(method = "func_96536_a", at = @At(value = "INVOKE", target = SEND_PACKET_METHOD))
     public void onUpdateScoreValue(ServerConfigurationManager manager, Packet packet) {
-        this.sendToPlayers(packet);
+        Score score = this.updatingScore;
+        this.updatingScore = null;
+        if (score == null || !MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+            // The buffer is only touched on the main thread. A buffered entry for the same score is
+            // harmless, the flush sends whatever value the score has by then.
+            this.sendToPlayers(packet);
+            return;
+        }
+        if (!this.pendingScores.containsKey(score)) {
+            this.pendingScores.put(score, null);
+        }
+        ScoreboardUpdateQueue.markPending(this);
     }
 
     @Redirect(method = "func_96536_a", at = @At(value = "INVOKE", target = SET_CONTAINS))
@@ -86,6 +86,7 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.entity.SpongeEntitySnapshot;
 import org.spongepowered.common.interfaces.IMixinCommandSender;
 import org.spongepowered.common.interfaces.IMixinCommandSource;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
@@ -93,11 +94,14 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.interfaces.world.IMixinWorldSettings;
+import org.spongepowered.common.launch.LaunchTimings;
 import org.spongepowered.common.profile.SpongeProfileManager;
 import org.spongepowered.common.registry.type.world.DimensionRegistryModule;
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
+import org.spongepowered.common.scoreboard.ScoreboardUpdateQueue;
 import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.util.LagSpikeSampler;
 import org.spongepowered.common.util.ServerUtils;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
@@ -105,6 +109,7 @@
 import org.spongepowered.common.world.SpongeDimensionType;
 import org.spongepowered.common.world.WorldMigrator;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
+import org.spongepowered.common.world.storage.SpongePlayerDataHandler;
 
 import java.io.DataInputStream;
 import java.io.File;
@@ -317,6 +322,27 @@ public void onServerStopping(CallbackInfo ci) {
         ((MinecraftServer) (Object) this).getPlayerProfileCache().save();
     }
 
+    @Inject(method = "stopServer()V", at = @At("RETURN"))
+    public void onServerStopped(CallbackInfo ci) {
+        // Player data is written asynchronously, make sure it has all reached the disk
+        SpongePlayerDataHandler.flush();
+    }
+
+    @Inject(method = "tick()V", at = @At("HEAD"))
+    public void onTickStart(CallbackInfo ci) {
+        if (this.tickCounter == 0) {
+            LaunchTimings.report(SpongeImpl.getLogger());
+        }
+        LagSpikeSampler.onTickStart();
+    }
+
+    @Inject(method = "tick()V", at = @At("RETURN"))
+    public void onTickEnd(CallbackInfo ci) {
+        SpongeEntitySnapshot.captureAllPending();
+        ScoreboardUpdateQueue.flushAll();
+        LagSpikeSampler.onTickEnd();
+    }
+
     @Overwrite
     protected void loadAllWorlds(String overworldFolder, String worldName, long seed, WorldType type, String generatorOptions) {
         StaticMixinHelper.convertingMapFormat = true;
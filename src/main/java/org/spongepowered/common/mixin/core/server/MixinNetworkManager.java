@@ -25,13 +25,18 @@
 package org.spongepowered.common.mixin.core.server;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.local.LocalAddress;
 import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
 import org.spongepowered.api.MinecraftVersion;
 import org.spongepowered.api.network.RemoteConnection;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeMinecraftVersion;
 import org.spongepowered.common.interfaces.IMixinNetworkManager;
 
@@ -39,6 +44,10 @@
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
 
 @SuppressWarnings("rawtypes")
 @Mixin(NetworkManager.class)
@@ -47,9 +56,15 @@ public abstract class MixinNetworkManager extends SimpleChannelInboundHandler im
     @Shadow private Channel channel;
 
     @Shadow public abstract SocketAddress getRemoteAddress();
+    @Shadow public abstract boolean isChannelOpen();
+    @Shadow public abstract void sendPacket(Packet packetIn);
+    @Shadow private void flushOutboundQueue() {}
 
     private InetSocketAddress virtualHost;
     private MinecraftVersion version;
+    // Packets held back by beginPacketBatch, only ever touched by the thread that started the batch
+    @Nullable private List<Packet<?>> batch;
+    @Nullable private Thread batchThread;
 
     private static final InetSocketAddress localhost = InetSocketAddress.createUnresolved("127.0.0.1", 0);
 
@@ -93,4 +108,54 @@ public MinecraftVersion getVersion() {
     public void setVersion(int version) {
         this.version = new SpongeMinecraftVersion(String.valueOf(version), version);
     }
+
+    @Inject(method = "sendPacket(Lnet/minecraft/network/Packet;)V", at = @At("HEAD"), cancellable = true)
+    private void onSendPacketBatched(Packet packet, CallbackInfo ci) {
+        if (this.batch != null && this.batchThread == Thread.currentThread()) {
+            this.batch.add(packet);
+            ci.cancel();
+        }
+    }
+
+    @Override
+    public void beginPacketBatch() {
+        if (this.batch == null) {
+            this.batch = new ArrayList<>();
+            this.batchThread = Thread.currentThread();
+        }
+    }
+
+    @Override
+    public void endPacketBatch() {
+        final List<Packet<?>> packets = this.batch;
+        if (packets == null || this.batchThread != Thread.currentThread()) {
+            return;
+        }
+        this.batch = null;
+        this.batchThread = null;
+        if (packets.isEmpty()) {
+            return;
+        }
+        if (packets.size() == 1 || !this.isChannelOpen()) {
+            // Let vanilla queue the packets until the channel is ready
+            for (Packet<?> packet : packets) {
+                this.sendPacket(packet);
+            }
+            return;
+        }
+
+        this.flushOutboundQueue();
+        if (this.channel.eventLoop().inEventLoop()) {
+            this.writeBatch(packets);
+        } else {
+            this.channel.eventLoop().execute(() -> this.writeBatch(packets));
+        }
+    }
+
+    private void writeBatch(List<Packet<?>> packets) {
+        for (Packet<?> packet : packets) {
+            this.channel.write(packet).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+        }
+        this.channel.flush();
+    }
 }
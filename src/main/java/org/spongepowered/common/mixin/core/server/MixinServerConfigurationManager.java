@@ -96,6 +96,7 @@
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.text.action.SpongeCallbackHolder;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.border.PlayerBorderListener;
@@ -504,6 +505,7 @@ private void onPlayerLogOut(EntityPlayerMP player, CallbackInfo ci) {
         NBTTagCompound nbt = new NBTTagCompound();
         player.writeToNBT(nbt);
         ((SpongeUser) ((IMixinEntityPlayerMP) player).getUserObject()).readFromNbt(nbt);
+        SpongeCallbackHolder.getInstance().releaseScope(player.getUniqueID());
     }
 
     @Inject(method = "saveAllPlayerData()V", at = @At("RETURN"))
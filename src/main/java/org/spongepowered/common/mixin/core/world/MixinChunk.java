@@ -75,6 +75,7 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
@@ -83,8 +84,10 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ChunkStatsIndex.ChunkStats;
 import org.spongepowered.common.world.extent.ExtentViewDownsize;
 import org.spongepowered.common.world.extent.ExtentViewTransform;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBiomeAreaWorker;
@@ -108,6 +111,7 @@ public abstract class MixinChunk implements Chunk, IMixinChunk {
     private Cause populateCause;
     private org.spongepowered.api.world.World world;
     private UUID uuid;
+    private ChunkStats chunkStats;
 
     private static final int NUM_XZ_BITS = 4;
     private static final int NUM_SHORT_Y_BITS = 8;
@@ -159,6 +163,7 @@ public void onConstructed(World world, int x, int z, CallbackInfo ci) {
         this.biomeMin = this.blockMin.toVector2(true);
         this.biomeMax = this.blockMax.toVector2(true);
         this.world = (org.spongepowered.api.world.World) world;
+        this.chunkStats = new ChunkStats(x, z);
         if (this.world.getUniqueId() != null) { // Client worlds have no UUID
             this.uuid = new UUID(this.world.getUniqueId().getMostSignificantBits() ^ (x * 2 + 1),
                     this.world.getUniqueId().getLeastSignificantBits() ^ (z * 2 + 1));
@@ -169,6 +174,9 @@ public void onConstructed(World world, int x, int z, CallbackInfo ci) {
     public void onChunkLoadInject(CallbackInfo ci) {
         if (!this.worldObj.isRemote) {
             SpongeHooks.logChunkLoad(this.worldObj, this.chunkPos);
+            if (this.worldObj instanceof IMixinWorldServer) {
+                ((IMixinWorldServer) this.worldObj).getChunkStats().load(this.chunkStats);
+            }
         }
     }
 
@@ -176,7 +184,55 @@ public void onChunkLoadInject(CallbackInfo ci) {
     public void onChunkUnloadInject(CallbackInfo ci) {
         if (!this.worldObj.isRemote) {
             SpongeHooks.logChunkUnload(this.worldObj, this.chunkPos);
+            if (this.worldObj instanceof IMixinWorldServer) {
+                ((IMixinWorldServer) this.worldObj).getChunkStats().unload(this.chunkStats);
+            }
+        }
+    }
+
+    @Redirect(method = "addEntity", at = @At(value = "INVOKE", target = "Lnet/minecraft/util/ClassInheritanceMultiMap;add(Ljava/lang/Object;)Z"))
+    private boolean onAddEntityToList(ClassInheritanceMultiMap<Entity> entityList, Object entity) {
+        if (!entityList.add((Entity) entity)) {
+            return false;
         }
+        this.chunkStats.addEntity(entity);
+        return true;
+    }
+
+    @Redirect(method = "removeEntityAtIndex", at = @At(value = "INVOKE", target = "Lnet/minecraft/util/ClassInheritanceMultiMap;remove(Ljava/lang/Object;)Z"))
+    private boolean onRemoveEntityFromList(ClassInheritanceMultiMap<Entity> entityList, Object entity) {
+        if (!entityList.remove(entity)) {
+            return false;
+        }
+        this.chunkStats.removeEntity(entity);
+        return true;
+    }
+
+    @Redirect(method = "addTileEntity(Lnet/minecraft/util/BlockPos;Lnet/minecraft/tileentity/TileEntity;)V",
+            at = @At(value = "INVOKE", target = "Ljava/util/Map;put(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", remap = false))
+    private Object onPutTileEntity(Map<BlockPos, TileEntity> tileEntityMap, Object pos, Object tileEntity) {
+        final TileEntity previous = tileEntityMap.put((BlockPos) pos, (TileEntity) tileEntity);
+        if (previous != null) {
+            this.chunkStats.removeTileEntity(previous);
+        }
+        this.chunkStats.addTileEntity(tileEntity);
+        return previous;
+    }
+
+    @Redirect(method = {"removeTileEntity(Lnet/minecraft/util/BlockPos;)V",
+            "getTileEntity(Lnet/minecraft/util/BlockPos;Lnet/minecraft/world/chunk/Chunk$EnumCreateEntityType;)Lnet/minecraft/tileentity/TileEntity;"},
+            at = @At(value = "INVOKE", target = "Ljava/util/Map;remove(Ljava/lang/Object;)Ljava/lang/Object;", remap = false))
+    private Object onRemoveTileEntity(Map<BlockPos, TileEntity> tileEntityMap, Object pos) {
+        final TileEntity removed = tileEntityMap.remove(pos);
+        if (removed != null) {
+            this.chunkStats.removeTileEntity(removed);
+        }
+        return removed;
+    }
+
+    @Override
+    public ChunkStats getChunkStats() {
+        return this.chunkStats;
     }
 
     @Override
@@ -537,7 +593,7 @@ public IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState
 
     @Override
     public void addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType) {
-        if (this.worldObj.isRemote || !SpongeHooks.getActiveConfig(this.worldObj).getConfig().getBlockTracking().isEnabled()) {
+        if (this.worldObj.isRemote || !SpongeHooks.getActiveConfigSnapshot(this.worldObj).isBlockTrackingEnabled()) {
             return;
         } else {
             IMixinWorld spongeWorld = (IMixinWorld) this.worldObj;
@@ -547,7 +603,7 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
             }
         }
 
-        if (!SpongeHooks.getActiveConfig(this.worldObj).getConfig().getBlockTracking().getBlockBlacklist().contains(((BlockType)block).getId())) {
+        if (!SpongeHooks.getActiveConfigSnapshot(this.worldObj).isBlockTrackingBlacklisted(((BlockType) block).getId())) {
             SpongeHooks.logBlockTrack(this.worldObj, block, pos, user, true);
         } else {
             SpongeHooks.logBlockTrack(this.worldObj, block, pos, user, false);
@@ -843,7 +899,7 @@ public Optional<org.spongepowered.api.entity.Entity> restoreSnapshot(EntitySnaps
 
     @Override
     public Collection<ScheduledBlockUpdate> getScheduledUpdates(int x, int y, int z) {
-        return this.world.getScheduledUpdates(this.xPosition << 4 + (x & 15), y, this.zPosition << 4 + (z & 15));
+        return this.world.getScheduledUpdates((this.xPosition << 4) + (x & 15), y, (this.zPosition << 4) + (z & 15));
     }
 
     @Override
@@ -121,12 +121,14 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
+import org.spongepowered.common.config.ActiveConfig;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.interfaces.world.IMixinWorldSettings;
 import org.spongepowered.common.interfaces.world.IMixinWorldType;
 import org.spongepowered.common.interfaces.world.gen.IPopulatorProvider;
@@ -178,6 +180,7 @@ public abstract class MixinWorld implements World, IMixinWorld {
     private boolean keepSpawnLoaded;
     private Context worldContext;
     private SpongeChunkProvider spongegen;
+    @Nullable private ActiveConfig activeConfig;
 
     // @formatter:off
     @Shadow @Final public boolean isRemote;
@@ -487,6 +490,16 @@ public SpongeConfig<SpongeConfig.WorldConfig> getWorldConfig() {
         return ((IMixinWorldInfo) this.worldInfo).getWorldConfig();
     }
 
+    @Override
+    public ActiveConfig getActiveConfig() {
+        ActiveConfig config = this.activeConfig;
+        if (config == null || !config.isValid()) {
+            config = ActiveConfig.resolve(getWorldConfig(), ((IMixinWorldProvider) this.provider).getDimensionConfig());
+            this.activeConfig = config;
+        }
+        return config;
+    }
+
 
 
     @Override
@@ -26,6 +26,7 @@
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEventData;
 import net.minecraft.block.state.IBlockState;
@@ -57,11 +58,15 @@
 import org.spongepowered.common.event.CauseTracker;
 import org.spongepowered.common.interfaces.IMixinBlockUpdate;
 import org.spongepowered.common.interfaces.IMixinChunk;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ChunkStatsIndex;
+import org.spongepowered.common.world.PendingTickIndex;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
@@ -73,9 +78,11 @@
 
 @NonnullByDefault
 @Mixin(WorldServer.class)
-public abstract class MixinWorldServer extends MixinWorld {
+public abstract class MixinWorldServer extends MixinWorld implements IMixinWorldServer {
 
     private Map<BlockPos, User> trackedBlockEvents = Maps.newHashMap();
+    private final PendingTickIndex pendingTickIndex = new PendingTickIndex();
+    private final ChunkStatsIndex chunkStats = new ChunkStatsIndex();
 
     @Shadow @Final private Set<NextTickListEntry> pendingTickListEntriesHashSet;
     @Shadow @Final private TreeSet<NextTickListEntry> pendingTickListEntriesTreeSet;
@@ -202,16 +209,50 @@ public boolean onFireBlockEvent(net.minecraft.world.WorldServer worldIn, BlockEv
 
     @Override
     public Collection<ScheduledBlockUpdate> getScheduledUpdates(int x, int y, int z) {
-        BlockPos position = new BlockPos(x, y, z);
+        List<NextTickListEntry> updates = this.pendingTickIndex.get(new BlockPos(x, y, z));
+        if (updates.isEmpty()) {
+            return ImmutableList.of();
+        }
+        // Keep the execution order the tree set would have returned
         ImmutableList.Builder<ScheduledBlockUpdate> builder = ImmutableList.builder();
-        for (NextTickListEntry sbu : this.pendingTickListEntriesTreeSet) {
-            if (sbu.position.equals(position)) {
-                builder.add((ScheduledBlockUpdate) sbu);
-            }
+        for (NextTickListEntry sbu : Ordering.natural().sortedCopy(updates)) {
+            builder.add((ScheduledBlockUpdate) sbu);
         }
         return builder.build();
     }
 
+    @Override
+    public PendingTickIndex getPendingTickIndex() {
+        return this.pendingTickIndex;
+    }
+
+    @Override
+    public ChunkStatsIndex getChunkStats() {
+        return this.chunkStats;
+    }
+
+    @Redirect(method = {"updateBlockTick(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V",
+            "scheduleBlockUpdate(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V"},
+            at = @At(value = "INVOKE", target = "Ljava/util/Set;add(Ljava/lang/Object;)Z", remap = false))
+    private boolean onAddPendingTick(Set<NextTickListEntry> pendingTicks, Object entry) {
+        if (pendingTicks.add((NextTickListEntry) entry)) {
+            this.pendingTickIndex.add((NextTickListEntry) entry);
+            return true;
+        }
+        return false;
+    }
+
+    // Vanilla only ever reads pending updates when saving chunks, so executing them is the only other removal path
+    @Redirect(method = "tickUpdates",
+            at = @At(value = "INVOKE", target = "Ljava/util/Set;remove(Ljava/lang/Object;)Z", remap = false))
+    private boolean onRemovePendingTick(Set<NextTickListEntry> pendingTicks, Object entry) {
+        if (pendingTicks.remove(entry)) {
+            this.pendingTickIndex.remove(entry);
+            return true;
+        }
+        return false;
+    }
+
     private NextTickListEntry tmpScheduledObj;
 
     @Redirect(method = "updateBlockTick(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V",
@@ -257,7 +298,9 @@ public ScheduledBlockUpdate addScheduledUpdate(int x, int y, int z, int priority
     @Override
     public void removeScheduledUpdate(int x, int y, int z, ScheduledBlockUpdate update) {
         // Note: Ignores position argument
-        this.pendingTickListEntriesHashSet.remove(update);
+        if (this.pendingTickListEntriesHashSet.remove(update)) {
+            this.pendingTickIndex.remove(update);
+        }
         this.pendingTickListEntriesTreeSet.remove(update);
     }
 
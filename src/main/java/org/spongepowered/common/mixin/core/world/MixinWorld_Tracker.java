@@ -28,6 +28,7 @@
 
 import com.flowpowered.math.vector.Vector2i;
 import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableList;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
@@ -46,6 +47,8 @@
 import org.spongepowered.api.block.tileentity.TileEntity;
 import org.spongepowered.api.data.Transaction;
 import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
 import org.spongepowered.api.event.block.NotifyNeighborBlockEvent;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.NamedCause;
@@ -60,19 +63,27 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.event.CauseTracker;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.registry.provider.DirectionFacingProvider;
+import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
+import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockChangeBatch;
 import org.spongepowered.common.world.CaptureType;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import javax.annotation.Nullable;
@@ -252,6 +263,7 @@ public void onForceBlockUpdateTick(Block block, net.minecraft.world.World worldI
 
     @Redirect(method = "updateEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;onUpdate()V"))
     public void onUpdateEntities(net.minecraft.entity.Entity entityIn) {
+        ((IMixinEntity) entityIn).capturePendingSnapshots();
         final CauseTracker causeTracker = this.getCauseTracker();
         if (this.isRemote || causeTracker.hasTickingEntity()) {
             entityIn.onUpdate();
@@ -285,6 +297,7 @@ public void onUpdateTileEntities(ITickable tile) {
 
     @Redirect(method = "updateEntityWithOptionalForce", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;onUpdate()V"))
     public void onCallEntityUpdate(net.minecraft.entity.Entity entity) {
+        ((IMixinEntity) entity).capturePendingSnapshots();
         final CauseTracker causeTracker = this.getCauseTracker();
         if (this.isRemote || causeTracker.hasTickingEntity() || StaticMixinHelper.packetPlayer != null) {
             entity.onUpdate();
@@ -431,6 +444,180 @@ public void setBlock(int x, int y, int z, BlockState blockState, boolean notifyN
     }
 
 
+    @Override
+    public List<Transaction<BlockSnapshot>> setBlocks(BlockChangeBatch changes, boolean notifyNeighbors, Cause cause) {
+        checkArgument(cause != null, "Cause cannot be null!");
+        checkArgument(cause.root() instanceof PluginContainer, "PluginContainer must be at the ROOT of a cause!");
+        if (this.isRemote || changes.isEmpty() || this.worldInfo.getTerrainType() == WorldType.DEBUG_WORLD) {
+            return ImmutableList.of();
+        }
+        final int flags = notifyNeighbors ? 3 : 2;
+
+        // Snapshot everything up front, so the changes can be offered to plugins before any block is touched
+        final ImmutableList.Builder<Transaction<BlockSnapshot>> breakBuilder = ImmutableList.builder();
+        final ImmutableList.Builder<Transaction<BlockSnapshot>> modifyBuilder = ImmutableList.builder();
+        final ImmutableList.Builder<Transaction<BlockSnapshot>> placeBuilder = ImmutableList.builder();
+        for (Map.Entry<BlockPos, IBlockState> entry : changes.getChanges().entrySet()) {
+            final BlockPos pos = entry.getKey();
+            checkBlockBounds(pos.getX(), pos.getY(), pos.getZ());
+            final IBlockState currentState = this.getChunkFromBlockCoords(pos).getBlockState(pos);
+            final IBlockState newState = entry.getValue();
+            if (currentState == newState) {
+                continue;
+            }
+            final BlockSnapshot original = createSpongeBlockSnapshot(currentState, currentState.getBlock().getActualState(currentState,
+                    (IBlockAccess) this, pos), pos, flags);
+            final Transaction<BlockSnapshot> transaction = new Transaction<>(original, original.withState((BlockState) newState));
+            if (newState.getBlock() == Blocks.air) {
+                ((SpongeBlockSnapshot) original).captureType = CaptureType.BREAK;
+                breakBuilder.add(transaction);
+            } else if (newState.getBlock() != currentState.getBlock()) {
+                ((SpongeBlockSnapshot) original).captureType = CaptureType.PLACE;
+                placeBuilder.add(transaction);
+            } else {
+                ((SpongeBlockSnapshot) original).captureType = CaptureType.MODIFY;
+                modifyBuilder.add(transaction);
+            }
+        }
+
+        // One event per kind of change, so listeners keep seeing the event types they already handle
+        final List<Transaction<BlockSnapshot>> accepted = new ArrayList<>();
+        final List<CaptureType> acceptedTypes = new ArrayList<>();
+        final ImmutableList<Transaction<BlockSnapshot>> breaks = breakBuilder.build();
+        if (!breaks.isEmpty()) {
+            acceptChanges(SpongeEventFactory.createChangeBlockEventBreak(cause, this, breaks), CaptureType.BREAK, accepted, acceptedTypes);
+        }
+        final ImmutableList<Transaction<BlockSnapshot>> modifies = modifyBuilder.build();
+        if (!modifies.isEmpty()) {
+            acceptChanges(SpongeEventFactory.createChangeBlockEventModify(cause, this, modifies), CaptureType.MODIFY, accepted, acceptedTypes);
+        }
+        final ImmutableList<Transaction<BlockSnapshot>> places = placeBuilder.build();
+        if (!places.isEmpty()) {
+            acceptChanges(SpongeEventFactory.createChangeBlockEventPlace(cause, this, places), CaptureType.PLACE, accepted, acceptedTypes);
+        }
+        if (accepted.isEmpty()) {
+            return ImmutableList.of();
+        }
+
+        final CauseTracker causeTracker = this.getCauseTracker();
+        causeTracker.setPluginCause(cause);
+        try {
+            final Map<BlockPos, IBlockState> targets = new LinkedHashMap<>();
+            for (Transaction<BlockSnapshot> transaction : accepted) {
+                targets.put(VecHelper.toBlockPos(transaction.getFinal().getPosition()), (IBlockState) transaction.getFinal().getState());
+            }
+            final Map<BlockPos, IBlockState> written = writeBatch(targets, notifyNeighbors);
+
+            final ImmutableList.Builder<Transaction<BlockSnapshot>> applied = ImmutableList.builder();
+            for (int i = 0; i < accepted.size(); i++) {
+                final Transaction<BlockSnapshot> transaction = accepted.get(i);
+                if (written.containsKey(VecHelper.toBlockPos(transaction.getFinal().getPosition()))) {
+                    applied.add(transaction);
+                    SpongeHooks.logBlockAction(cause, asMinecraftWorld(), acceptedTypes.get(i), transaction);
+                }
+            }
+            return applied.build();
+        } finally {
+            causeTracker.setPluginCause(null);
+        }
+    }
+
+    @Override
+    public void setBlocks(BlockChangeBatch changes) {
+        for (BlockPos pos : changes.getChanges().keySet()) {
+            checkBlockBounds(pos.getX(), pos.getY(), pos.getZ());
+        }
+        final CauseTracker causeTracker = this.getCauseTracker();
+        causeTracker.setPluginCause(null);
+        if (this.isRemote || this.worldInfo.getTerrainType() == WorldType.DEBUG_WORLD || causeTracker.isCapturingBlocks()) {
+            // Captured changes are turned into events block by block, keep them on the regular path
+            for (Map.Entry<BlockPos, IBlockState> entry : changes.getChanges().entrySet()) {
+                setBlockState(entry.getKey(), entry.getValue(), 3);
+            }
+            return;
+        }
+        // Neighbors are notified, like setBlock(x, y, z, block) does
+        writeBatch(changes.getChanges(), true);
+    }
+
+    /**
+     * Writes all blocks first, then checks light, sends client updates and
+     * notifies neighbors once every block holds its new state. All of that is
+     * still done per changed block, only deferred: light is checked at every
+     * position whose opacity or light value changed, and each position is
+     * marked for a client update and notifies its neighbors on its own.
+     *
+     * @return The positions that changed, mapped to the states they replaced
+     */
+    private Map<BlockPos, IBlockState> writeBatch(Map<BlockPos, IBlockState> targets, boolean notifyNeighbors) {
+        final Map<BlockPos, IBlockState> written = new LinkedHashMap<>();
+        final List<BlockPos> lightChanges = new ArrayList<>();
+        // Write every block first, without any light checks, client updates or neighbor notifications
+        for (Map.Entry<BlockPos, IBlockState> entry : targets.entrySet()) {
+            final BlockPos pos = entry.getKey();
+            final IBlockState newState = entry.getValue();
+            final net.minecraft.world.chunk.Chunk chunk = this.getChunkFromBlockCoords(pos);
+            final IBlockState currentState = chunk.getBlockState(pos);
+            if (currentState == newState) {
+                continue;
+            }
+            final Block oldBlock = currentState.getBlock();
+            final IBlockState replaced = ((IMixinChunk) chunk).setBlockState(pos, newState, currentState, null);
+            if (replaced == null) {
+                continue;
+            }
+            if (newState.getBlock().getLightOpacity() != oldBlock.getLightOpacity() || newState.getBlock().getLightValue() != oldBlock.getLightValue()) {
+                lightChanges.add(pos);
+            }
+            written.put(pos, replaced);
+        }
+
+        // The chunks already updated their height maps and sky light columns while the blocks were written. Every
+        // changed position is still checked on its own, but only once all blocks are written, so the checks see the
+        // final blocks around them and most of them find the light already spread by the ones before.
+        this.theProfiler.startSection("checkLight");
+        for (BlockPos pos : lightChanges) {
+            this.checkLight(pos);
+        }
+        this.theProfiler.endSection();
+
+        for (Map.Entry<BlockPos, IBlockState> entry : written.entrySet()) {
+            final BlockPos pos = entry.getKey();
+            final net.minecraft.world.chunk.Chunk chunk = this.getChunkFromBlockCoords(pos);
+            final IBlockState newState = chunk.getBlockState(pos);
+            // The player manager sends these as one packet per chunk, or the changed sections once a chunk has enough changes
+            if (chunk.isPopulated()) {
+                this.markBlockForUpdate(pos);
+            }
+            if (notifyNeighbors) {
+                // Blocks inside the batch were set on purpose, only the ones around it need to react
+                for (EnumFacing facing : EnumFacing.values()) {
+                    final BlockPos neighbor = pos.offset(facing);
+                    if (!written.containsKey(neighbor)) {
+                        this.notifyBlockOfStateChange(neighbor, entry.getValue().getBlock());
+                    }
+                }
+                if (newState.getBlock().hasComparatorInputOverride()) {
+                    this.updateComparatorOutputLevel(pos, newState.getBlock());
+                }
+            }
+        }
+        return written;
+    }
+
+    private static void acceptChanges(ChangeBlockEvent event, CaptureType type, List<Transaction<BlockSnapshot>> accepted,
+            List<CaptureType> acceptedTypes) {
+        if (SpongeImpl.postEvent(event)) {
+            return;
+        }
+        for (Transaction<BlockSnapshot> transaction : event.getTransactions()) {
+            if (transaction.isValid()) {
+                accepted.add(transaction);
+                acceptedTypes.add(type);
+            }
+        }
+    }
+
     private void checkBiomeBounds(int x, int z) {
         if (!containsBiome(x, z)) {
             throw new PositionOutOfBoundsException(new Vector2i(x, z), BIOME_MIN, BIOME_MAX);
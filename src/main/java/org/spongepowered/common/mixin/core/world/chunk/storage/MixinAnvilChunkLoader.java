@@ -25,24 +25,114 @@
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
 import com.google.common.collect.Maps;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.interfaces.IMixinChunk;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.world.storage.ChunkReadAhead;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
 import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
 
 @Mixin(AnvilChunkLoader.class)
-public class MixinAnvilChunkLoader {
+public class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
+
+    private static final String GET_CHUNK_INPUT_STREAM = "Lnet/minecraft/world/chunk/storage/RegionFileCache;getChunkInputStream(Ljava/io/File;II)"
+            + "Ljava/io/DataInputStream;";
+    private static final String READ_COMPRESSED = "Lnet/minecraft/nbt/CompressedStreamTools;read(Ljava/io/DataInputStream;)"
+            + "Lnet/minecraft/nbt/NBTTagCompound;";
+    // Handed to vanilla in place of a region file stream when the chunk was read ahead
+    private static final DataInputStream PREFETCHED_STREAM = new DataInputStream(new ByteArrayInputStream(new byte[0]));
+
+    @Shadow @Final public File chunkSaveLocation;
+    @Shadow private Map<ChunkCoordIntPair, NBTTagCompound> chunksToRemove;
+    @Shadow private Set<ChunkCoordIntPair> pendingAnvilChunksCoordinates;
+
+    @Nullable private ChunkReadAhead readAhead;
+    @Nullable private NBTTagCompound prefetchedCompound;
+    private long loadStartNanos;
+    private boolean loadPrefetched;
+
+    @Override
+    public ChunkReadAhead getReadAhead() {
+        if (this.readAhead == null) {
+            this.readAhead = new ChunkReadAhead(this.chunkSaveLocation,
+                    pos -> this.chunksToRemove.containsKey(pos) || this.pendingAnvilChunksCoordinates.contains(pos));
+        }
+        return this.readAhead;
+    }
+
+    @Inject(method = "loadChunk", at = @At("HEAD"))
+    public void onLoadChunkHead(World worldIn, int x, int z, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> cir) {
+        this.loadStartNanos = System.nanoTime();
+        this.loadPrefetched = false;
+    }
+
+    @Inject(method = "loadChunk", at = @At("RETURN"))
+    public void onLoadChunkReturn(World worldIn, int x, int z, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> cir) {
+        if (cir.getReturnValue() != null) {
+            long elapsed = System.nanoTime() - this.loadStartNanos;
+            (this.loadPrefetched ? ChunkReadAhead.PREFETCHED_LOADS : ChunkReadAhead.DISK_LOADS).record(elapsed);
+        }
+    }
+
+    @Redirect(method = "loadChunk", at = @At(value = "INVOKE", target = GET_CHUNK_INPUT_STREAM))
+    public DataInputStream onGetChunkInputStream(File saveLocation, int x, int z) throws IOException {
+        NBTTagCompound compound = this.readAhead == null ? null : this.readAhead.take(x, z);
+        if (compound != null) {
+            this.prefetchedCompound = compound;
+            this.loadPrefetched = true;
+            return PREFETCHED_STREAM;
+        }
+        return RegionFileCache.getChunkInputStream(saveLocation, x, z);
+    }
+
+    @Redirect(method = "loadChunk", at = @At(value = "INVOKE", target = READ_COMPRESSED))
+    public NBTTagCompound onReadChunkCompound(DataInputStream stream) throws IOException {
+        if (stream == PREFETCHED_STREAM) {
+            NBTTagCompound compound = this.prefetchedCompound;
+            this.prefetchedCompound = null;
+            return compound;
+        }
+        return CompressedStreamTools.read(stream);
+    }
+
+    @Inject(method = "addChunkToPending", at = @At("HEAD"))
+    public void onAddChunkToPending(ChunkCoordIntPair pos, NBTTagCompound compound, CallbackInfo ci) {
+        if (this.readAhead != null) {
+            this.readAhead.invalidate(pos.chunkXPos, pos.chunkZPos);
+        }
+    }
+
+    @Inject(method = "writeChunkNBTTags", at = @At("RETURN"))
+    public void onWriteChunkNBTTags(ChunkCoordIntPair pos, NBTTagCompound compound, CallbackInfo ci) {
+        // Called by the file IO thread once the region file holds the new data
+        if (this.readAhead != null) {
+            this.readAhead.invalidate(pos.chunkXPos, pos.chunkZPos);
+        }
+    }
 
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
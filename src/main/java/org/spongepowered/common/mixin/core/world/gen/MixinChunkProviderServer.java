@@ -0,0 +1,96 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.gen;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import net.minecraft.world.gen.ChunkProviderServer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.storage.ChunkReadAhead;
+
+@Mixin(ChunkProviderServer.class)
+public abstract class MixinChunkProviderServer {
+
+    // Players slower than this, in blocks per tick, keep up with vanilla loading on their own
+    private static final double MIN_READ_AHEAD_SPEED = 0.3D;
+
+    @Shadow private IChunkLoader chunkLoader;
+    @Shadow public WorldServer worldObj;
+
+    @Shadow public abstract boolean chunkExists(int x, int z);
+
+    /**
+     * Reads the chunks just beyond the view distance of fast moving
+     * players in the background, along the direction they are moving.
+     */
+    @Inject(method = "unloadQueuedChunks", at = @At("HEAD"))
+    public void onUnloadQueuedChunks(CallbackInfoReturnable<Boolean> cir) {
+        if (!(this.chunkLoader instanceof IMixinAnvilChunkLoader) || this.worldObj.playerEntities.isEmpty()) {
+            return;
+        }
+        final int rows = SpongeHooks.getActiveConfig(this.worldObj).getConfig().getWorld().getChunkReadAhead();
+        if (rows <= 0) {
+            return;
+        }
+        final int viewDistance = MinecraftServer.getServer().getConfigurationManager().getViewDistance();
+        ChunkReadAhead readAhead = null;
+
+        for (EntityPlayer player : this.worldObj.playerEntities) {
+            final double dx = player.posX - player.lastTickPosX;
+            final double dz = player.posZ - player.lastTickPosZ;
+            final double speed = Math.sqrt(dx * dx + dz * dz);
+            if (speed < MIN_READ_AHEAD_SPEED) {
+                continue;
+            }
+            if (readAhead == null) {
+                readAhead = ((IMixinAnvilChunkLoader) this.chunkLoader).getReadAhead();
+            }
+            final double dirX = dx / speed;
+            final double dirZ = dz / speed;
+            for (int row = 1; row <= rows; row++) {
+                final double aheadX = player.posX + dirX * (viewDistance + row) * 16;
+                final double aheadZ = player.posZ + dirZ * (viewDistance + row) * 16;
+                // Cover the full width of the view along the leading edge
+                for (int side = -viewDistance; side <= viewDistance; side++) {
+                    final int chunkX = MathHelper.floor_double(aheadX - dirZ * side * 16) >> 4;
+                    final int chunkZ = MathHelper.floor_double(aheadZ + dirX * side * 16) >> 4;
+                    if (!this.chunkExists(chunkX, chunkZ)) {
+                        readAhead.prefetch(chunkX, chunkZ);
+                    }
+                }
+            }
+        }
+    }
+
+}
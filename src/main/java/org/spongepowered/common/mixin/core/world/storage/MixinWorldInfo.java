@@ -619,9 +619,10 @@ public DataContainer getGeneratorSettings() {
 
     @Override
     public Optional<DataView> getPropertySection(DataQuery path) {
-        if (this.spongeRootLevelNbt.hasKey(path.toString())) {
+        final String key = path.toString();
+        if (this.spongeRootLevelNbt.hasKey(key, NbtDataUtil.TAG_COMPOUND)) {
             return Optional
-                    .<DataView>of(NbtTranslator.getInstance().translateFrom(this.spongeRootLevelNbt.getCompoundTag(path.toString())));
+                    .<DataView>of(NbtTranslator.getInstance().translateFrom(this.spongeRootLevelNbt.getCompoundTag(key)));
         } else {
             return Optional.empty();
         }
@@ -0,0 +1,297 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import co.aikar.timings.SpongeTimings;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.boss.EntityDragon;
+import net.minecraft.entity.boss.EntityDragonPart;
+import net.minecraft.entity.boss.EntityWither;
+import net.minecraft.entity.effect.EntityWeatherEffect;
+import net.minecraft.entity.item.EntityEnderCrystal;
+import net.minecraft.entity.item.EntityFireworkRocket;
+import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.entity.monster.EntityCreeper;
+import net.minecraft.entity.monster.IMob;
+import net.minecraft.entity.passive.EntityAmbientCreature;
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.entity.passive.EntitySheep;
+import net.minecraft.entity.passive.EntityVillager;
+import net.minecraft.entity.passive.EntityWaterMob;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.projectile.EntityArrow;
+import net.minecraft.entity.projectile.EntityFireball;
+import net.minecraft.entity.projectile.EntityFishHook;
+import net.minecraft.entity.projectile.EntityThrowable;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.common.interfaces.entity.IMixinEntityArrow;
+import org.spongepowered.common.util.SpongeHooks;
+
+/**
+ * Decides, once per tick, which entities of a world are close enough to a
+ * player to be fully ticked. Entities outside of their activation range only
+ * receive a reduced {@link IMixinEntity#inactiveTick()} unless one of the
+ * immunity rules applies.
+ */
+public final class EntityActivationRange {
+
+    public static final byte ACTIVATION_TYPE_MONSTER = 1;
+    public static final byte ACTIVATION_TYPE_CREATURE = 2;
+    public static final byte ACTIVATION_TYPE_AQUATIC = 3;
+    public static final byte ACTIVATION_TYPE_AMBIENT = 4;
+    public static final byte ACTIVATION_TYPE_MISC = 5;
+
+    // Inactive entities are woken up for a single tick at this interval to re-check their immunities
+    private static final int IMMUNITY_CHECK_INTERVAL = 20;
+
+    private EntityActivationRange() {
+    }
+
+    /**
+     * Initializes an entity's activation type based on what kind of entity it is.
+     *
+     * @param entity The entity
+     * @return The activation type
+     */
+    public static byte initializeEntityActivationType(Entity entity) {
+        if (entity instanceof IMob) {
+            return ACTIVATION_TYPE_MONSTER;
+        } else if (entity instanceof EntityWaterMob) {
+            return ACTIVATION_TYPE_AQUATIC;
+        } else if (entity instanceof EntityAmbientCreature) {
+            return ACTIVATION_TYPE_AMBIENT;
+        } else if (entity instanceof EntityCreature) {
+            return ACTIVATION_TYPE_CREATURE;
+        }
+        return ACTIVATION_TYPE_MISC;
+    }
+
+    /**
+     * Determines whether an entity should always be ticked, regardless of
+     * the distance to the nearest player.
+     *
+     * @param entity The entity
+     * @param activationType The activation type of the entity
+     * @return True if the entity is always active
+     */
+    public static boolean initializeEntityActivationState(Entity entity, byte activationType) {
+        if (entity.worldObj == null || entity.worldObj.isRemote) {
+            return true;
+        }
+
+        if (getActivationRange(getActivationConfig(entity.worldObj), activationType) <= 0) {
+            return true;
+        }
+
+        return entity instanceof EntityPlayer
+                || entity instanceof EntityThrowable
+                || entity instanceof EntityFishHook
+                || entity instanceof EntityDragon
+                || entity instanceof EntityDragonPart
+                || entity instanceof EntityWither
+                || entity instanceof EntityFireball
+                || entity instanceof EntityWeatherEffect
+                || entity instanceof EntityTNTPrimed
+                || entity instanceof EntityEnderCrystal
+                || entity instanceof EntityFireworkRocket;
+    }
+
+    /**
+     * Marks every entity within the activation range of a player as active
+     * for the current tick.
+     *
+     * @param world The world to perform activation checks in
+     */
+    public static void activateEntities(World world) {
+        if (world.playerEntities.isEmpty()) {
+            return;
+        }
+
+        SpongeTimings.entityActivationCheckTimer.startTiming();
+        final SpongeConfig.EntityActivationRangeCategory config = getActivationConfig(world);
+        final int monsterRange = config.getMonsterActivationRange();
+        final int creatureRange = config.getCreatureActivationRange();
+        final int aquaticRange = config.getAquaticActivationRange();
+        final int ambientRange = config.getAmbientActivationRange();
+        final int miscRange = config.getMiscActivationRange();
+        final int maxRange = Math.max(Math.max(Math.max(monsterRange, creatureRange), Math.max(aquaticRange, ambientRange)), miscRange);
+        final long currentTick = MinecraftServer.getServer().getTickCounter();
+
+        for (EntityPlayer player : world.playerEntities) {
+            ((IMixinEntity) player).setActivatedTick(currentTick);
+            final AxisAlignedBB playerBox = player.getEntityBoundingBox();
+            final AxisAlignedBB[] boxes = new AxisAlignedBB[ACTIVATION_TYPE_MISC + 1];
+            boxes[ACTIVATION_TYPE_MONSTER] = playerBox.expand(monsterRange, 256, monsterRange);
+            boxes[ACTIVATION_TYPE_CREATURE] = playerBox.expand(creatureRange, 256, creatureRange);
+            boxes[ACTIVATION_TYPE_AQUATIC] = playerBox.expand(aquaticRange, 256, aquaticRange);
+            boxes[ACTIVATION_TYPE_AMBIENT] = playerBox.expand(ambientRange, 256, ambientRange);
+            boxes[ACTIVATION_TYPE_MISC] = playerBox.expand(miscRange, 256, miscRange);
+
+            final AxisAlignedBB maxBox = playerBox.expand(maxRange, 256, maxRange);
+            final int minChunkX = MathHelper.floor_double(maxBox.minX / 16.0D);
+            final int maxChunkX = MathHelper.floor_double(maxBox.maxX / 16.0D);
+            final int minChunkZ = MathHelper.floor_double(maxBox.minZ / 16.0D);
+            final int maxChunkZ = MathHelper.floor_double(maxBox.maxZ / 16.0D);
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    if (world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+                        activateChunkEntities(world.getChunkFromChunkCoords(chunkX, chunkZ), boxes, currentTick);
+                    }
+                }
+            }
+        }
+        SpongeTimings.entityActivationCheckTimer.stopTiming();
+    }
+
+    private static void activateChunkEntities(Chunk chunk, AxisAlignedBB[] boxes, long currentTick) {
+        for (ClassInheritanceMultiMap<Entity> entityList : chunk.getEntityLists()) {
+            for (Entity entity : entityList) {
+                final IMixinEntity spongeEntity = (IMixinEntity) entity;
+                if (currentTick <= spongeEntity.getActivatedTick()) {
+                    continue;
+                }
+                if (spongeEntity.getDefaultActivationState()) {
+                    spongeEntity.setActivatedTick(currentTick);
+                    continue;
+                }
+
+                final byte activationType = spongeEntity.getActivationType();
+                if (activationType > 0 && activationType < boxes.length
+                        && boxes[activationType].intersectsWith(entity.getEntityBoundingBox())) {
+                    spongeEntity.setActivatedTick(currentTick);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether an entity outside of its activation range still needs
+     * to be ticked, for example because it is burning, being ridden or was
+     * recently damaged.
+     *
+     * @param entity The entity to check
+     * @return True if the entity is immune to activation range
+     */
+    public static boolean checkEntityImmunities(Entity entity) {
+        if (entity.isInWater() || entity.fire > 0) {
+            return true;
+        }
+        if (entity instanceof EntityArrow) {
+            if (!((IMixinEntityArrow) entity).isInGround()) {
+                return true;
+            }
+        } else if (!entity.onGround || entity.riddenByEntity != null || entity.ridingEntity != null) {
+            return true;
+        }
+
+        if (entity instanceof EntityLivingBase) {
+            final EntityLivingBase living = (EntityLivingBase) entity;
+            if (living.hurtTime > 0 || !living.getActivePotionEffects().isEmpty()) {
+                return true;
+            }
+            if (entity instanceof EntityCreature && ((EntityCreature) entity).getAttackTarget() != null) {
+                return true;
+            }
+            if (entity instanceof EntityVillager && ((EntityVillager) entity).isMating()) {
+                return true;
+            }
+            if (entity instanceof EntityAnimal) {
+                final EntityAnimal animal = (EntityAnimal) entity;
+                if (animal.isChild() || animal.isInLove()) {
+                    return true;
+                }
+                if (entity instanceof EntitySheep && ((EntitySheep) entity).getSheared()) {
+                    return true;
+                }
+            }
+            if (entity instanceof EntityCreeper && ((EntityCreeper) entity).hasIgnited()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the entity is active for this tick.
+     *
+     * @param entity The entity to check
+     * @return True if the entity should be fully ticked
+     */
+    public static boolean checkIfActive(Entity entity) {
+        // Never safe to skip entities that are not yet in a chunk, or that are client side
+        if (entity.worldObj.isRemote || !entity.addedToChunk || entity instanceof EntityFireworkRocket) {
+            return true;
+        }
+
+        SpongeTimings.checkIfActiveTimer.startTiming();
+        final IMixinEntity spongeEntity = (IMixinEntity) entity;
+        final long currentTick = MinecraftServer.getServer().getTickCounter();
+        boolean isActive = spongeEntity.getDefaultActivationState() || spongeEntity.getActivatedTick() >= currentTick;
+
+        if (!isActive) {
+            if ((currentTick - spongeEntity.getActivatedTick() - 1) % IMMUNITY_CHECK_INTERVAL == 0) {
+                if (checkEntityImmunities(entity)) {
+                    // Triggered some sort of immunity, give it a full interval before checking again
+                    spongeEntity.setActivatedTick(currentTick + IMMUNITY_CHECK_INTERVAL);
+                }
+                isActive = true;
+            }
+        } else if (!spongeEntity.getDefaultActivationState() && entity.ticksExisted % 4 == 0 && !checkEntityImmunities(entity)) {
+            // Skip a quarter of the ticks of active entities that have no reason to be ticked every tick
+            isActive = false;
+        }
+        SpongeTimings.checkIfActiveTimer.stopTiming();
+        return isActive;
+    }
+
+    private static SpongeConfig.EntityActivationRangeCategory getActivationConfig(World world) {
+        return SpongeHooks.getActiveConfig(world).getConfig().getEntityActivationRange();
+    }
+
+    private static int getActivationRange(SpongeConfig.EntityActivationRangeCategory config, byte activationType) {
+        switch (activationType) {
+            case ACTIVATION_TYPE_MONSTER:
+                return config.getMonsterActivationRange();
+            case ACTIVATION_TYPE_CREATURE:
+                return config.getCreatureActivationRange();
+            case ACTIVATION_TYPE_AQUATIC:
+                return config.getAquaticActivationRange();
+            case ACTIVATION_TYPE_AMBIENT:
+                return config.getAmbientActivationRange();
+            default:
+                return config.getMiscActivationRange();
+        }
+    }
+}
@@ -24,17 +24,29 @@
  */
 package org.spongepowered.common.network;
 
+import co.aikar.timings.MetricSource;
+import co.aikar.timings.TimingsMetricsEndpoint;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.event.ClickEvent;
+import net.minecraft.inventory.Container;
 import net.minecraft.item.ItemStack;
 import net.minecraft.network.INetHandler;
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.network.Packet;
+import net.minecraft.network.play.client.C03PacketPlayer;
 import net.minecraft.network.play.client.C07PacketPlayerDigging;
 import net.minecraft.network.play.client.C08PacketPlayerBlockPlacement;
+import net.minecraft.network.play.client.C0APacketAnimation;
+import net.minecraft.network.play.client.C0FPacketConfirmTransaction;
 import net.minecraft.network.play.client.C10PacketCreativeInventoryAction;
 import net.minecraft.network.play.client.C12PacketUpdateSign;
+import net.minecraft.network.play.client.C13PacketPlayerAbilities;
+import net.minecraft.network.play.client.C14PacketTabComplete;
+import net.minecraft.network.play.client.C15PacketClientSettings;
 import net.minecraft.network.play.client.C16PacketClientStatus;
+import net.minecraft.network.play.client.C19PacketResourcePackStatus;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.tileentity.TileEntitySign;
 import net.minecraft.util.ChatComponentText;
@@ -44,17 +56,48 @@
 import org.spongepowered.api.item.inventory.ItemStackSnapshot;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.CauseTracker;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
 public class PacketUtil {
 
+    // Packets that neither touch inventories nor are expected to change blocks or spawn entities.
+    // Subclasses, such as the C03 position and look variants, are classified like their parent.
+    private static final ImmutableSet<Class<?>> FAST_PATH_PACKETS = ImmutableSet.<Class<?>>of(
+            C03PacketPlayer.class,
+            C0APacketAnimation.class,
+            C0FPacketConfirmTransaction.class,
+            C13PacketPlayerAbilities.class,
+            C14PacketTabComplete.class,
+            C15PacketClientSettings.class,
+            C19PacketResourcePackStatus.class);
+
+    // Only written on the main thread, but read by the metrics endpoint on its own thread
+    private static final ConcurrentMap<Class<?>, PacketStatistics> packetStatistics = new ConcurrentHashMap<>();
+
+    static {
+        TimingsMetricsEndpoint.registerSource(PacketUtil::appendMetrics);
+    }
+
     public static void onProcessPacket(Packet packetIn, INetHandler netHandler) {
         if (netHandler instanceof NetHandlerPlayServer) {
+            final PacketStatistics statistics = getStatistics(packetIn.getClass());
+            statistics.processed.increment();
             StaticMixinHelper.processingPacket = packetIn;
             StaticMixinHelper.packetPlayer = ((NetHandlerPlayServer) netHandler).playerEntity;
 
+            if (statistics.fastPath) {
+                processFastPathPacket(packetIn, netHandler, statistics);
+                return;
+            }
+
             // This is another horrible hack required since the client sends a C10 packet for every slot
             // containing an itemstack after a C16 packet in the following scenarios :
             // 1. Opening creative inventory after initial server join.
@@ -113,6 +156,81 @@ public static void onProcessPacket(Packet packetIn, INetHandler netHandler) {
         }
     }
 
+    /**
+     * Processes a packet that is not expected to cause any captures without
+     * taking a cursor snapshot or building a cause up front. Captures stay
+     * enabled, so should the packet capture anything after all, for example a
+     * movement packet trampling farmland or an entity spawned by a block it
+     * changed, the captures are handled like they would be for any other
+     * packet.
+     */
+    private static void processFastPathPacket(Packet packetIn, INetHandler netHandler, PacketStatistics statistics) {
+        final EntityPlayerMP player = StaticMixinHelper.packetPlayer;
+        final Container openContainer = player.openContainer;
+        StaticMixinHelper.lastOpenContainer = openContainer;
+
+        final CauseTracker causeTracker = ((IMixinWorld) player.worldObj).getCauseTracker();
+        causeTracker.setProcessingCaptureCause(true);
+        packetIn.processPacket(netHandler);
+
+        if (causeTracker.hasCaptures() || player.openContainer != openContainer) {
+            statistics.captured.increment();
+            // These packets never modify the cursor, so the current one is still the one from before processing
+            StaticMixinHelper.lastCursor = player.inventory.getItemStack() == null ? ItemStackSnapshot.NONE
+                    : ((org.spongepowered.api.item.inventory.ItemStack) player.inventory.getItemStack()).createSnapshot();
+            causeTracker.handlePostTickCaptures(Cause.of(NamedCause.source(player)));
+        }
+        causeTracker.setProcessingCaptureCause(false);
+        resetStaticData();
+    }
+
+    private static PacketStatistics getStatistics(Class<?> packetClass) {
+        final PacketStatistics statistics = packetStatistics.get(packetClass);
+        if (statistics != null) {
+            return statistics;
+        }
+        return packetStatistics.computeIfAbsent(packetClass, type -> {
+            for (Class<?> fastPathPacket : FAST_PATH_PACKETS) {
+                if (fastPathPacket.isAssignableFrom(type)) {
+                    return new PacketStatistics(true);
+                }
+            }
+            return new PacketStatistics(false);
+        });
+    }
+
+    /**
+     * Gets the processing statistics of every packet type received from
+     * players so far.
+     *
+     * @return A snapshot of the statistics, by packet class
+     */
+    public static Map<Class<?>, PacketStatistics.Snapshot> getPacketStatistics() {
+        final ImmutableMap.Builder<Class<?>, PacketStatistics.Snapshot> builder = ImmutableMap.builder();
+        for (Map.Entry<Class<?>, PacketStatistics> entry : packetStatistics.entrySet()) {
+            builder.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return builder.build();
+    }
+
+    private static void appendMetrics(StringBuilder builder) {
+        final Map<Class<?>, PacketStatistics.Snapshot> packets = getPacketStatistics();
+        builder.append("# TYPE sponge_packets_processed_total counter\n");
+        for (Map.Entry<Class<?>, PacketStatistics.Snapshot> entry : packets.entrySet()) {
+            builder.append("sponge_packets_processed_total").append(packetLabel(entry.getKey(), entry.getValue()))
+                    .append(entry.getValue().getProcessedCount()).append('\n');
+        }
+        builder.append("# TYPE sponge_packets_captured_total counter\n");
+        for (Map.Entry<Class<?>, PacketStatistics.Snapshot> entry : packets.entrySet()) {
+            builder.append("sponge_packets_captured_total").append(packetLabel(entry.getKey(), entry.getValue()))
+                    .append(entry.getValue().getCapturedCount()).append('\n');
+        }
+    }
+
+    private static String packetLabel(Class<?> packetClass, PacketStatistics.Snapshot statistics) {
+        return "{packet=\"" + MetricSource.escape(packetClass.getSimpleName()) + "\",fast_path=\"" + statistics.isFastPath() + "\"} ";
+    }
+
     private static boolean creativeCheck(Packet packet) {
         return packet instanceof C10PacketCreativeInventoryAction;
     }
@@ -151,4 +269,60 @@ public static boolean processSignPacket(C12PacketUpdateSign packetIn, CallbackIn
         return true;
 
     }
+
+    public static final class PacketStatistics {
+
+        final boolean fastPath;
+        final LongAdder processed = new LongAdder();
+        final LongAdder captured = new LongAdder();
+
+        PacketStatistics(boolean fastPath) {
+            this.fastPath = fastPath;
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(this.fastPath, this.processed.sum(), this.captured.sum());
+        }
+
+        /**
+         * The counts of a packet type at the time they were read.
+         */
+        public static final class Snapshot {
+
+            private final boolean fastPath;
+            private final long processed;
+            private final long captured;
+
+            Snapshot(boolean fastPath, long processed, long captured) {
+                this.fastPath = fastPath;
+                this.processed = processed;
+                this.captured = captured;
+            }
+
+            /**
+             * Gets whether packets of this type skip capture processing unless
+             * they actually captured something.
+             *
+             * @return True if this packet type uses the fast path
+             */
+            public boolean isFastPath() {
+                return this.fastPath;
+            }
+
+            public long getProcessedCount() {
+                return this.processed;
+            }
+
+            /**
+             * Gets how often a fast path packet of this type captured block
+             * changes, entity spawns or a container change, and so had its
+             * captures handled after all.
+             *
+             * @return The number of fast path fallbacks
+             */
+            public long getCapturedCount() {
+                return this.captured;
+            }
+        }
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scoreboard;
+
+import org.spongepowered.common.interfaces.IMixinServerScoreboard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tracks the scoreboards that buffered score updates during the current
+ * tick, so they can all be sent out together once the tick ends.
+ */
+public final class ScoreboardUpdateQueue {
+
+    private static final Set<IMixinServerScoreboard> pendingScoreboards = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private ScoreboardUpdateQueue() {
+    }
+
+    public static void markPending(IMixinServerScoreboard scoreboard) {
+        pendingScoreboards.add(scoreboard);
+    }
+
+    public static void flushAll() {
+        if (pendingScoreboards.isEmpty()) {
+            return;
+        }
+        List<IMixinServerScoreboard> scoreboards = new ArrayList<>(pendingScoreboards);
+        pendingScoreboards.clear();
+        for (IMixinServerScoreboard scoreboard : scoreboards) {
+            scoreboard.flushPendingUpdates();
+        }
+    }
+
+}
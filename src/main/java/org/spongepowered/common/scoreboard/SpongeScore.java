@@ -25,12 +25,15 @@
 package org.spongepowered.common.scoreboard;
 
 import net.minecraft.scoreboard.ScoreObjective;
+import net.minecraft.scoreboard.Scoreboard;
+import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.scoreboard.Score;
 import org.spongepowered.api.scoreboard.objective.Objective;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.serializer.TextSerializers;
 import org.spongepowered.common.interfaces.IMixinScore;
 import org.spongepowered.common.interfaces.IMixinScoreObjective;
+import org.spongepowered.common.interfaces.IMixinServerScoreboard;
 import org.spongepowered.common.text.SpongeTexts;
 
 import java.util.HashMap;
@@ -75,8 +78,13 @@ private void updateScore() {
 
             if (j != this.score || score.forceUpdate)
             {
+                Scoreboard scoreboard = score.getScoreScoreboard();
+                // Updates from other threads are sent right away and never buffered
+                if (scoreboard instanceof IMixinServerScoreboard && MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+                    ((IMixinServerScoreboard) scoreboard).prepareScoreUpdate(score, j, score.forceUpdate);
+                }
                 score.forceUpdate = false;
-                score.getScoreScoreboard().func_96536_a(score);
+                scoreboard.func_96536_a(score);
             }
         }
     }
@@ -24,13 +24,10 @@
  */
 package org.spongepowered.common.service.permission;
 
-import static com.google.common.base.Preconditions.checkNotNull;
-
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Maps;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.source.LocatedSource;
 import org.spongepowered.api.command.source.RemoteSource;
@@ -39,39 +36,67 @@
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.util.IpSetTrie;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
 
 /**
  * A context calculator handling world contexts.
+ *
+ * <p>Contexts of a connection are computed once, from the unresolved host
+ * string, and cached until the ip sets of the global configuration change.</p>
  */
 public class SpongeContextCalculator implements ContextCalculator<Subject> {
-    private final LoadingCache<RemoteSource, Set<Context>> remoteIpCache = buildAddressCache(Context.REMOTE_IP_KEY,
-                                                                                             input -> input.getConnection().getAddress().getAddress());
-
-    private final LoadingCache<RemoteSource, Set<Context>> localIpCache = buildAddressCache(Context.LOCAL_IP_KEY,
-                                                                                            input -> input.getConnection().getVirtualHost().getAddress());
-
-    private LoadingCache<RemoteSource, Set<Context>> buildAddressCache(final String contextKey, final Function<RemoteSource, InetAddress> function) {
-        return CacheBuilder.newBuilder()
-            .weakKeys()
-            .build(new CacheLoader<RemoteSource, Set<Context>>() {
-                @Override
-                public Set<Context> load(RemoteSource key) throws Exception {
-                    ImmutableSet.Builder<Context> builder = ImmutableSet.builder();
-                    final InetAddress addr = checkNotNull(function.apply(key), "addr");
-                    builder.add(new Context(contextKey, addr.getHostAddress()));
-                    for (String set : Maps.filterValues(SpongeImpl.getGlobalConfig().getConfig().getIpSets(), input -> {
-                        return input.apply(addr);
-                    }).keySet()) {
-                        builder.add(new Context(contextKey, set));
-                    }
-                    return builder.build();
-                }
-            });
+
+    private final LoadingCache<RemoteSource, RemoteContexts> remoteCache = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build(new CacheLoader<RemoteSource, RemoteContexts>() {
+            @Override
+            public RemoteContexts load(RemoteSource key) throws Exception {
+                return new RemoteContexts(key, getIpSetTrie());
+            }
+        });
+
+    // Bumped whenever the ip sets of the global config change, other config changes leave the cached contexts alone
+    private static final AtomicInteger ipSetVersion = new AtomicInteger();
+
+    static {
+        SpongeConfig.subscribe("ip-sets", (config, changedKeys) -> {
+            if (config.getType() == SpongeConfig.Type.GLOBAL) {
+                ipSetVersion.incrementAndGet();
+            }
+        });
+    }
+
+    @Nullable private volatile IpSetTrie ipSetTrie;
+    private volatile int ipSetGeneration = -1;
+
+    IpSetTrie getIpSetTrie() {
+        final int generation = ipSetVersion.get();
+        IpSetTrie trie = this.ipSetTrie;
+        if (trie == null || this.ipSetGeneration != generation) {
+            trie = IpSetTrie.compile(SpongeImpl.getGlobalConfig().getConfig().getIpSetDefinitions());
+            this.ipSetTrie = trie;
+            this.ipSetGeneration = generation;
+        }
+        return trie;
+    }
+
+    private RemoteContexts getRemoteContexts(RemoteSource source) {
+        RemoteContexts contexts = this.remoteCache.getUnchecked(source);
+        if (contexts.generation != ipSetVersion.get()) {
+            // The ip sets changed since these contexts were computed
+            contexts = new RemoteContexts(source, getIpSetTrie());
+            this.remoteCache.put(source, contexts);
+        }
+        return contexts;
     }
 
     @Override
@@ -79,18 +104,17 @@ public void accumulateContexts(Subject subject, Set<Context> accumulator) {
         Optional<CommandSource> subjSource = subject.getCommandSource();
         if (subjSource.isPresent()) {
             CommandSource source = subjSource.get();
-            if (source instanceof LocatedSource) {
+            if (source instanceof RemoteSource) {
+                RemoteContexts contexts = getRemoteContexts((RemoteSource) source);
+                if (source instanceof LocatedSource) {
+                    accumulator.addAll(contexts.getWorldContexts(((LocatedSource) source).getWorld()));
+                }
+                accumulator.addAll(contexts.all);
+            } else if (source instanceof LocatedSource) {
                 World currentExt = ((LocatedSource) source).getWorld();
                 accumulator.add(currentExt.getContext());
                 accumulator.add((currentExt.getDimension().getContext()));
             }
-            if (source instanceof RemoteSource) {
-                RemoteSource rem = (RemoteSource) source;
-                accumulator.addAll(this.remoteIpCache.getUnchecked(rem));
-                accumulator.addAll(this.localIpCache.getUnchecked(rem));
-                accumulator.add(new Context(Context.LOCAL_PORT_KEY, String.valueOf(rem.getConnection().getVirtualHost().getPort())));
-                accumulator.add(new Context(Context.LOCAL_HOST_KEY, rem.getConnection().getVirtualHost().getHostName()));
-            }
         }
 
     }
@@ -109,18 +133,77 @@ public boolean matches(Context context, Subject subject) {
                 }
             }
             if (source instanceof RemoteSource) {
-                RemoteSource remote = (RemoteSource) source;
+                RemoteContexts contexts = getRemoteContexts((RemoteSource) source);
                 if (context.getType().equals(Context.LOCAL_HOST_KEY)) {
-                    return context.getValue().equals(remote.getConnection().getVirtualHost().getHostName());
+                    return context.equals(contexts.localHost);
                 } else if (context.getType().equals(Context.LOCAL_PORT_KEY)) {
-                    return context.getValue().equals(String.valueOf(remote.getConnection().getVirtualHost().getPort()));
+                    return context.equals(contexts.localPort);
                 } else if (context.getType().equals(Context.LOCAL_IP_KEY)) {
-                    return this.localIpCache.getUnchecked(remote).contains(context);
+                    return contexts.localIp.contains(context);
                 } else if (context.getType().equals(Context.REMOTE_IP_KEY)) {
-                    return this.remoteIpCache.getUnchecked(remote).contains(context);
+                    return contexts.remoteIp.contains(context);
                 }
             }
         }
         return false;
     }
+
+    private static final class RemoteContexts {
+
+        final int generation = ipSetVersion.get();
+        final ImmutableSet<Context> remoteIp;
+        final ImmutableSet<Context> localIp;
+        final Context localHost;
+        final Context localPort;
+        final ImmutableSet<Context> all;
+        @Nullable private volatile WorldContexts worldContexts;
+
+        RemoteContexts(RemoteSource source, IpSetTrie trie) {
+            final InetSocketAddress virtualHost = source.getConnection().getVirtualHost();
+            this.remoteIp = getAddressContexts(Context.REMOTE_IP_KEY, source.getConnection().getAddress().getAddress(), trie);
+            this.localIp = getAddressContexts(Context.LOCAL_IP_KEY, virtualHost.getAddress(), trie);
+            this.localPort = new Context(Context.LOCAL_PORT_KEY, String.valueOf(virtualHost.getPort()));
+            // getHostString never does a reverse lookup, unlike getHostName
+            this.localHost = new Context(Context.LOCAL_HOST_KEY, virtualHost.getHostString());
+            this.all = ImmutableSet.<Context>builder()
+                .addAll(this.remoteIp)
+                .addAll(this.localIp)
+                .add(this.localPort)
+                .add(this.localHost)
+                .build();
+        }
+
+        private static ImmutableSet<Context> getAddressContexts(String contextKey, @Nullable InetAddress addr, IpSetTrie trie) {
+            if (addr == null) {
+                // Unresolved addresses, such as single player connections
+                return ImmutableSet.of();
+            }
+            ImmutableSet.Builder<Context> builder = ImmutableSet.builder();
+            builder.add(new Context(contextKey, addr.getHostAddress()));
+            for (String set : trie.match(addr)) {
+                builder.add(new Context(contextKey, set));
+            }
+            return builder.build();
+        }
+
+        Set<Context> getWorldContexts(World world) {
+            WorldContexts contexts = this.worldContexts;
+            if (contexts == null || contexts.world != world) {
+                contexts = new WorldContexts(world);
+                this.worldContexts = contexts;
+            }
+            return contexts.contexts;
+        }
+    }
+
+    private static final class WorldContexts {
+
+        final World world;
+        final ImmutableSet<Context> contexts;
+
+        WorldContexts(World world) {
+            this.world = world;
+            this.contexts = ImmutableSet.of(world.getContext(), world.getDimension().getContext());
+        }
+    }
 }
@@ -27,10 +27,10 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.spongepowered.common.util.SpongeCommonTranslationHelper.t;
 
+import co.aikar.timings.TimingsMetricsEndpoint;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalCause;
 import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableList;
 import org.spongepowered.api.text.Text;
@@ -41,53 +41,165 @@
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
 import org.spongepowered.api.command.spec.CommandSpec;
-import org.spongepowered.api.world.Location;
-import org.spongepowered.api.world.World;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
+/**
+ * Hands out ids for {@link Text} click callbacks.
+ *
+ * <p>Callbacks converted while a player's scope is entered are owned by that
+ * player and released as soon as every owner has logged out. Callbacks
+ * converted outside of any scope are pinned and never released that way.
+ * All callbacks expire after ten minutes without use, and the least recently
+ * used ones are dropped once {@link #MAX_CALLBACKS} are registered.</p>
+ */
 public class SpongeCallbackHolder {
     public static final String CALLBACK_COMMAND = "callback";
     public static final String CALLBACK_COMMAND_QUALIFIED = "/sponge:" + CALLBACK_COMMAND;
     private static final SpongeCallbackHolder INSTANCE = new SpongeCallbackHolder();
 
-    private static final ConcurrentMap<UUID, Consumer<CommandSource>> reverseMap = new ConcurrentHashMap<>();
-    private static final LoadingCache<Consumer<CommandSource>, UUID> callbackCache = CacheBuilder.newBuilder().expireAfterAccess(10, TimeUnit.MINUTES)
-            .removalListener(new RemovalListener<Consumer<CommandSource>, UUID>() {
-                @Override
-                public void onRemoval(RemovalNotification<Consumer<CommandSource>, UUID> notification) {
-                    reverseMap.remove(notification.getValue(), notification.getKey());
-                }
-            })
-            .build(new CacheLoader<Consumer<CommandSource>, UUID>() {
-                @Override
-                public UUID load(Consumer<CommandSource> key) throws Exception {
-                    UUID ret = UUID.randomUUID();
-                    reverseMap.putIfAbsent(ret, key);
-                    return ret;
-                }
-            });
+    private static final int MAX_CALLBACKS = 100000;
+
+    static {
+        TimingsMetricsEndpoint.registerSource(INSTANCE::appendMetrics);
+    }
 
+    private final Cache<UUID, Callback> callbacks = CacheBuilder.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .maximumSize(MAX_CALLBACKS)
+            .<UUID, Callback>removalListener(this::onRemoval)
+            .build();
+    private final ConcurrentMap<Consumer<CommandSource>, Callback> ids = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Set<Callback>> scopes = new ConcurrentHashMap<>();
+    private final ThreadLocal<UUID> currentScope = new ThreadLocal<>();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
 
     public static SpongeCallbackHolder getInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Makes callbacks converted on this thread owned by the given player until
+     * {@link #exitScope()} is called.
+     *
+     * @param playerId The unique id of the player receiving the text
+     */
+    public void enterScope(UUID playerId) {
+        this.currentScope.set(checkNotNull(playerId, "playerId"));
+    }
+
+    public void exitScope() {
+        this.currentScope.remove();
+    }
 
     public UUID getOrCreateIdForCallback(Consumer<CommandSource> callback) {
-        return callbackCache.getUnchecked(checkNotNull(callback, "callback"));
+        checkNotNull(callback, "callback");
+        Callback entry = this.ids.get(callback);
+        if (entry == null) {
+            final Callback newEntry = new Callback(UUID.randomUUID(), callback);
+            entry = this.ids.putIfAbsent(callback, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+                this.created.increment();
+            }
+        }
+        // Looking the entry up also counts as an access, so it won't expire while it is still being handed out
+        if (this.callbacks.getIfPresent(entry.id) == null) {
+            this.callbacks.put(entry.id, entry);
+        }
+
+        final UUID scope = this.currentScope.get();
+        synchronized (entry) {
+            if (scope == null) {
+                entry.pinned = true;
+            } else if (entry.owners.add(scope)) {
+                this.scopes.computeIfAbsent(scope, k -> ConcurrentHashMap.newKeySet()).add(entry);
+            }
+        }
+        return entry.id;
     }
 
     public Optional<Consumer<CommandSource>> getCallbackForUUID(UUID id) {
-        return Optional.of(reverseMap.get(id));
+        final Callback entry = this.callbacks.getIfPresent(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.callback);
+    }
+
+    /**
+     * Releases the callbacks owned by a player, except for those still owned
+     * by another player or registered outside of any scope.
+     *
+     * @param playerId The unique id of the player
+     */
+    public void releaseScope(UUID playerId) {
+        final Set<Callback> owned = this.scopes.remove(playerId);
+        if (owned == null) {
+            return;
+        }
+        for (Callback entry : owned) {
+            final boolean release;
+            synchronized (entry) {
+                entry.owners.remove(playerId);
+                release = entry.owners.isEmpty() && !entry.pinned;
+            }
+            if (release) {
+                this.callbacks.invalidate(entry.id);
+            }
+        }
+    }
+
+    public int getCallbackCount() {
+        return (int) this.callbacks.size();
+    }
+
+    public int getScopeCount() {
+        return this.scopes.size();
+    }
+
+    public long getCreatedCount() {
+        return this.created.sum();
+    }
+
+    public long getEvictedCount() {
+        return this.evicted.sum();
+    }
+
+    private void appendMetrics(StringBuilder builder) {
+        builder.append("# TYPE sponge_text_callbacks gauge\n");
+        builder.append("sponge_text_callbacks ").append(getCallbackCount()).append('\n');
+        builder.append("# TYPE sponge_text_callback_scopes gauge\n");
+        builder.append("sponge_text_callback_scopes ").append(getScopeCount()).append('\n');
+        builder.append("# TYPE sponge_text_callbacks_created_total counter\n");
+        builder.append("sponge_text_callbacks_created_total ").append(getCreatedCount()).append('\n');
+        builder.append("# TYPE sponge_text_callbacks_evicted_total counter\n");
+        builder.append("sponge_text_callbacks_evicted_total ").append(getEvictedCount()).append('\n');
+    }
+
+    private void onRemoval(RemovalNotification<UUID, Callback> notification) {
+        if (notification.getCause() == RemovalCause.REPLACED) {
+            return;
+        }
+        if (notification.wasEvicted()) {
+            this.evicted.increment();
+        }
+        final Callback entry = notification.getValue();
+        this.ids.remove(entry.callback, entry);
+        synchronized (entry) {
+            for (UUID owner : entry.owners) {
+                this.scopes.computeIfPresent(owner, (k, owned) -> owned.remove(entry) && owned.isEmpty() ? null : owned);
+            }
+        }
     }
 
     public CommandSpec createCommand() {
@@ -112,7 +224,7 @@ protected Object parseValue(CommandSource source, CommandArgs args) throws Argum
             final String next = args.next();
             try {
                 UUID id = UUID.fromString(next);
-                Consumer<CommandSource> ret = reverseMap.get(id);
+                Consumer<CommandSource> ret = getCallbackForUUID(id).orElse(null);
                 if (ret == null) {
                     throw args.createError(t("The callback you provided was not valid. Keep in mind that callbacks will expire after 10 minutes, so"
                             + " you might want to consider clicking faster next time!"));
@@ -128,4 +240,18 @@ public List<String> complete(CommandSource src, CommandArgs args, CommandContext
             return ImmutableList.of();
         }
     }
+
+    private static final class Callback {
+
+        final UUID id;
+        final Consumer<CommandSource> callback;
+        // Guarded by the entry itself
+        final Set<UUID> owners = new HashSet<>(2);
+        boolean pinned;
+
+        Callback(UUID id, Consumer<CommandSource> callback) {
+            this.id = id;
+            this.callback = callback;
+        }
+    }
 }
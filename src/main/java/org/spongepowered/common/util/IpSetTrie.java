@@ -0,0 +1,137 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.net.InetAddress;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A binary radix trie over the prefixes of a group of named {@link IpSet}s.
+ *
+ * <p>Matching an address walks its bits once, instead of testing every
+ * configured set. A named set matches when all of its entries match, the
+ * same as {@link org.spongepowered.common.config.SpongeConfig.GlobalConfig#getIpSets()}.</p>
+ */
+public final class IpSetTrie {
+
+    private final Node ipv4Root = new Node();
+    private final Node ipv6Root = new Node();
+    private final String[] names;
+    private final int[] requiredMatches;
+
+    private IpSetTrie(int size) {
+        this.names = new String[size];
+        this.requiredMatches = new int[size];
+    }
+
+    public static IpSetTrie compile(Map<String, ? extends Collection<IpSet>> ipSets) {
+        checkNotNull(ipSets, "ipSets");
+        IpSetTrie trie = new IpSetTrie(ipSets.size());
+        int index = 0;
+        for (Map.Entry<String, ? extends Collection<IpSet>> entry : ipSets.entrySet()) {
+            trie.names[index] = entry.getKey();
+            for (IpSet set : entry.getValue()) {
+                trie.insert(set.getAddress().getAddress(), set.getPrefixLength(), index);
+                trie.requiredMatches[index]++;
+            }
+            index++;
+        }
+        return trie;
+    }
+
+    private void insert(byte[] address, int prefixLength, int index) {
+        Node node = address.length == 4 ? this.ipv4Root : this.ipv6Root;
+        for (int bit = 0; bit < prefixLength; bit++) {
+            if (isSet(address, bit)) {
+                if (node.one == null) {
+                    node.one = new Node();
+                }
+                node = node.one;
+            } else {
+                if (node.zero == null) {
+                    node.zero = new Node();
+                }
+                node = node.zero;
+            }
+        }
+        node.addTerminal(index);
+    }
+
+    /**
+     * Gets the names of all sets the given address belongs to.
+     *
+     * @param address The address to match
+     * @return The names of the matching sets
+     */
+    public ImmutableSet<String> match(InetAddress address) {
+        final byte[] bytes = checkNotNull(address, "address").getAddress();
+        final int[] matches = new int[this.names.length];
+        Node node = bytes.length == 4 ? this.ipv4Root : this.ipv6Root;
+        final int length = bytes.length << 3;
+        for (int bit = 0; node != null; bit++) {
+            for (int terminal : node.terminals) {
+                matches[terminal]++;
+            }
+            if (bit == length) {
+                break;
+            }
+            node = isSet(bytes, bit) ? node.one : node.zero;
+        }
+
+        ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        for (int i = 0; i < this.names.length; i++) {
+            // Sets without any entries always match, as Predicates.and() does
+            if (matches[i] == this.requiredMatches[i]) {
+                builder.add(this.names[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    private static boolean isSet(byte[] address, int bit) {
+        return ((address[bit >> 3] >> (7 - (bit & 7))) & 1) != 0;
+    }
+
+    private static final class Node {
+
+        private static final int[] NO_TERMINALS = new int[0];
+
+        Node zero;
+        Node one;
+        int[] terminals = NO_TERMINALS;
+
+        void addTerminal(int index) {
+            int[] expanded = new int[this.terminals.length + 1];
+            System.arraycopy(this.terminals, 0, expanded, 0, this.terminals.length);
+            expanded[this.terminals.length] = index;
+            this.terminals = expanded;
+        }
+    }
+}
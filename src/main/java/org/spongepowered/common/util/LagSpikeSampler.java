@@ -0,0 +1,269 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import co.aikar.timings.TimingsManager;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.tileentity.TileEntity;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.event.CauseTracker;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Watches the length of each server tick and, once a tick runs past the
+ * configured threshold, samples the server thread's stack until the tick
+ * completes. Every spike is written to its own report in the collapsed stack
+ * format understood by flame graph tools, headed by the timings and
+ * {@link CauseTracker} state seen when the spike was detected.
+ */
+public final class LagSpikeSampler {
+
+    private static final long MIN_REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+    private static final int MAX_STACK_DEPTH = 256;
+
+    // Only touched by the server thread, the sampler reads the published tick instead
+    private static int tickCounter;
+    @Nullable private static volatile Tick currentTick;
+    @Nullable private static volatile Spike activeSpike;
+    @Nullable private static Thread serverThread;
+    @Nullable private static Thread samplerThread;
+    private static final ConcurrentLinkedQueue<Spike> completedSpikes = new ConcurrentLinkedQueue<>();
+
+    private LagSpikeSampler() {
+    }
+
+    /**
+     * Called from the server thread at the start of every tick.
+     */
+    public static void onTickStart() {
+        if (getDebug().getLagSpikeThreshold() <= 0) {
+            return;
+        }
+        if (samplerThread == null) {
+            start();
+        }
+        currentTick = new Tick(++tickCounter, System.nanoTime());
+    }
+
+    /**
+     * Called from the server thread at the end of every tick.
+     */
+    public static void onTickEnd() {
+        Tick tick = currentTick;
+        if (tick == null) {
+            return;
+        }
+        currentTick = null;
+        Spike spike = activeSpike;
+        if (spike != null && spike.tickId == tick.id) {
+            activeSpike = null;
+            spike.complete(System.nanoTime() - tick.start);
+            completedSpikes.add(spike);
+        }
+    }
+
+    private static void start() {
+        serverThread = Thread.currentThread();
+        samplerThread = new Thread(LagSpikeSampler::run, "Sponge Lag Spike Sampler");
+        samplerThread.setDaemon(true);
+        samplerThread.start();
+    }
+
+    private static SpongeConfig.DebugCategory getDebug() {
+        return SpongeImpl.getGlobalConfig().getConfig().getDebug();
+    }
+
+    private static void run() {
+        long lastReport = System.nanoTime() - MIN_REPORT_INTERVAL;
+        while (true) {
+            int interval = Math.max(1, getDebug().getLagSpikeSampleInterval());
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            Spike completed;
+            while ((completed = completedSpikes.poll()) != null) {
+                write(completed);
+            }
+
+            long threshold = TimeUnit.MILLISECONDS.toNanos(getDebug().getLagSpikeThreshold());
+            // Read the start and id together, so a spike is never attributed to the next tick
+            Tick tick = currentTick;
+            if (threshold <= 0 || tick == null) {
+                continue;
+            }
+            long now = System.nanoTime();
+            if (now - tick.start < threshold) {
+                continue;
+            }
+
+            int id = tick.id;
+            Spike spike = activeSpike;
+            if (spike == null || spike.tickId != id) {
+                if (now - lastReport < MIN_REPORT_INTERVAL) {
+                    continue;
+                }
+                lastReport = now;
+                spike = new Spike(id, threshold, interval);
+                activeSpike = spike;
+            }
+            spike.sample(serverThread.getStackTrace());
+        }
+    }
+
+    private static void write(Spike spike) {
+        Path dir = SpongeImpl.getGameDir().resolve("debug").resolve("lag-spikes");
+        String date = new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss.SSS").format(new Date(spike.detectedAt));
+        Path file = dir.resolve("spike-" + date + "-" + TimeUnit.NANOSECONDS.toMillis(spike.duration) + "ms.txt");
+        try {
+            Files.createDirectories(dir);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                spike.writeTo(writer);
+            }
+            SpongeImpl.getLogger().warn("Tick took {}ms, wrote lag spike report to {}", TimeUnit.NANOSECONDS.toMillis(spike.duration), file);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not write lag spike report to " + file, e);
+        }
+    }
+
+    private static String describeBlock(BlockSnapshot snapshot) {
+        return snapshot.getState().getType().getId() + " at " + snapshot.getPosition();
+    }
+
+    private static String describeEntity(Entity entity) {
+        return entity.getClass().getName() + " at " + ((net.minecraft.entity.Entity) entity).getPosition();
+    }
+
+    private static String describeTileEntity(TileEntity tileEntity) {
+        return tileEntity.getClass().getName() + " at " + ((net.minecraft.tileentity.TileEntity) tileEntity).getPos();
+    }
+
+    private static final class Tick {
+
+        final int id;
+        final long start;
+
+        Tick(int id, long start) {
+            this.id = id;
+            this.start = start;
+        }
+    }
+
+    private static final class Spike {
+
+        final int tickId;
+        final long threshold;
+        final int interval;
+        final long detectedAt = System.currentTimeMillis();
+        final List<String> timingStack;
+        final List<String> trackerState = new ArrayList<>();
+        private final Map<String, Integer> stacks = new HashMap<>();
+        private int samples;
+        long duration;
+
+        Spike(int tickId, long threshold, int interval) {
+            this.tickId = tickId;
+            this.threshold = threshold;
+            this.interval = interval;
+            // Both reads race the server thread, which is acceptable for a diagnostic
+            this.timingStack = TimingsManager.getTimingStack();
+            WorldServer[] worlds = MinecraftServer.getServer().worldServers;
+            if (worlds != null) {
+                for (WorldServer world : worlds) {
+                    if (world == null) {
+                        continue;
+                    }
+                    CauseTracker causeTracker = ((IMixinWorld) world).getCauseTracker();
+                    StringBuilder state = new StringBuilder(world.getWorldInfo().getWorldName());
+                    causeTracker.getCurrentTickBlock().ifPresent(block -> state.append(", block ").append(describeBlock(block)));
+                    causeTracker.getCurrentTickEntity().ifPresent(entity -> state.append(", entity ").append(describeEntity(entity)));
+                    causeTracker.getCurrentTickTileEntity().ifPresent(tile -> state.append(", tile entity ").append(describeTileEntity(tile)));
+                    this.trackerState.add(state.toString());
+                }
+            }
+        }
+
+        synchronized void sample(StackTraceElement[] trace) {
+            if (trace.length == 0) {
+                return;
+            }
+            // Collapsed stacks go from the root to the leaf. Deep stacks keep their roots so
+            // samples still merge with the shallower ones, and lose their innermost frames instead
+            StringBuilder collapsed = new StringBuilder();
+            for (int i = trace.length - 1; i >= Math.max(0, trace.length - MAX_STACK_DEPTH); i--) {
+                if (collapsed.length() > 0) {
+                    collapsed.append(';');
+                }
+                collapsed.append(trace[i].getClassName()).append('.').append(trace[i].getMethodName());
+            }
+            this.stacks.merge(collapsed.toString(), 1, Integer::sum);
+            this.samples++;
+        }
+
+        synchronized void complete(long duration) {
+            this.duration = duration;
+        }
+
+        synchronized void writeTo(BufferedWriter writer) throws IOException {
+            writer.write("# Tick took " + TimeUnit.NANOSECONDS.toMillis(this.duration) + "ms (threshold "
+                    + TimeUnit.NANOSECONDS.toMillis(this.threshold) + "ms)");
+            writer.newLine();
+            writer.write("# " + this.samples + " samples taken every " + this.interval + "ms");
+            writer.newLine();
+            writer.write("# Timings: " + String.join(" < ", this.timingStack));
+            writer.newLine();
+            for (String state : this.trackerState) {
+                writer.write("# World " + state);
+                writer.newLine();
+            }
+            for (Map.Entry<String, Integer> entry : this.stacks.entrySet()) {
+                writer.write(entry.getKey() + " " + entry.getValue());
+                writer.newLine();
+            }
+        }
+    }
+}
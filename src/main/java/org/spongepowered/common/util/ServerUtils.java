@@ -28,15 +28,19 @@
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.MinecraftException;
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.ThreadedFileIOBase;
 import net.minecraft.world.storage.WorldInfo;
-import org.apache.commons.io.FileUtils;
 import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
@@ -44,15 +48,30 @@
 import org.spongepowered.common.world.DimensionManager;
 
 import java.io.File;
-import java.io.FileFilter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ServerUtils {
 
     private static final ListeningExecutorService executor = SpongeScheduler.getInstance().getListeningExecService();
+    // Individual files are copied and deleted here, the tasks above only wait on them
+    private static final ListeningExecutorService fileExecutor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(
+            Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors())),
+            new ThreadFactoryBuilder().setNameFormat("Sponge World IO #%d").setDaemon(true).build()));
 
     public static ListenableFuture<Optional<WorldProperties>> copyWorld(MinecraftServer server, WorldProperties worldProperties, String copyName) {
         checkArgument(WorldPropertyRegistryModule.getInstance().isWorldRegistered(worldProperties.getUniqueId()), "World properties not registered");
@@ -62,12 +81,21 @@ public static ListenableFuture<Optional<WorldProperties>> copyWorld(MinecraftSer
         if (world != null) {
             try {
                 world.saveAllChunks(true, null);
-            } catch (MinecraftException e) {
+                // Chunks are written by the file IO thread, wait for it so no region file is copied half written
+                ThreadedFileIOBase.getThreadedIOInstance().waitForFinish();
+            } catch (MinecraftException | InterruptedException e) {
                 Throwables.propagate(e);
             }
             ((IMixinMinecraftServer) server).setSaveEnabled(false);
         }
-        ListenableFuture<Optional<WorldProperties>> future = executor.submit(new CopyWorldTask(info, copyName));
+        WorldCopyFuture future = new WorldCopyFuture();
+        executor.execute(() -> {
+            try {
+                future.set(new CopyWorldTask(info, copyName, future).call());
+            } catch (Throwable t) {
+                future.setException(t);
+            }
+        });
         if (world != null) { // World was loaded
             future.addListener(() -> {
                 ((IMixinMinecraftServer) server).setSaveEnabled(true);
@@ -82,14 +110,66 @@ public static ListenableFuture<Boolean> deleteWorld(WorldProperties worldPropert
         return executor.submit(new DeleteWorldTask(worldProperties));
     }
 
+    /**
+     * The future returned by {@link #copyWorld}, which can be queried for the
+     * progress of the copy while it runs.
+     */
+    public static final class WorldCopyFuture extends AbstractFuture<Optional<WorldProperties>> {
+
+        final AtomicLong copiedBytes = new AtomicLong();
+        volatile long totalBytes = -1;
+
+        WorldCopyFuture() {
+        }
+
+        @Override
+        protected boolean set(Optional<WorldProperties> value) {
+            return super.set(value);
+        }
+
+        @Override
+        protected boolean setException(Throwable throwable) {
+            return super.setException(throwable);
+        }
+
+        public long getCopiedBytes() {
+            return this.copiedBytes.get();
+        }
+
+        /**
+         * Gets the size of the world being copied, or -1 while the world
+         * directory is still being scanned.
+         *
+         * @return The total bytes to copy
+         */
+        public long getTotalBytes() {
+            return this.totalBytes;
+        }
+
+        /**
+         * Gets the fraction of the world copied so far, from 0 to 1.
+         *
+         * @return The progress of the copy
+         */
+        public double getProgress() {
+            if (isDone()) {
+                return 1;
+            }
+            final long total = this.totalBytes;
+            return total <= 0 ? 0 : Math.min(1, this.copiedBytes.get() / (double) total);
+        }
+    }
+
     private static class CopyWorldTask implements Callable<Optional<WorldProperties>> {
 
         private final WorldInfo oldInfo;
         private final String newName;
+        private final WorldCopyFuture progress;
 
-        public CopyWorldTask(WorldInfo info, String newName) {
+        public CopyWorldTask(WorldInfo info, String newName, WorldCopyFuture progress) {
             this.oldInfo = info;
             this.newName = newName;
+            this.progress = progress;
         }
 
         @Override
@@ -98,21 +178,30 @@ public Optional<WorldProperties> call() throws Exception {
             if (rootDir == null) {
                 return Optional.empty();
             }
-            File oldDir = new File(rootDir, this.oldInfo.getWorldName());
-            File newDir = new File(rootDir, this.newName);
+            Path oldDir = rootDir.toPath().resolve(this.oldInfo.getWorldName());
+            Path newDir = rootDir.toPath().resolve(this.newName);
 
-            if (newDir.exists()) {
+            if (Files.exists(newDir)) {
                 return Optional.empty();
             }
 
-            FileFilter filter = null;
-            if (((IMixinWorldInfo) this.oldInfo).getDimensionId() == 0) {
-                oldDir = rootDir;
-                filter = (file) -> !file.isDirectory() || !new File(file, "level.dat").exists();
+            // The overworld lives in the save root, next to the directories of the other worlds
+            final boolean skipWorlds = ((IMixinWorldInfo) this.oldInfo).getDimensionId() == 0;
+            if (skipWorlds) {
+                oldDir = rootDir.toPath();
             }
             try {
-                FileUtils.copyDirectory(oldDir, newDir, filter);
+                copyFiles(oldDir, newDir, skipWorlds);
+            } catch (CancellationException e) {
+                deleteQuietly(newDir);
+                return Optional.empty();
             } catch (IOException e) {
+                SpongeImpl.getLogger().error("Could not copy world " + this.oldInfo.getWorldName() + " to " + this.newName, e);
+                deleteQuietly(newDir);
+                return Optional.empty();
+            }
+            if (this.progress.isCancelled()) {
+                deleteQuietly(newDir);
                 return Optional.empty();
             }
 
@@ -127,6 +216,83 @@ public Optional<WorldProperties> call() throws Exception {
             return Optional.of((WorldProperties) info);
         }
 
+        private void copyFiles(Path oldDir, Path newDir, boolean skipWorlds) throws Exception {
+            final List<Path> files = new ArrayList<>();
+            final long[] totalBytes = new long[1];
+            Files.walkFileTree(oldDir, new SimpleFileVisitor<Path>() {
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (CopyWorldTask.this.progress.isCancelled()) {
+                        return FileVisitResult.TERMINATE;
+                    }
+                    // When copying the overworld the copy is created inside the directory being walked
+                    if (dir.equals(newDir)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (skipWorlds && !dir.equals(oldDir) && Files.exists(dir.resolve("level.dat"))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    Files.createDirectories(newDir.resolve(oldDir.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    files.add(file);
+                    totalBytes[0] += attrs.size();
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            this.progress.totalBytes = totalBytes[0];
+
+            // Region files make up most of a world, so copying them side by side is where the time is saved
+            final List<ListenableFuture<Void>> copies = new ArrayList<>(files.size());
+            for (Path file : files) {
+                copies.add(fileExecutor.submit(() -> {
+                    copyFile(file, newDir.resolve(oldDir.relativize(file)));
+                    return null;
+                }));
+            }
+            // Cancelling the copy stops the copies still waiting in the queue and interrupts the running ones
+            this.progress.addListener(() -> {
+                if (this.progress.isCancelled()) {
+                    cancelAll(copies, true);
+                }
+            }, MoreExecutors.sameThreadExecutor());
+            final ListenableFuture<List<Void>> all = Futures.allAsList(copies);
+            try {
+                all.get();
+            } catch (Exception e) {
+                cancelAll(copies, false);
+                Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+                throw e;
+            }
+        }
+
+        private static void cancelAll(List<? extends ListenableFuture<?>> futures, boolean mayInterrupt) {
+            for (ListenableFuture<?> future : futures) {
+                future.cancel(mayInterrupt);
+            }
+        }
+
+        private void copyFile(Path source, Path target) throws IOException {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+                final long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    final long transferred = in.transferTo(position, size - position, out);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                    this.progress.copiedBytes.addAndGet(transferred);
+                }
+            }
+            Files.setLastModifiedTime(target, Files.getLastModifiedTime(source));
+        }
+
     }
 
     private static class DeleteWorldTask implements Callable<Boolean> {
@@ -143,9 +309,9 @@ public Boolean call() throws Exception {
             if (rootDir == null) {
                 return false;
             }
-            File dir = new File(rootDir, this.props.getWorldName());
+            Path dir = rootDir.toPath().resolve(this.props.getWorldName());
             try {
-                FileUtils.deleteDirectory(dir);
+                delete(dir);
                 WorldPropertyRegistryModule.getInstance().unregister(this.props);
                 return true;
             } catch (IOException e) {
@@ -155,4 +321,55 @@ public Boolean call() throws Exception {
 
     }
 
+    static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        final List<Path> files = new ArrayList<>();
+        final List<Path> dirs = new ArrayList<>();
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                files.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                if (exc != null) {
+                    throw exc;
+                }
+                dirs.add(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        final List<ListenableFuture<Void>> deletes = new ArrayList<>(files.size());
+        for (Path file : files) {
+            deletes.add(fileExecutor.submit(() -> {
+                Files.delete(file);
+                return null;
+            }));
+        }
+        try {
+            Futures.allAsList(deletes).get();
+        } catch (Exception e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+            throw new IOException(e);
+        }
+        // Directories were visited children first, so each is empty by the time it is removed
+        for (Path path : dirs) {
+            Files.delete(path);
+        }
+    }
+
+    private static void deleteQuietly(Path dir) {
+        try {
+            delete(dir);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not clean up " + dir, e);
+        }
+    }
+
 }
@@ -54,6 +54,7 @@
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.ActiveConfig;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.SpongeConfig.DimensionConfig;
 import org.spongepowered.common.config.SpongeConfig.WorldConfig;
@@ -62,7 +63,6 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
-import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.registry.type.world.DimensionRegistryModule;
 import org.spongepowered.common.world.CaptureType;
 
@@ -105,13 +105,21 @@ public static void logStack(SpongeConfig<?> config) {
         }
     }
 
+    public static void logStack(ActiveConfig config) {
+        if (config.logStackTraces()) {
+            Throwable ex = new Throwable();
+            ex.fillInStackTrace();
+            ex.printStackTrace();
+        }
+    }
+
     public static void logEntityDeath(Entity entity) {
         if (entity == null || entity.worldObj.isRemote) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDeathLogging()) {
+        ActiveConfig config = getActiveConfigSnapshot(entity.worldObj);
+        if (config.logEntityDeath()) {
             logInfo("Dim: {0} setDead(): {1}",
                     entity.worldObj.provider.getDimensionId(), entity);
             logStack(config);
@@ -123,8 +131,8 @@ public static void logEntityDespawn(Entity entity, String reason) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDespawnLogging()) {
+        ActiveConfig config = getActiveConfigSnapshot(entity.worldObj);
+        if (config.logEntityDespawn()) {
             logInfo("Dim: {0} Despawning ({1}): {2}", entity.worldObj.provider.getDimensionId(), reason, entity);
             logStack(config);
         }
@@ -135,14 +143,14 @@ public static void logEntitySpawn(Cause cause, Entity entity) {
             return;
         }
 
-        String spawnName = entity.getName();
-        if (entity instanceof EntityItem) {
-            spawnName = ((EntityItem) entity).getEntityItem().getDisplayName();
-        }
+        ActiveConfig config = getActiveConfigSnapshot(entity.worldObj);
+        if (config.logEntitySpawn()) {
+            String spawnName = entity.getName();
+            if (entity instanceof EntityItem) {
+                spawnName = ((EntityItem) entity).getEntityItem().getDisplayName();
+            }
 
-        Optional<User> user = cause.first(User.class);
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entitySpawnLogging()) {
+            Optional<User> user = cause.first(User.class);
             logInfo("SPAWNED " + spawnName + " [RootCause: {0}][User: {1}][World: {2}][DimId: {3}]",
                     getFriendlyCauseName(cause),
                     user.isPresent() ? user.get().getName() : "None",
@@ -157,15 +165,15 @@ public static void logBlockTrack(World world, Block block, BlockPos pos, User us
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().blockTrackLogging() && allowed) {
+        ActiveConfig config = getActiveConfigSnapshot(world);
+        if (config.logBlockTracking() && allowed) {
             logInfo("Tracking Block " + "[RootCause: {0}][World: {1}][Block: {2}][Pos: {3}]",
                     user.getName(),
                     world.getWorldInfo().getWorldName() + "(" + world.provider.getDimensionId() + ")",
                     ((BlockType) block).getId(),
                     pos);
             logStack(config);
-        } else if (config.getConfig().getLogging().blockTrackLogging() && !allowed) {
+        } else if (config.logBlockTracking() && !allowed) {
             logInfo("Blacklisted! Unable to track Block " + "[RootCause: {0}][World: {1}][DimId: {2}][Block: {3}][Pos: {4}]",
                     user.getName(),
                     world.getWorldInfo().getWorldName(),
@@ -180,14 +188,12 @@ public static void logBlockAction(Cause cause, World world, CaptureType type, Tr
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
-        Optional<User> user = cause.first(User.class);
-        SpongeConfig.LoggingCategory logging = config.getConfig().getLogging();
-        if (logging.blockBreakLogging() && type == CaptureType.BREAK
-            || logging.blockModifyLogging() && type == CaptureType.MODIFY
-            || logging.blockPlaceLogging() && type == CaptureType.PLACE
-            || logging.blockPopulateLogging() && type == CaptureType.POPULATE) {
-
+        ActiveConfig config = getActiveConfigSnapshot(world);
+        if (config.logBlockBreak() && type == CaptureType.BREAK
+            || config.logBlockModify() && type == CaptureType.MODIFY
+            || config.logBlockPlace() && type == CaptureType.PLACE
+            || config.logBlockPopulate() && type == CaptureType.POPULATE) {
+            Optional<User> user = cause.first(User.class);
             logInfo("Block " + type.name() + " [RootCause: {0}][User: {1}][World: {2}][DimId: {3}][OriginalState: {4}][NewState: {5}]",
                     getFriendlyCauseName(cause),
                     user.isPresent() ? user.get().getName() : "None",
@@ -204,8 +210,8 @@ public static void logChunkLoad(World world, Vector3i chunkPos) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkLoadLogging()) {
+        ActiveConfig config = getActiveConfigSnapshot(world);
+        if (config.logChunkLoad()) {
             logInfo("Load Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
@@ -217,8 +223,8 @@ public static void logChunkUnload(World world, Vector3i chunkPos) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkUnloadLogging()) {
+        ActiveConfig config = getActiveConfigSnapshot(world);
+        if (config.logChunkUnload()) {
             logInfo("Unload Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
@@ -230,8 +236,8 @@ public static void logExploitSignCommandUpdates(EntityPlayer player, TileEntity
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(player.worldObj);
-        if (config.getConfig().getLogging().logExploitSignCommandUpdates) {
+        ActiveConfig config = getActiveConfigSnapshot(player.worldObj);
+        if (config.logExploitSignCommandUpdates()) {
             logInfo("[EXPLOIT] Player ''{0}'' attempted to exploit sign in world ''{1}'' located at ''{2}'' with command ''{3}''",
                     player.getName(),
                     te.getWorld().getWorldInfo().getWorldName(),
@@ -246,8 +252,8 @@ public static void logExploitItemNameOverflow(EntityPlayer player, int length) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(player.worldObj);
-        if (config.getConfig().getLogging().logExploitItemStackNameOverflow) {
+        ActiveConfig config = getActiveConfigSnapshot(player.worldObj);
+        if (config.logExploitItemStackNameOverflow()) {
             logInfo("[EXPLOIT] Player ''{0}'' attempted to send a creative itemstack update with a display name length of ''{1}'' (Max allowed length is 32767). This has been blocked to avoid server overflow.",
                     player.getName(),
                     length);
@@ -260,8 +266,8 @@ public static void logExploitRespawnInvisibility(EntityPlayer player) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(player.worldObj);
-        if (config.getConfig().getLogging().logExploitRespawnInvisibility) {
+        ActiveConfig config = getActiveConfigSnapshot(player.worldObj);
+        if (config.logExploitRespawnInvisibility()) {
             logInfo("[EXPLOIT] Player ''{0}'' attempted to perform a respawn invisibility exploit to surrounding players.",
                     player.getName());
             logStack(config);
@@ -280,12 +286,12 @@ public static boolean checkBoundingBoxSize(Entity entity, AxisAlignedBB aabb) {
             return false;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
         if (!(entity instanceof EntityLivingBase) || entity instanceof EntityPlayer) {
             return false; // only check living entities that are not players
         }
 
-        int maxBoundingBoxSize = config.getConfig().getEntity().getMaxBoundingBoxSize();
+        ActiveConfig config = getActiveConfigSnapshot(entity.worldObj);
+        int maxBoundingBoxSize = config.getMaxBoundingBoxSize();
         if (maxBoundingBoxSize <= 0) {
             return false;
         }
@@ -319,12 +325,12 @@ public static boolean checkEntitySpeed(Entity entity, double x, double y, double
             return false;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        int maxSpeed = config.getConfig().getEntity().getMaxSpeed();
+        ActiveConfig config = getActiveConfigSnapshot(entity.worldObj);
+        int maxSpeed = config.getMaxSpeed();
         if (maxSpeed > 0) {
             double distance = x * x + z * z;
             if (distance > maxSpeed) {
-                if (config.getConfig().getLogging().logEntitySpeedRemoval()) {
+                if (config.logEntitySpeedRemoval()) {
                     logInfo("Speed violation: {0} was over {1} - Removing Entity: {2}", distance, maxSpeed, entity);
                     if (entity instanceof EntityLivingBase) {
                         EntityLivingBase livingBase = (EntityLivingBase) entity;
@@ -334,7 +340,7 @@ public static boolean checkEntitySpeed(Entity entity, double x, double y, double
                                 livingBase.moveStrafing, livingBase.moveForward);
                     }
 
-                    if (config.getConfig().getLogging().logWithStackTraces()) {
+                    if (config.logStackTraces()) {
                         logInfo("Move offset: ({0}, {1}, {2})", x, y, z);
                         logInfo("Motion: ({0}, {1}, {2})", entity.motionX, entity.motionY, entity.motionZ);
                         logInfo("Entity: {0}", entity);
@@ -365,11 +371,11 @@ public static void logEntitySize(Entity entity, List list) {
             return;
         }
 
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (!config.getConfig().getLogging().logEntityCollisionChecks()) {
+        ActiveConfig config = getActiveConfigSnapshot(entity.worldObj);
+        if (!config.logEntityCollisionChecks()) {
             return;
         }
-        int collisionWarnSize = config.getConfig().getEntity().getMaxCollisionSize();
+        int collisionWarnSize = config.getMaxCollisionSize();
 
         if (list == null) {
             return;
@@ -440,15 +446,19 @@ public static void enableThreadContentionMonitoring() {
     }
 
     public static SpongeConfig<?> getActiveConfig(World world) {
-        final SpongeConfig<WorldConfig> worldConfig = ((IMixinWorld) world).getWorldConfig();
-        final SpongeConfig<DimensionConfig> dimensionConfig = ((IMixinWorldProvider) world.provider).getDimensionConfig();
-        if (worldConfig != null && worldConfig.getConfig().isConfigEnabled()) {
-            return worldConfig;
-        } else if (dimensionConfig != null && dimensionConfig.getConfig().isConfigEnabled()) {
-            return ((IMixinWorldProvider) world.provider).getDimensionConfig();
-        } else {
-            return SpongeImpl.getGlobalConfig();
-        }
+        return ((IMixinWorld) world).getActiveConfig().getConfig();
+    }
+
+    /**
+     * Gets the resolved configuration snapshot of a world. The snapshot is
+     * cached by the world and only rebuilt after a config was reloaded or
+     * saved.
+     *
+     * @param world The world
+     * @return The active config snapshot
+     */
+    public static ActiveConfig getActiveConfigSnapshot(World world) {
+        return ((IMixinWorld) world).getActiveConfig();
     }
 
     public static SpongeConfig<?> getActiveConfig(String dimensionType, String worldFolder) {
@@ -494,20 +504,20 @@ public static SpongeConfig<?> getActiveConfig(String dimensionType, String world
             }
         }
 
-        // No in-memory config objects, lookup from disk.
+        // No in-memory config objects, lookup from disk. Files are only parsed the first time they are requested.
         final Path dimFolderPath = SpongeImpl.getSpongeConfigDir().resolve("worlds").resolve(dimensionType);
         final Path dimConfPath = dimFolderPath.resolve("dimension.conf");
 
         if (worldFolder != null) {
             final Path worldConfPath = dimFolderPath.resolve(worldFolder).resolve("world.conf");
 
-            final SpongeConfig<WorldConfig> worldConfig = new SpongeConfig<>(SpongeConfig.Type.WORLD, worldConfPath, SpongeImpl.ECOSYSTEM_ID);
+            final SpongeConfig<WorldConfig> worldConfig = SpongeConfig.getDiskConfig(SpongeConfig.Type.WORLD, worldConfPath, SpongeImpl.ECOSYSTEM_ID);
             if (worldConfig.getConfig().isConfigEnabled()) {
                 return worldConfig;
             }
         }
 
-        final SpongeConfig<DimensionConfig> dimConfig = new SpongeConfig<>(SpongeConfig.Type.DIMENSION, dimConfPath, SpongeImpl.ECOSYSTEM_ID);
+        final SpongeConfig<DimensionConfig> dimConfig = SpongeConfig.getDiskConfig(SpongeConfig.Type.DIMENSION, dimConfPath, SpongeImpl.ECOSYSTEM_ID);
         if (dimConfig.getConfig().isConfigEnabled()) {
             return dimConfig;
         }
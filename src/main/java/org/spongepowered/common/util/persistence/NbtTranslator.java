@@ -51,6 +51,8 @@
 import org.spongepowered.api.data.translator.DataTranslator;
 import org.spongepowered.common.data.util.NbtDataUtil;
 
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -82,8 +84,9 @@ private static void containerToCompound(final DataView container, final NBTTagCo
             Object value = entry.getValue();
             String key = entry.getKey().asString('.');
             if (value instanceof DataView) {
+                // The value is already the child view, no need to look it up again
                 NBTTagCompound inner = new NBTTagCompound();
-                containerToCompound(container.getView(entry.getKey()).get(), inner);
+                containerToCompound((DataView) value, inner);
                 compound.setTag(key, inner);
             } else if (value instanceof Boolean) {
                 compound.setTag(key + BOOLEAN_IDENTIFER, new NBTTagByte(((Boolean) value) ? (byte) 1 : 0));
@@ -166,6 +169,161 @@ private static NBTBase getBaseFromObject(Object value) {
         throw new IllegalArgumentException("Unable to translate object to NBTBase!");
     }
 
+    private static void writeCompoundPayload(final DataView container, final DataOutput output) throws IOException {
+        for (Map.Entry<DataQuery, Object> entry : container.getValues(false).entrySet()) {
+            Object value = entry.getValue();
+            String key = entry.getKey().asString('.');
+            if (value instanceof Boolean) {
+                writeNamedTag(key + BOOLEAN_IDENTIFER, value, NbtDataUtil.TAG_BYTE, output);
+            } else {
+                writeNamedTag(key, value, getTagType(value), output);
+            }
+        }
+        output.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    private static void writeNamedTag(String key, Object value, byte type, DataOutput output) throws IOException {
+        output.writeByte(type);
+        output.writeUTF(key);
+        writePayload(value, type, output);
+    }
+
+    private static byte getTagType(Object value) {
+        checkNotNull(value);
+        if (value instanceof Boolean || value instanceof Byte) {
+            return NbtDataUtil.TAG_BYTE;
+        } else if (value instanceof Short) {
+            return NbtDataUtil.TAG_SHORT;
+        } else if (value instanceof Integer) {
+            return NbtDataUtil.TAG_INT;
+        } else if (value instanceof Long) {
+            return NbtDataUtil.TAG_LONG;
+        } else if (value instanceof Float) {
+            return NbtDataUtil.TAG_FLOAT;
+        } else if (value instanceof Double) {
+            return NbtDataUtil.TAG_DOUBLE;
+        } else if (value instanceof String) {
+            return NbtDataUtil.TAG_STRING;
+        } else if (value instanceof byte[] || value instanceof Byte[]) {
+            return NbtDataUtil.TAG_BYTE_ARRAY;
+        } else if (value instanceof int[] || value instanceof Integer[]) {
+            return NbtDataUtil.TAG_INT_ARRAY;
+        } else if (value instanceof List) {
+            return NbtDataUtil.TAG_LIST;
+        } else if (value instanceof Map || value instanceof DataSerializable || value instanceof DataView) {
+            return NbtDataUtil.TAG_COMPOUND;
+        }
+        throw new IllegalArgumentException("Unable to translate object to NBTBase!");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void writePayload(Object value, byte type, DataOutput output) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                output.writeByte(value instanceof Boolean ? ((Boolean) value ? 1 : 0) : (Byte) value);
+                break;
+            case NbtDataUtil.TAG_SHORT:
+                output.writeShort((Short) value);
+                break;
+            case NbtDataUtil.TAG_INT:
+                output.writeInt((Integer) value);
+                break;
+            case NbtDataUtil.TAG_LONG:
+                output.writeLong((Long) value);
+                break;
+            case NbtDataUtil.TAG_FLOAT:
+                output.writeFloat((Float) value);
+                break;
+            case NbtDataUtil.TAG_DOUBLE:
+                output.writeDouble((Double) value);
+                break;
+            case NbtDataUtil.TAG_STRING:
+                output.writeUTF((String) value);
+                break;
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                if (value instanceof byte[]) {
+                    byte[] array = (byte[]) value;
+                    output.writeInt(array.length);
+                    output.write(array);
+                } else {
+                    Byte[] array = (Byte[]) value;
+                    output.writeInt(array.length);
+                    for (Byte data : array) {
+                        output.writeByte(data);
+                    }
+                }
+                break;
+            case NbtDataUtil.TAG_INT_ARRAY:
+                if (value instanceof int[]) {
+                    int[] array = (int[]) value;
+                    output.writeInt(array.length);
+                    for (int data : array) {
+                        output.writeInt(data);
+                    }
+                } else {
+                    Integer[] array = (Integer[]) value;
+                    output.writeInt(array.length);
+                    for (Integer data : array) {
+                        output.writeInt(data);
+                    }
+                }
+                break;
+            case NbtDataUtil.TAG_LIST:
+                writeListPayload((List) value, output);
+                break;
+            case NbtDataUtil.TAG_COMPOUND:
+                if (value instanceof DataSerializable) {
+                    writeCompoundPayload(((DataSerializable) value).toContainer(), output);
+                } else if (value instanceof DataView) {
+                    writeCompoundPayload((DataView) value, output);
+                } else {
+                    writeMapPayload((Map<Object, Object>) value, output);
+                }
+                break;
+        }
+    }
+
+    private static void writeListPayload(List<?> list, DataOutput output) throws IOException {
+        if (list.isEmpty()) {
+            output.writeByte(NbtDataUtil.TAG_END);
+            output.writeInt(0);
+            return;
+        }
+        // NBTTagList drops any element that doesn't match the type of the first one,
+        // so do the same here to keep the output identical to translateData
+        final byte listType = getTagType(list.get(0));
+        int count = 0;
+        for (Object object : list) {
+            if (getTagType(object) == listType) {
+                count++;
+            }
+        }
+        output.writeByte(listType);
+        output.writeInt(count);
+        for (Object object : list) {
+            if (getTagType(object) == listType) {
+                writePayload(object, listType, output);
+            }
+        }
+    }
+
+    private static void writeMapPayload(Map<Object, Object> map, DataOutput output) throws IOException {
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            Object value = entry.getValue();
+            if (entry.getKey() instanceof DataQuery) {
+                String key = ((DataQuery) entry.getKey()).asString('.');
+                if (value instanceof Boolean) {
+                    writeNamedTag(key + BOOLEAN_IDENTIFER, value, NbtDataUtil.TAG_BYTE, output);
+                } else {
+                    writeNamedTag(key, value, getTagType(value), output);
+                }
+            } else {
+                writeNamedTag(entry.getKey().toString(), value, getTagType(value), output);
+            }
+        }
+        output.writeByte(NbtDataUtil.TAG_END);
+    }
+
     @SuppressWarnings("unchecked")
     private static DataContainer getViewFromCompound(NBTTagCompound compound) {
         checkNotNull(compound);
@@ -294,4 +452,29 @@ public void translateContainerToData(NBTTagCompound node, DataView container) {
     public DataContainer translateFrom(NBTTagCompound node) {
         return NbtTranslator.getViewFromCompound(node);
     }
+
+    /**
+     * Writes the given {@link DataView} straight to the output as an unnamed
+     * root compound, in the same format as
+     * {@link net.minecraft.nbt.CompressedStreamTools#write(NBTTagCompound, DataOutput)}.
+     *
+     * <p>No intermediate {@link NBTTagCompound} is created, which makes this
+     * the preferred way of persisting a view that isn't needed as NBT
+     * afterwards, such as player data files and data views written to a
+     * channel buffer. Custom data of entities and tile entities is not
+     * written through here, it has to be part of the chunk's
+     * {@link NBTTagCompound} and still goes through
+     * {@link #translateData(DataView)}.</p>
+     *
+     * @param container The view to write
+     * @param output The output to write to
+     * @throws IOException If the output could not be written to
+     */
+    public void write(DataView container, DataOutput output) throws IOException {
+        checkNotNull(container);
+        checkNotNull(output);
+        output.writeByte(NbtDataUtil.TAG_COMPOUND);
+        output.writeUTF("");
+        NbtTranslator.writeCompoundPayload(container, output);
+    }
 }
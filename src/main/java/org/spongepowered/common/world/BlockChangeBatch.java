@@ -0,0 +1,87 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A set of block changes to apply to a world at once, see
+ * {@link IMixinWorld#setBlocks(BlockChangeBatch, boolean, org.spongepowered.api.event.cause.Cause)}.
+ *
+ * <p>A later change to the same position replaces the earlier one.</p>
+ */
+public final class BlockChangeBatch {
+
+    private final Map<BlockPos, IBlockState> changes = new LinkedHashMap<>();
+
+    public BlockChangeBatch set(int x, int y, int z, BlockState state) {
+        this.changes.put(new BlockPos(x, y, z), (IBlockState) state);
+        return this;
+    }
+
+    /**
+     * Adds a change for every block of the given volume, at the same
+     * positions.
+     *
+     * @param volume The volume to copy
+     * @return This batch
+     */
+    public BlockChangeBatch setAll(BlockVolume volume) {
+        final int xMin = volume.getBlockMin().getX();
+        final int yMin = volume.getBlockMin().getY();
+        final int zMin = volume.getBlockMin().getZ();
+        final int xMax = volume.getBlockMax().getX();
+        final int yMax = volume.getBlockMax().getY();
+        final int zMax = volume.getBlockMax().getZ();
+        for (int y = yMin; y <= yMax; y++) {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int x = xMin; x <= xMax; x++) {
+                    set(x, y, z, volume.getBlock(x, y, z));
+                }
+            }
+        }
+        return this;
+    }
+
+    public Map<BlockPos, IBlockState> getChanges() {
+        return Collections.unmodifiableMap(this.changes);
+    }
+
+    public int size() {
+        return this.changes.size();
+    }
+
+    public boolean isEmpty() {
+        return this.changes.isEmpty();
+    }
+}
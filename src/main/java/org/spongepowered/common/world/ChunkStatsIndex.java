@@ -0,0 +1,338 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import net.minecraft.world.ChunkCoordIntPair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import javax.annotation.Nullable;
+
+/**
+ * Live entity and tile entity counts of the loaded chunks of a world, by
+ * chunk and by type.
+ *
+ * <p>Every chunk keeps its own {@link ChunkStats}, updated as entities and
+ * tile entities enter or leave it. While the chunk is loaded its stats are
+ * registered here, and every change is applied to the world totals as well,
+ * so reports never have to walk the loaded entity or tile entity lists.</p>
+ *
+ * <p>Changes happen on the main thread, while all queries copy what they
+ * return under the index lock and are therefore safe to call from any
+ * thread.</p>
+ */
+public final class ChunkStatsIndex {
+
+    private final TLongObjectHashMap<ChunkStats> chunks = new TLongObjectHashMap<>();
+    private final TObjectIntHashMap<Class<?>> entitiesByType = new TObjectIntHashMap<>();
+    private final TObjectIntHashMap<Class<?>> tilesByType = new TObjectIntHashMap<>();
+    private int entityCount;
+    private int tileCount;
+
+    public synchronized void load(ChunkStats stats) {
+        if (stats.index != null) {
+            return;
+        }
+        this.chunks.put(ChunkCoordIntPair.chunkXZ2Int(stats.chunkX, stats.chunkZ), stats);
+        stats.index = this;
+        if (stats.entities != null) {
+            stats.entities.forEachEntry((type, count) -> {
+                this.entitiesByType.adjustOrPutValue(type, count, count);
+                return true;
+            });
+        }
+        if (stats.tiles != null) {
+            stats.tiles.forEachEntry((type, count) -> {
+                this.tilesByType.adjustOrPutValue(type, count, count);
+                return true;
+            });
+        }
+        this.entityCount += stats.entityCount;
+        this.tileCount += stats.tileCount;
+    }
+
+    public synchronized void unload(ChunkStats stats) {
+        if (stats.index != this) {
+            return;
+        }
+        this.chunks.remove(ChunkCoordIntPair.chunkXZ2Int(stats.chunkX, stats.chunkZ));
+        stats.index = null;
+        if (stats.entities != null) {
+            stats.entities.forEachEntry((type, count) -> {
+                subtract(this.entitiesByType, type, count);
+                return true;
+            });
+        }
+        if (stats.tiles != null) {
+            stats.tiles.forEachEntry((type, count) -> {
+                subtract(this.tilesByType, type, count);
+                return true;
+            });
+        }
+        this.entityCount -= stats.entityCount;
+        this.tileCount -= stats.tileCount;
+    }
+
+    public synchronized int getLoadedChunkCount() {
+        return this.chunks.size();
+    }
+
+    public synchronized int getEntityCount() {
+        return this.entityCount;
+    }
+
+    public synchronized int getTileEntityCount() {
+        return this.tileCount;
+    }
+
+    public synchronized TObjectIntHashMap<Class<?>> getEntityCountsByType() {
+        return new TObjectIntHashMap<>(this.entitiesByType);
+    }
+
+    public synchronized TObjectIntHashMap<Class<?>> getTileEntityCountsByType() {
+        return new TObjectIntHashMap<>(this.tilesByType);
+    }
+
+    public synchronized TObjectIntHashMap<ChunkCoordIntPair> getEntityCountsByChunk() {
+        final TObjectIntHashMap<ChunkCoordIntPair> counts = new TObjectIntHashMap<>();
+        this.chunks.forEachValue(stats -> {
+            if (stats.entityCount > 0) {
+                counts.put(new ChunkCoordIntPair(stats.chunkX, stats.chunkZ), stats.entityCount);
+            }
+            return true;
+        });
+        return counts;
+    }
+
+    public synchronized TObjectIntHashMap<ChunkCoordIntPair> getTileEntityCountsByChunk() {
+        final TObjectIntHashMap<ChunkCoordIntPair> counts = new TObjectIntHashMap<>();
+        this.chunks.forEachValue(stats -> {
+            if (stats.tileCount > 0) {
+                counts.put(new ChunkCoordIntPair(stats.chunkX, stats.chunkZ), stats.tileCount);
+            }
+            return true;
+        });
+        return counts;
+    }
+
+    /**
+     * Gets the entity counts by type of a single loaded chunk.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return A copy of the counts, empty if the chunk is not loaded
+     */
+    public synchronized TObjectIntHashMap<Class<?>> getEntityCountsByType(int chunkX, int chunkZ) {
+        final ChunkStats stats = this.chunks.get(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+        return stats == null || stats.entities == null ? new TObjectIntHashMap<>() : new TObjectIntHashMap<>(stats.entities);
+    }
+
+    /**
+     * Gets the tile entity counts by type of a single loaded chunk.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return A copy of the counts, empty if the chunk is not loaded
+     */
+    public synchronized TObjectIntHashMap<Class<?>> getTileEntityCountsByType(int chunkX, int chunkZ) {
+        final ChunkStats stats = this.chunks.get(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+        return stats == null || stats.tiles == null ? new TObjectIntHashMap<>() : new TObjectIntHashMap<>(stats.tiles);
+    }
+
+    /**
+     * Gets the loaded chunks holding the most entities, most crowded first.
+     *
+     * <p>Only the per chunk totals are looked at, so this costs one pass over
+     * the loaded chunks regardless of how many entities they hold.</p>
+     *
+     * @param limit The maximum amount of chunks to return
+     * @return The chunks and their entity counts
+     */
+    public synchronized List<ChunkCount> getTopChunksByEntities(int limit) {
+        return top(limit, false);
+    }
+
+    /**
+     * Gets the loaded chunks holding the most tile entities, most crowded
+     * first.
+     *
+     * @param limit The maximum amount of chunks to return
+     * @return The chunks and their tile entity counts
+     */
+    public synchronized List<ChunkCount> getTopChunksByTileEntities(int limit) {
+        return top(limit, true);
+    }
+
+    private List<ChunkCount> top(int limit, boolean tiles) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        final PriorityQueue<ChunkCount> queue = new PriorityQueue<>(limit + 1, (a, b) -> Integer.compare(a.count, b.count));
+        this.chunks.forEachValue(stats -> {
+            final int count = tiles ? stats.tileCount : stats.entityCount;
+            if (count > 0 && (queue.size() < limit || count > queue.peek().count)) {
+                queue.add(new ChunkCount(stats.chunkX, stats.chunkZ, count));
+                if (queue.size() > limit) {
+                    queue.poll();
+                }
+            }
+            return true;
+        });
+        final List<ChunkCount> result = new ArrayList<>(queue);
+        result.sort((a, b) -> Integer.compare(b.count, a.count));
+        return result;
+    }
+
+    void adjust(boolean tile, Class<?> type, int delta) {
+        if (tile) {
+            this.tileCount += delta;
+            if (delta > 0) {
+                this.tilesByType.adjustOrPutValue(type, delta, delta);
+            } else {
+                subtract(this.tilesByType, type, -delta);
+            }
+        } else {
+            this.entityCount += delta;
+            if (delta > 0) {
+                this.entitiesByType.adjustOrPutValue(type, delta, delta);
+            } else {
+                subtract(this.entitiesByType, type, -delta);
+            }
+        }
+    }
+
+    static void subtract(TObjectIntHashMap<Class<?>> counts, Class<?> type, int amount) {
+        if (counts.adjustOrPutValue(type, -amount, 0) <= 0) {
+            counts.remove(type);
+        }
+    }
+
+    /**
+     * The counts of a single chunk.
+     */
+    public static final class ChunkStats {
+
+        final int chunkX;
+        final int chunkZ;
+        @Nullable TObjectIntHashMap<Class<?>> entities;
+        @Nullable TObjectIntHashMap<Class<?>> tiles;
+        int entityCount;
+        int tileCount;
+        @Nullable ChunkStatsIndex index;
+
+        public ChunkStats(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        public void addEntity(Object entity) {
+            adjust(false, entity.getClass(), 1);
+        }
+
+        public void removeEntity(Object entity) {
+            adjust(false, entity.getClass(), -1);
+        }
+
+        public void addTileEntity(Object tile) {
+            adjust(true, tile.getClass(), 1);
+        }
+
+        public void removeTileEntity(Object tile) {
+            adjust(true, tile.getClass(), -1);
+        }
+
+        public int getEntityCount() {
+            return this.entityCount;
+        }
+
+        public int getTileEntityCount() {
+            return this.tileCount;
+        }
+
+        private void adjust(boolean tile, Class<?> type, int delta) {
+            final ChunkStatsIndex index = this.index;
+            if (index == null) {
+                apply(tile, type, delta);
+                return;
+            }
+            synchronized (index) {
+                if (apply(tile, type, delta)) {
+                    index.adjust(tile, type, delta);
+                }
+            }
+        }
+
+        private boolean apply(boolean tile, Class<?> type, int delta) {
+            TObjectIntHashMap<Class<?>> counts = tile ? this.tiles : this.entities;
+            if (delta < 0 && (counts == null || counts.get(type) < -delta)) {
+                return false;
+            }
+            if (counts == null) {
+                counts = new TObjectIntHashMap<>();
+                if (tile) {
+                    this.tiles = counts;
+                } else {
+                    this.entities = counts;
+                }
+            }
+            if (delta > 0) {
+                counts.adjustOrPutValue(type, delta, delta);
+            } else {
+                subtract(counts, type, -delta);
+            }
+            if (tile) {
+                this.tileCount += delta;
+            } else {
+                this.entityCount += delta;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A chunk position together with a count.
+     */
+    public static final class ChunkCount {
+
+        public final int chunkX;
+        public final int chunkZ;
+        public final int count;
+
+        ChunkCount(int chunkX, int chunkZ, int count) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.count = count;
+        }
+
+        public ChunkCoordIntPair getPosition() {
+            return new ChunkCoordIntPair(this.chunkX, this.chunkZ);
+        }
+    }
+}
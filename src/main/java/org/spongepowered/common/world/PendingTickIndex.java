@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.NextTickListEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A secondary index of the pending block updates of a world, grouped by
+ * chunk and keyed by position.
+ *
+ * <p>It mirrors the world's pending tick hash set, so looking up the updates
+ * of a single position no longer has to walk every pending update.</p>
+ */
+public final class PendingTickIndex {
+
+    private final TLongObjectHashMap<ChunkEntries> chunks = new TLongObjectHashMap<>();
+    private int size;
+
+    public void add(NextTickListEntry entry) {
+        final BlockPos pos = entry.position;
+        final long key = ChunkCoordIntPair.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4);
+        ChunkEntries chunk = this.chunks.get(key);
+        if (chunk == null) {
+            chunk = new ChunkEntries();
+            this.chunks.put(key, chunk);
+        }
+        List<NextTickListEntry> entries = chunk.positions.get(pos);
+        if (entries == null) {
+            entries = new ArrayList<>(1);
+            chunk.positions.put(pos, entries);
+        }
+        entries.add(entry);
+        chunk.count++;
+        this.size++;
+    }
+
+    public void remove(Object object) {
+        if (!(object instanceof NextTickListEntry)) {
+            return;
+        }
+        final BlockPos pos = ((NextTickListEntry) object).position;
+        final long key = ChunkCoordIntPair.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4);
+        final ChunkEntries chunk = this.chunks.get(key);
+        if (chunk == null) {
+            return;
+        }
+        final List<NextTickListEntry> entries = chunk.positions.get(pos);
+        if (entries == null || !entries.remove(object)) {
+            return;
+        }
+        if (entries.isEmpty()) {
+            chunk.positions.remove(pos);
+        }
+        if (--chunk.count == 0) {
+            this.chunks.remove(key);
+        }
+        this.size--;
+    }
+
+    public List<NextTickListEntry> get(BlockPos pos) {
+        final ChunkEntries chunk = this.chunks.get(ChunkCoordIntPair.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4));
+        if (chunk == null) {
+            return Collections.emptyList();
+        }
+        final List<NextTickListEntry> entries = chunk.positions.get(pos);
+        return entries == null ? Collections.emptyList() : Collections.unmodifiableList(entries);
+    }
+
+    public int getCount(int chunkX, int chunkZ) {
+        final ChunkEntries chunk = this.chunks.get(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+        return chunk == null ? 0 : chunk.count;
+    }
+
+    public TObjectIntHashMap<ChunkCoordIntPair> getChunkCounts() {
+        final TObjectIntHashMap<ChunkCoordIntPair> counts = new TObjectIntHashMap<>();
+        this.chunks.forEachEntry((key, chunk) -> {
+            counts.put(new ChunkCoordIntPair((int) key, (int) (key >> 32)), chunk.count);
+            return true;
+        });
+        return counts;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private static final class ChunkEntries {
+
+        final Map<BlockPos, List<NextTickListEntry>> positions = new HashMap<>();
+        int count;
+    }
+}
@@ -26,6 +26,9 @@
 
 import com.flowpowered.math.vector.Vector2i;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.util.DiscreteTransform2;
 import org.spongepowered.api.util.DiscreteTransform3;
 import org.spongepowered.api.util.PositionOutOfBoundsException;
@@ -39,18 +42,47 @@
 import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
 import org.spongepowered.api.world.extent.worker.MutableBiomeAreaWorker;
 import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.util.gen.ByteArrayImmutableBiomeBuffer;
 import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
 import org.spongepowered.common.util.gen.ShortArrayImmutableBlockBuffer;
 import org.spongepowered.common.util.gen.ShortArrayMutableBlockBuffer;
+import org.spongepowered.common.world.BlockChangeBatch;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBiomeAreaWorker;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
 
+import java.util.Map;
+
 /**
  * The Extent interface with extra defaults that are only available in the implementation.
  */
 public interface DefaultedExtent extends Extent {
 
+    /**
+     * Sets all blocks of the batch, like {@link #setBlock(int, int, int, BlockState)}
+     * would one by one. Worlds, and views of them, write all blocks before
+     * updating light, clients and neighbors.
+     *
+     * @param changes The changes to apply
+     */
+    default void setBlocks(BlockChangeBatch changes) {
+        for (Map.Entry<BlockPos, IBlockState> entry : changes.getChanges().entrySet()) {
+            final BlockPos pos = entry.getKey();
+            setBlock(pos.getX(), pos.getY(), pos.getZ(), (BlockState) entry.getValue());
+        }
+    }
+
+    /**
+     * Gets whether {@link #setBlocks(BlockChangeBatch)} does anything other
+     * than setting the blocks one by one, which is only the case for worlds
+     * and views of them.
+     *
+     * @return Whether block changes are batched
+     */
+    default boolean isBatchingBlockChanges() {
+        return this instanceof IMixinWorld;
+    }
+
     @Override
     default MutableBiomeArea getBiomeView(Vector2i newMin, Vector2i newMax) {
         if (!containsBiome(newMin.getX(), newMin.getY())) {
@@ -28,7 +28,11 @@
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
 import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.api.world.extent.BiomeArea;
 import org.spongepowered.api.world.extent.BlockVolume;
 
@@ -59,15 +63,64 @@ public static short[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max
             throw new OutOfMemoryError("Cannot copy the blocks to an array because the size limit was reached");
         }
         final short[] copy = new short[(int) memory];
-        int i = 0;
-        for (int x = min.getX(); x <= max.getX(); x++) {
-            for (int z = min.getZ(); z <= max.getZ(); z++) {
-                for (int y = min.getY(); y <= max.getY(); y++) {
-                    copy[i++] = (short) Block.BLOCK_STATE_IDS.get((IBlockState) volume.getBlock(x, y, z));
+        // Downsized views use the coordinates of the volume they wrap, so copy from that directly
+        while (volume instanceof AbstractBlockViewDownsize) {
+            volume = ((AbstractBlockViewDownsize<?>) volume).volume;
+        }
+        if (volume instanceof Chunk && ((Chunk) volume).getWorld().getWorldType() != WorldType.DEBUG_WORLD) {
+            copyFromSections((Chunk) volume, copy, min, max, size);
+        } else if (volume instanceof World && ((World) volume).getWorldType() != WorldType.DEBUG_WORLD) {
+            final World world = (World) volume;
+            for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+                for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                    copyFromSections(world.getChunkFromChunkCoords(chunkX, chunkZ), copy, min, max, size);
+                }
+            }
+        } else {
+            int i = 0;
+            for (int x = min.getX(); x <= max.getX(); x++) {
+                for (int z = min.getZ(); z <= max.getZ(); z++) {
+                    for (int y = min.getY(); y <= max.getY(); y++) {
+                        copy[i++] = (short) Block.BLOCK_STATE_IDS.get((IBlockState) volume.getBlock(x, y, z));
+                    }
                 }
             }
         }
         return copy;
     }
 
+    /**
+     * Copies the part of the chunk that intersects the given bounds straight
+     * from its sections. The sections already store the state ids, so this
+     * needs neither a position nor an id lookup per block. Missing sections
+     * are skipped since an empty array is already all air.
+     */
+    private static void copyFromSections(Chunk chunk, short[] copy, Vector3i min, Vector3i max, Vector3i size) {
+        final int minX = Math.max(min.getX(), chunk.xPosition << 4);
+        final int maxX = Math.min(max.getX(), (chunk.xPosition << 4) + 15);
+        final int minZ = Math.max(min.getZ(), chunk.zPosition << 4);
+        final int maxZ = Math.min(max.getZ(), (chunk.zPosition << 4) + 15);
+        final int yLine = size.getY();
+        final int yzSlice = size.getY() * size.getZ();
+        final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        for (int sectionY = min.getY() >> 4; sectionY <= max.getY() >> 4 && sectionY < sections.length; sectionY++) {
+            final ExtendedBlockStorage section = sections[sectionY];
+            if (section == null) {
+                continue;
+            }
+            final char[] data = section.getData();
+            final int minY = Math.max(min.getY(), sectionY << 4);
+            final int maxY = Math.min(max.getY(), (sectionY << 4) + 15);
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    final int offset = (x - min.getX()) * yzSlice + (z - min.getZ()) * yLine - min.getY();
+                    final int sectionOffset = (z & 15) << 4 | (x & 15);
+                    for (int y = minY; y <= maxY; y++) {
+                        copy[offset + y] = (short) data[(y & 15) << 8 | sectionOffset];
+                    }
+                }
+            }
+        }
+    }
+
 }
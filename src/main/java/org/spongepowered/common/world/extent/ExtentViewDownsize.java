@@ -29,6 +29,7 @@
 import com.flowpowered.math.vector.Vector2i;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.util.BlockPos;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockType;
@@ -60,6 +61,7 @@
 import org.spongepowered.api.world.biome.BiomeType;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockChangeBatch;
 
 import java.util.Collection;
 import java.util.Iterator;
@@ -204,6 +206,23 @@ public void setBlock(int x, int y, int z, BlockState block, boolean notifyNeighb
         this.extent.setBlock(x, y, z, block, notifyNeighbors);
     }
 
+    @Override
+    public boolean isBatchingBlockChanges() {
+        return this.extent instanceof DefaultedExtent && ((DefaultedExtent) this.extent).isBatchingBlockChanges();
+    }
+
+    @Override
+    public void setBlocks(BlockChangeBatch changes) {
+        if (!(this.extent instanceof DefaultedExtent)) {
+            DefaultedExtent.super.setBlocks(changes);
+            return;
+        }
+        for (BlockPos pos : changes.getChanges().keySet()) {
+            checkRange(pos.getX(), pos.getY(), pos.getZ());
+        }
+        ((DefaultedExtent) this.extent).setBlocks(changes);
+    }
+
     @Override
     public void setBlock(int x, int y, int z, BlockState blockState, boolean notifyNeighbors, Cause cause) {
         checkArgument(cause.root() instanceof PluginContainer, "PluginContainer must be at the ROOT of a cause!");
@@ -30,6 +30,8 @@
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.Preconditions;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockType;
@@ -60,9 +62,11 @@
 import org.spongepowered.api.world.biome.BiomeType;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockChangeBatch;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -200,6 +204,28 @@ public void setBlock(int x, int y, int z, BlockState block, boolean notifyNeighb
             .transformZ(x, y, z), block, notifyNeighbors);
     }
 
+    @Override
+    public boolean isBatchingBlockChanges() {
+        return this.extent instanceof DefaultedExtent && ((DefaultedExtent) this.extent).isBatchingBlockChanges();
+    }
+
+    @Override
+    public void setBlocks(BlockChangeBatch changes) {
+        if (!(this.extent instanceof DefaultedExtent)) {
+            DefaultedExtent.super.setBlocks(changes);
+            return;
+        }
+        final BlockChangeBatch transformed = new BlockChangeBatch();
+        for (Map.Entry<BlockPos, IBlockState> entry : changes.getChanges().entrySet()) {
+            final int x = entry.getKey().getX();
+            final int y = entry.getKey().getY();
+            final int z = entry.getKey().getZ();
+            transformed.set(this.inverseTransform.transformX(x, y, z), this.inverseTransform.transformY(x, y, z),
+                this.inverseTransform.transformZ(x, y, z), (BlockState) entry.getValue());
+        }
+        ((DefaultedExtent) this.extent).setBlocks(transformed);
+    }
+
     @Override
     public void setBlock(int x, int y, int z, BlockState blockState, boolean notifyNeighbors, Cause cause) {
         checkArgument(cause.root() instanceof PluginContainer, "PluginContainer must be at the ROOT of a cause!");
@@ -28,6 +28,8 @@
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeFiller;
+import org.spongepowered.common.world.BlockChangeBatch;
+import org.spongepowered.common.world.extent.DefaultedExtent;
 
 /**
  *
@@ -46,6 +48,20 @@ public void fill(BlockVolumeFiller filler) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
+        if (this.volume instanceof DefaultedExtent && ((DefaultedExtent) this.volume).isBatchingBlockChanges()) {
+            // Worlds, and views of them, write the whole fill before updating light, clients and neighbors.
+            // The filler is asked for every block first, so it sees the blocks as they were before the fill.
+            final BlockChangeBatch batch = new BlockChangeBatch();
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        batch.set(x, y, z, filler.produce(x, y, z));
+                    }
+                }
+            }
+            ((DefaultedExtent) this.volume).setBlocks(batch);
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
@@ -0,0 +1,199 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import co.aikar.timings.TimingsMetricsEndpoint;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.common.util.LatencyHistogram;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads and parses chunk NBT from the region files of one chunk loader on
+ * background threads, ahead of the chunk actually being loaded. The main
+ * thread then only has to turn the prepared compound into a chunk.
+ *
+ * <p>A prepared compound is dropped as soon as the chunk is queued for
+ * saving and again once it has been written, and a read which is still
+ * running at that point is discarded. Chunks waiting to be written are not
+ * read ahead at all, so a stale copy of a chunk is never handed out.</p>
+ */
+public final class ChunkReadAhead {
+
+    public static final LatencyHistogram DISK_LOADS = new LatencyHistogram();
+    public static final LatencyHistogram PREFETCHED_LOADS = new LatencyHistogram();
+    private static final AtomicLong prefetched = new AtomicLong();
+    private static final AtomicLong wasted = new AtomicLong();
+
+    static {
+        TimingsMetricsEndpoint.registerSource(ChunkReadAhead::appendMetrics);
+    }
+
+    private static final int MAX_READY = 256;
+    private static final int MAX_IN_FLIGHT = 64;
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2,
+            new ThreadFactoryBuilder().setNameFormat("Sponge Chunk IO #%d").setDaemon(true).build());
+
+    private final File saveLocation;
+    private final Predicate<ChunkCoordIntPair> pendingWrite;
+    private final Executor readExecutor;
+    private final Map<Long, NBTTagCompound> ready = new LinkedHashMap<Long, NBTTagCompound>(64, 0.75F, false) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, NBTTagCompound> eldest) {
+            if (size() > MAX_READY) {
+                wasted.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+    // A read maps to false once its result is known to be outdated
+    private final Map<Long, Boolean> inFlight = new HashMap<>();
+
+    /**
+     * Creates the read ahead of a chunk loader.
+     *
+     * @param saveLocation The directory of the region files
+     * @param pendingWrite Tests whether the loader still has to write a chunk
+     */
+    public ChunkReadAhead(File saveLocation, Predicate<ChunkCoordIntPair> pendingWrite) {
+        this(saveLocation, pendingWrite, executor);
+    }
+
+    ChunkReadAhead(File saveLocation, Predicate<ChunkCoordIntPair> pendingWrite, Executor readExecutor) {
+        this.saveLocation = saveLocation;
+        this.pendingWrite = pendingWrite;
+        this.readExecutor = readExecutor;
+    }
+
+    public static long getPrefetchedCount() {
+        return prefetched.get();
+    }
+
+    public static long getWastedCount() {
+        return wasted.get();
+    }
+
+    private static void appendMetrics(StringBuilder builder) {
+        builder.append("# TYPE sponge_chunk_load_seconds histogram\n");
+        DISK_LOADS.appendTo(builder, "sponge_chunk_load_seconds", "source=\"disk\"");
+        PREFETCHED_LOADS.appendTo(builder, "sponge_chunk_load_seconds", "source=\"prefetched\"");
+        builder.append("# TYPE sponge_chunk_prefetched_total counter\n");
+        builder.append("sponge_chunk_prefetched_total ").append(getPrefetchedCount()).append('\n');
+        builder.append("# TYPE sponge_chunk_prefetch_wasted_total counter\n");
+        builder.append("sponge_chunk_prefetch_wasted_total ").append(getWastedCount()).append('\n');
+    }
+
+    private static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Queues the chunk to be read in the background, unless it is already
+     * prepared, being read, waiting to be written, or too many reads are
+     * pending.
+     */
+    public void prefetch(int x, int z) {
+        long key = key(x, z);
+        synchronized (this) {
+            if (this.inFlight.size() >= MAX_IN_FLIGHT || this.ready.containsKey(key) || this.inFlight.containsKey(key)) {
+                return;
+            }
+            // The region file does not hold the latest data of the chunk yet
+            if (this.pendingWrite.test(new ChunkCoordIntPair(x, z))) {
+                return;
+            }
+            this.inFlight.put(key, Boolean.TRUE);
+        }
+        this.readExecutor.execute(() -> this.read(x, z, key));
+    }
+
+    private void read(int x, int z, long key) {
+        NBTTagCompound compound = null;
+        try {
+            DataInputStream stream = RegionFileCache.getChunkInputStream(this.saveLocation, x, z);
+            if (stream != null) {
+                compound = CompressedStreamTools.read(stream);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The main thread will read the chunk itself and report any problem
+        }
+        synchronized (this) {
+            if (Boolean.TRUE.equals(this.inFlight.remove(key)) && compound != null) {
+                this.ready.put(key, compound);
+            }
+        }
+    }
+
+    /**
+     * Takes the prepared compound of a chunk which is about to be loaded.
+     *
+     * @return The compound, or null if the chunk has to be read from disk
+     */
+    @Nullable
+    public synchronized NBTTagCompound take(int x, int z) {
+        long key = key(x, z);
+        NBTTagCompound compound = this.ready.remove(key);
+        if (compound != null) {
+            prefetched.incrementAndGet();
+        } else if (this.inFlight.containsKey(key)) {
+            // Read on the main thread instead of waiting, the background result is not needed anymore
+            this.inFlight.put(key, Boolean.FALSE);
+        }
+        return compound;
+    }
+
+    /**
+     * Forgets any prepared or pending read of a chunk whose data is about
+     * to be written or has just been written.
+     */
+    public synchronized void invalidate(int x, int z) {
+        long key = key(x, z);
+        this.ready.remove(key);
+        if (this.inFlight.containsKey(key)) {
+            this.inFlight.put(key, Boolean.FALSE);
+        }
+    }
+
+}
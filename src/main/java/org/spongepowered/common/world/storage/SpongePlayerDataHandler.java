@@ -27,32 +27,41 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import org.apache.logging.log4j.Level;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.util.persistence.NbtTranslator;
 import org.spongepowered.common.world.DimensionManager;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.DirectoryIteratorException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.Nullable;
 
@@ -63,6 +72,12 @@ public final class SpongePlayerDataHandler {
     private Path playerDir;
 
     private final Map<UUID, SpongePlayerData> playerDataMap = new ConcurrentHashMap<>();
+    // Entries changed since they were last queued for writing
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    // Containers waiting for the writer, a newer save of the same player replaces the older one
+    private final Map<UUID, DataContainer> pendingWrites = new ConcurrentHashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge Player Data Writer").setDaemon(true).build());
 
     public static void init() {
         SpongePlayerDataHandler handlerInstance = Holder.INSTANCE;
@@ -115,7 +130,9 @@ public static void savePlayer(UUID id) {
         SpongePlayerDataHandler instance = Holder.INSTANCE;
         @Nullable SpongePlayerData data = instance.playerDataMap.get(checkNotNull(id, "Player id cannot be null!"));
         if (data != null) {
-            saveFile(id.toString(), createCompoundFor(data));
+            if (instance.dirty.remove(id)) {
+                instance.queueWrite(id, data);
+            }
         } else {
             SpongeImpl.getLogger().error("Couldn't find a player data for the uuid: " + id.toString());
         }
@@ -124,43 +141,61 @@ public static void savePlayer(UUID id) {
     public static void saveFiles() {
         checkState(Holder.INSTANCE.hasInitialized, "PlayerDataHandler hasn't initialized yet!");
         SpongePlayerDataHandler instance = Holder.INSTANCE;
-        Map<String, NBTTagCompound> compoundMap = new HashMap<>();
-        for (Map.Entry<UUID, SpongePlayerData> entry : instance.playerDataMap.entrySet()) {
-            SpongePlayerData data = entry.getValue();
-            compoundMap.put(entry.getKey().toString(), createCompoundFor(data));
+        for (UUID id : instance.dirty) {
+            instance.dirty.remove(id);
+            @Nullable SpongePlayerData data = instance.playerDataMap.get(id);
+            if (data != null) {
+                instance.queueWrite(id, data);
+            }
+        }
+    }
+
+    /**
+     * Queues every changed entry and blocks until all queued writes are on
+     * disk.
+     */
+    public static void flush() {
+        SpongePlayerDataHandler instance = Holder.INSTANCE;
+        if (!instance.hasInitialized) {
+            return;
         }
-        for (Map.Entry<String, NBTTagCompound> entry : compoundMap.entrySet()) {
-            saveFile(entry.getKey(), entry.getValue());
+        saveFiles();
+        try {
+            // The writer is a single thread, so this runs after everything queued before it
+            instance.writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            SpongeImpl.getLogger().error("Failed to flush player data", e);
         }
-        compoundMap.clear();
     }
 
-    private static NBTTagCompound createCompoundFor(SpongePlayerData data) {
-        return NbtTranslator.getInstance().translateData(data.toContainer());
+    private void queueWrite(UUID id, SpongePlayerData data) {
+        // The container is taken now so the writer never reads the live entry
+        if (this.pendingWrites.put(id, data.toContainer()) == null) {
+            this.writer.execute(() -> {
+                @Nullable DataContainer container = this.pendingWrites.remove(id);
+                if (container != null) {
+                    saveFile(id.toString(), container);
+                }
+            });
+        }
     }
 
-    private static void saveFile(String id, NBTTagCompound compound) {
+    private static void saveFile(String id, DataView data) {
         checkState(Holder.INSTANCE.hasInitialized, "PlayerDataHandler hasn't initialized yet!");
         SpongePlayerDataHandler instance = Holder.INSTANCE;
         try {
-            final String pathString = instance.playerDir.toString() + File.separator + id;
-            File newFile = new File(pathString + "_new.dat");
-            File finalFile = new File(pathString + ".dat");
-            try (FileOutputStream stream = new FileOutputStream(newFile)) {
-                CompressedStreamTools.writeCompressed(compound, stream);
-                if (finalFile.exists()) {
-                    if (!finalFile.delete()) {
-                        SpongeImpl.getLogger().log(Level.WARN, "There was an issue deleting the previous file: " + finalFile.getAbsolutePath());
-                    }
-                }
-                if (!newFile.renameTo(finalFile)) {
-                    SpongeImpl.getLogger().error("Could not rename file: {} to {} !", newFile.getAbsolutePath(), finalFile.getAbsolutePath());
-                }
-                if (newFile.exists()) {
-                    if (!newFile.delete()) {
-                        SpongeImpl.getLogger().error("Could not delete file: {}", newFile.getAbsolutePath());
-                    }
-                }
+            final Path newFile = instance.playerDir.resolve(id + "_new.dat");
+            final Path finalFile = instance.playerDir.resolve(id + ".dat");
+            // The stream has to be closed before renaming so the gzip trailer is written
+            try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(newFile))))) {
+                NbtTranslator.getInstance().write(data, stream);
+            }
+            try {
+                Files.move(newFile, finalFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(newFile, finalFile, StandardCopyOption.REPLACE_EXISTING);
             }
         } catch (Exception e) {
             SpongeImpl.getLogger().error("Failed to save player data: " + id);
@@ -179,9 +214,13 @@ public static void setPlayerInfo(UUID playerId, Instant join, Instant last) {
             data = new SpongePlayerData();
             data.uuid = playerId;
         }
+        if (data.firstJoined == join.toEpochMilli() && data.lastJoined == last.toEpochMilli()) {
+            return;
+        }
         data.firstJoined = join.toEpochMilli();
         data.lastJoined = last.toEpochMilli();
         instance.playerDataMap.put(playerId, data);
+        instance.dirty.add(playerId);
     }
 
     public static Optional<Instant> getFirstJoined(UUID player) {
@@ -0,0 +1,75 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+public class ConfigDiffTest {
+    @Test
+    public void testUnchanged() {
+        Map<String, Object> config = ImmutableMap.of("logging", ImmutableMap.of("chunk-load", false));
+        assertTrue(ConfigDiff.changedKeys(config, ImmutableMap.of("logging", ImmutableMap.of("chunk-load", false))).isEmpty());
+    }
+
+    @Test
+    public void testChangedLeaves() {
+        Map<String, Object> before = ImmutableMap.of(
+                "logging", ImmutableMap.of("chunk-load", false, "chunk-unload", false),
+                "world", ImmutableMap.of("pvp-enabled", true));
+        Map<String, Object> after = ImmutableMap.of(
+                "logging", ImmutableMap.of("chunk-load", true, "chunk-unload", false),
+                "world", ImmutableMap.of("pvp-enabled", true, "chunk-read-ahead", 2));
+        assertEquals(ImmutableSet.of("logging.chunk-load", "world.chunk-read-ahead"), ConfigDiff.changedKeys(before, after));
+    }
+
+    @Test
+    public void testListsCompareAsWhole() {
+        Map<String, Object> before = ImmutableMap.of("ip-sets", ImmutableMap.of("local", Arrays.asList("127.0.0.1")));
+        Map<String, Object> after = ImmutableMap.of("ip-sets", ImmutableMap.of("local", Arrays.asList("127.0.0.1", "::1")));
+        assertEquals(ImmutableSet.of("ip-sets.local"), ConfigDiff.changedKeys(before, after));
+    }
+
+    @Test
+    public void testFirstLoad() {
+        assertEquals(ImmutableSet.of("world.pvp-enabled"), ConfigDiff.changedKeys(null, ImmutableMap.of("world", ImmutableMap.of("pvp-enabled", true))));
+    }
+
+    @Test
+    public void testIsAffected() {
+        assertTrue(ConfigDiff.isAffected(ImmutableSet.of("logging.chunk-load"), "logging"));
+        assertTrue(ConfigDiff.isAffected(ImmutableSet.of("ip-sets"), "ip-sets.local"));
+        assertFalse(ConfigDiff.isAffected(ImmutableSet.of("logging-extra.x"), "logging"));
+        assertFalse(ConfigDiff.isAffected(ImmutableSet.of("world.pvp-enabled"), "logging"));
+    }
+}
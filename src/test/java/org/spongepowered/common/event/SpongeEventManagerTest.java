@@ -0,0 +1,97 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.event.entity.SpawnEntityEvent;
+import org.spongepowered.api.event.item.inventory.DropItemEvent;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+
+import java.util.Optional;
+
+public class SpongeEventManagerTest {
+
+    private final Object plugin = new Object();
+    private PluginManager pluginManager;
+
+    @Before
+    public void setUp() {
+        this.pluginManager = mock(PluginManager.class);
+        PluginContainer container = mock(PluginContainer.class);
+        when(this.pluginManager.fromInstance(this.plugin)).thenReturn(Optional.of(container));
+    }
+
+    @Test
+    public void testNoListeners() {
+        SpongeEventManager eventManager = new SpongeEventManager(this.pluginManager);
+
+        Assert.assertFalse(eventManager.hasListeners(SpawnEntityEvent.class));
+        Assert.assertFalse(eventManager.hasListeners(DropItemEvent.Destruct.class));
+    }
+
+    @Test
+    public void testSpawnListenerReceivesDrops() {
+        SpongeEventManager eventManager = new SpongeEventManager(this.pluginManager);
+        eventManager.registerListener(this.plugin, SpawnEntityEvent.class, event -> {
+        });
+
+        Assert.assertTrue(eventManager.hasListeners(DropItemEvent.Destruct.class));
+        Assert.assertTrue(eventManager.hasListeners(DropItemEvent.Dispense.class));
+        Assert.assertTrue(eventManager.hasListeners(DropItemEvent.Custom.class));
+        Assert.assertTrue(eventManager.hasListeners(SpawnEntityEvent.Custom.class));
+    }
+
+    @Test
+    public void testUnregisteredListener() {
+        SpongeEventManager eventManager = new SpongeEventManager(this.pluginManager);
+        eventManager.registerListener(this.plugin, SpawnEntityEvent.class, event -> {
+        });
+        Assert.assertTrue(eventManager.hasListeners(DropItemEvent.Custom.class));
+
+        eventManager.unregisterPluginListeners(this.plugin);
+        Assert.assertFalse(eventManager.hasListeners(DropItemEvent.Custom.class));
+    }
+
+    @Test
+    public void testForwardingSubclass() {
+        Assert.assertTrue(new SpongeEventManager(this.pluginManager).isListenerQuerySupported());
+        Assert.assertFalse(new SpongeEventManager(this.pluginManager) {
+        }.isListenerQuerySupported());
+        Assert.assertTrue(new SpongeEventManager(this.pluginManager) {
+
+            @Override
+            public boolean hasListeners(Class<?> eventClass) {
+                return true;
+            }
+        }.isListenerQuerySupported());
+    }
+
+}
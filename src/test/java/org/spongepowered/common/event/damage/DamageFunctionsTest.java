@@ -0,0 +1,145 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.damage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.spongepowered.api.event.cause.entity.damage.DamageModifier;
+import org.spongepowered.api.util.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class DamageFunctionsTest {
+
+    private static final float[] DAMAGES = {0.0F, 0.5F, 1.0F, 3.0F, 7.25F, 20.0F, 1000.0F};
+
+    @Test
+    public void testHardHatMatchesVanilla() {
+        for (float damage : DAMAGES) {
+            assertEquals(damage * 0.75F, (float) (damage + DamageFunctions.HARD_HAT.applyAsDouble(damage)), 0);
+        }
+    }
+
+    @Test
+    public void testBlockingMatchesVanilla() {
+        for (float damage : DAMAGES) {
+            assertEquals((1.0F + damage) * 0.5F, (float) (damage + DamageFunctions.BLOCKING.applyAsDouble(damage)), 0);
+        }
+    }
+
+    @Test
+    public void testResistanceMatchesVanilla() {
+        for (int amplifier = 0; amplifier < 8; amplifier++) {
+            int j = 25 - (amplifier + 1) * 5;
+            for (float damage : DAMAGES) {
+                float vanilla = damage * (float) j / 25.0F;
+                assertEquals(vanilla, (float) (damage + DamageFunctions.resistance(amplifier).applyAsDouble(damage)), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testResistanceFunctionsAreCached() {
+        assertSame(DamageFunctions.resistance(1), DamageFunctions.resistance(1));
+    }
+
+    @Test
+    public void testArmorChainMatchesVanilla() {
+        int[] reduceAmounts = {3, 8, 6, 3};
+        int totalArmor = 20;
+        List<Tuple<DamageModifier, Function<? super Double, Double>>> modifiers = new ArrayList<>();
+        for (int i = 0; i < reduceAmounts.length; i++) {
+            modifiers.add(new Tuple<>(mock(DamageModifier.class), DamageFunctions.armor(reduceAmounts[i], i == 0)));
+        }
+
+        for (float damage : DAMAGES) {
+            float vanilla = damage * (float) (25 - totalArmor) / 25.0F;
+            assertEquals(vanilla, DamageFunctions.applyAll(modifiers, damage, new double[modifiers.size()]), 1.0E-3);
+        }
+    }
+
+    @Test
+    public void testEnchantmentChainMatchesVanilla() {
+        int[] modifierDamages = {4, 3, 5};
+        int totalModifier = 12;
+        List<Tuple<DamageModifier, Function<? super Double, Double>>> modifiers = new ArrayList<>();
+        for (int i = 0; i < modifierDamages.length; i++) {
+            modifiers.add(new Tuple<>(mock(DamageModifier.class), DamageFunctions.enchantment(modifierDamages[i], i == 0)));
+        }
+
+        for (float damage : DAMAGES) {
+            float vanilla = damage * (float) (25 - totalModifier) / 25.0F;
+            assertEquals(vanilla, DamageFunctions.applyAll(modifiers, damage, new double[modifiers.size()]), 1.0E-3);
+        }
+    }
+
+    @Test
+    public void testArmorAndEnchantmentFunctionsAreCached() {
+        assertSame(DamageFunctions.armor(8, true), DamageFunctions.armor(8, true));
+        assertSame(DamageFunctions.armor(8, false), DamageFunctions.armor(8, false));
+        assertSame(DamageFunctions.enchantment(4, true), DamageFunctions.enchantment(4, true));
+        assertSame(DamageFunctions.enchantment(4, false), DamageFunctions.enchantment(4, false));
+    }
+
+    @Test
+    public void testAbsorptionMatchesVanilla() {
+        float[] absorptions = {0.0F, 2.0F, 4.0F, 16.0F};
+        for (float absorption : absorptions) {
+            for (float damage : DAMAGES) {
+                assertEquals(Math.max(damage - absorption, 0.0F), (float) (damage + DamageFunctions.absorption(damage, absorption)), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testApplyAllMatchesBoxedChain() {
+        List<Tuple<DamageModifier, Function<? super Double, Double>>> modifiers = new ArrayList<>();
+        modifiers.add(new Tuple<>(mock(DamageModifier.class), DamageFunctions.BLOCKING));
+        modifiers.add(new Tuple<>(mock(DamageModifier.class), damage -> -damage * 0.2));
+        modifiers.add(new Tuple<>(mock(DamageModifier.class), DamageFunctions.resistance(0)));
+        modifiers.add(new Tuple<>(mock(DamageModifier.class), damage -> DamageFunctions.absorption(damage, 1.5F)));
+
+        for (float base : DAMAGES) {
+            double expected = base;
+            double[] expectedModifiers = new double[modifiers.size()];
+            for (int i = 0; i < modifiers.size(); i++) {
+                expectedModifiers[i] = modifiers.get(i).getSecond().apply(expected);
+                expected += expectedModifiers[i];
+            }
+
+            double[] modifierDamages = new double[modifiers.size()];
+            assertEquals(expected, DamageFunctions.applyAll(modifiers, base, modifierDamages), 0);
+            for (int i = 0; i < modifierDamages.length; i++) {
+                assertEquals(expectedModifiers[i], modifierDamages[i], 0);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+public class SpongeItemStackSnapshotTest {
+
+    @Test
+    public void testStackSnapshotCompound() {
+        // Snapshots of a stack keep the stack's filtered tag, there's nothing to merge
+        final NBTTagCompound stackCompound = new NBTTagCompound();
+        stackCompound.setTag(NbtDataUtil.ITEM_DISPLAY, display());
+        stackCompound.setTag(NbtDataUtil.SPONGE_DATA, new NBTTagCompound());
+
+        final NBTTagCompound expected = new NBTTagCompound();
+        expected.setTag(NbtDataUtil.ITEM_DISPLAY, display());
+        Assert.assertEquals(expected, SpongeItemStackSnapshot.toRawCompound(stackCompound, null));
+        Assert.assertNull(SpongeItemStackSnapshot.toRawCompound(null, null));
+    }
+
+    @Test
+    public void testManipulatorSnapshotCompound() {
+        // Snapshots built from manipulators have the manipulator data on the stack and keep the rest separately
+        final NBTTagCompound stackCompound = new NBTTagCompound();
+        stackCompound.setTag(NbtDataUtil.ITEM_DISPLAY, display());
+        final NBTTagCompound keptCompound = new NBTTagCompound();
+        keptCompound.setString("Custom", "value");
+
+        final NBTTagCompound stackSnapshotCompound = new NBTTagCompound();
+        stackSnapshotCompound.setTag(NbtDataUtil.ITEM_DISPLAY, display());
+        stackSnapshotCompound.setString("Custom", "value");
+
+        final NBTTagCompound rawCompound = SpongeItemStackSnapshot.toRawCompound(stackCompound, keptCompound);
+        Assert.assertEquals(SpongeItemStackSnapshot.toRawCompound(stackSnapshotCompound, null), rawCompound);
+        Assert.assertEquals(stackSnapshotCompound.hashCode(), rawCompound.hashCode());
+    }
+
+    @Test
+    public void testManipulatorsAreCompared() {
+        // The same kept compound with different manipulator data must not compare equal
+        final NBTTagCompound stackCompound = new NBTTagCompound();
+        stackCompound.setTag(NbtDataUtil.ITEM_DISPLAY, display());
+        final NBTTagCompound keptCompound = new NBTTagCompound();
+        keptCompound.setString("Custom", "value");
+
+        Assert.assertNotEquals(SpongeItemStackSnapshot.toRawCompound(null, keptCompound),
+                SpongeItemStackSnapshot.toRawCompound(stackCompound, keptCompound));
+    }
+
+    private static NBTTagCompound display() {
+        final NBTTagList lore = new NBTTagList();
+        lore.appendTag(new NBTTagString("lore"));
+        final NBTTagCompound display = new NBTTagCompound();
+        display.setTag(NbtDataUtil.ITEM_LORE, lore);
+        return display;
+    }
+
+}
@@ -55,6 +55,15 @@ public void testNonByteAlignedSets() throws UnknownHostException {
         assertFalse(spec.apply(InetAddress.getByName("2064:45:410::cafe")));
     }
 
+    @Test
+    public void testPartialSegmentIsChecked() throws UnknownHostException {
+        IpSet spec = IpSet.fromCidr("172.16.0.0/20");
+        assertTrue(spec.apply(InetAddress.getByName("172.16.0.1")));
+        assertTrue(spec.apply(InetAddress.getByName("172.16.15.255")));
+        assertFalse(spec.apply(InetAddress.getByName("172.16.16.1")));
+        assertFalse(spec.apply(InetAddress.getByName("172.16.240.0")));
+    }
+
     @Test
     public void testFullLengthSets() throws UnknownHostException {
         IpSet specv4 = IpSet.fromCidr("10.0.0.1/32");
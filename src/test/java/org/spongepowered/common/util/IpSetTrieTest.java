@@ -0,0 +1,75 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+public class IpSetTrieTest {
+    @Test
+    public void testNamedSets() throws UnknownHostException {
+        IpSetTrie trie = IpSetTrie.compile(ImmutableMap.of(
+                "internal", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8")),
+                "office", ImmutableList.of(IpSet.fromCidr("10.42.0.0/16")),
+                "v6", ImmutableList.of(IpSet.fromCidr("[fc00::]/8"))));
+        assertEquals(ImmutableSet.of("internal", "office"), trie.match(InetAddress.getByName("10.42.2.5")));
+        assertEquals(ImmutableSet.of("internal"), trie.match(InetAddress.getByName("10.43.2.5")));
+        assertEquals(ImmutableSet.of(), trie.match(InetAddress.getByName("192.168.0.1")));
+        assertEquals(ImmutableSet.of("v6"), trie.match(InetAddress.getByName("fcc0:c0b2:2a14:7afc:5216:1854:1a2f:2c13")));
+    }
+
+    @Test
+    public void testAllEntriesMustMatch() throws UnknownHostException {
+        IpSetTrie trie = IpSetTrie.compile(ImmutableMap.of(
+                "both", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8"), IpSet.fromCidr("10.0.0.1/32")),
+                "empty", ImmutableList.<IpSet>of()));
+        assertEquals(ImmutableSet.of("both", "empty"), trie.match(InetAddress.getByName("10.0.0.1")));
+        assertEquals(ImmutableSet.of("empty"), trie.match(InetAddress.getByName("10.0.0.2")));
+    }
+
+    @Test
+    public void testNonByteAlignedSets() throws UnknownHostException {
+        IpSetTrie trie = IpSetTrie.compile(ImmutableMap.of("half", ImmutableList.of(IpSet.fromCidr("192.168.1.128/25"))));
+        assertEquals(ImmutableSet.of("half"), trie.match(InetAddress.getByName("192.168.1.200")));
+        assertEquals(ImmutableSet.of(), trie.match(InetAddress.getByName("192.168.1.100")));
+    }
+
+    @Test
+    public void testMatchesIpSet() throws UnknownHostException {
+        IpSet set = IpSet.fromCidr("172.16.0.0/20");
+        IpSetTrie trie = IpSetTrie.compile(ImmutableMap.of("net", ImmutableList.of(set)));
+        for (String address : new String[] {"172.16.0.1", "172.16.15.255", "172.16.16.1", "172.16.240.0", "172.17.0.1"}) {
+            InetAddress inet = InetAddress.getByName(address);
+            assertEquals(address, set.apply(inet), trie.match(inet).contains("net"));
+        }
+    }
+}
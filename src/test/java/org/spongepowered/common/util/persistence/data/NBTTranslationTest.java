@@ -24,8 +24,11 @@
  */
 package org.spongepowered.common.util.persistence.data;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -37,6 +40,11 @@
 import org.spongepowered.api.data.DataManager;
 import org.spongepowered.common.util.persistence.NbtTranslator;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Optional;
 
 public class NBTTranslationTest {
@@ -55,4 +63,25 @@ public void testContainerToNBT() {
         assertTrue(container.equals(translatedContainer));
     }
 
+    @Test
+    public void testStreamingWriteMatchesTranslation() throws IOException {
+        DataManager service = Mockito.mock(DataManager.class);
+        DataBuilder<FakeSerializable> builder = new FakeBuilder();
+        Mockito.stub(service.getBuilder(FakeSerializable.class)).toReturn(Optional.of(builder));
+        DataContainer container = new MemoryDataContainer();
+        container.set(DataQuery.of("foo"), "bar");
+        container.set(DataQuery.of("flag"), true);
+        container.set(DataQuery.of("numbers"), ImmutableList.of(1, 2, 3));
+        container.set(DataQuery.of("bytes"), new byte[] {1, 2, 3});
+        container.set(DataQuery.of("myFake"), new FakeSerializable("bar", 7, 10.0D, "nested"));
+        container.createView(DataQuery.of("inner")).set(DataQuery.of("value"), 5L);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            NbtTranslator.getInstance().write(container, output);
+        }
+        NBTTagCompound streamed = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(NbtTranslator.getInstance().translateData(container), streamed);
+    }
+
 }
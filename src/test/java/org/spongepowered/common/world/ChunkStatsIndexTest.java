@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.spongepowered.common.world.ChunkStatsIndex.ChunkCount;
+import org.spongepowered.common.world.ChunkStatsIndex.ChunkStats;
+
+import java.util.List;
+
+public class ChunkStatsIndexTest {
+    @Test
+    public void testLoadAndUnloadUpdateTotals() {
+        ChunkStatsIndex index = new ChunkStatsIndex();
+        ChunkStats stats = new ChunkStats(0, 0);
+        stats.addEntity("a");
+        stats.addEntity("b");
+        stats.addTileEntity(1);
+        assertEquals(0, index.getEntityCount());
+
+        index.load(stats);
+        index.load(stats);
+        assertEquals(2, index.getEntityCount());
+        assertEquals(1, index.getTileEntityCount());
+        assertEquals(2, index.getEntityCountsByType().get(String.class));
+
+        stats.removeEntity("a");
+        stats.addTileEntity(2);
+        assertEquals(1, index.getEntityCount());
+        assertEquals(2, index.getTileEntityCountsByType().get(Integer.class));
+
+        index.unload(stats);
+        assertEquals(0, index.getEntityCount());
+        assertEquals(0, index.getTileEntityCount());
+        assertEquals(0, index.getEntityCountsByType().size());
+        assertEquals(1, stats.getEntityCount());
+    }
+
+    @Test
+    public void testUnknownRemovalIsIgnored() {
+        ChunkStatsIndex index = new ChunkStatsIndex();
+        ChunkStats stats = new ChunkStats(0, 0);
+        index.load(stats);
+        stats.removeEntity("a");
+        assertEquals(0, stats.getEntityCount());
+        assertEquals(0, index.getEntityCount());
+    }
+
+    @Test
+    public void testTopChunks() {
+        ChunkStatsIndex index = new ChunkStatsIndex();
+        for (int x = 0; x < 5; x++) {
+            ChunkStats stats = new ChunkStats(x, -x);
+            for (int i = 0; i < x; i++) {
+                stats.addEntity("e");
+            }
+            index.load(stats);
+        }
+        List<ChunkCount> top = index.getTopChunksByEntities(3);
+        assertEquals(3, top.size());
+        assertEquals(4, top.get(0).chunkX);
+        assertEquals(-4, top.get(0).chunkZ);
+        assertEquals(4, top.get(0).count);
+        assertEquals(2, top.get(2).count);
+        assertEquals(4, index.getEntityCountsByChunk().size());
+        assertEquals(0, index.getTopChunksByTileEntities(3).size());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeFiller;
+import org.spongepowered.common.world.BlockChangeBatch;
+import org.spongepowered.common.world.extent.DefaultedExtent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class SpongeMutableBlockVolumeWorkerTest {
+
+    private static final Vector3i MIN = new Vector3i(-3, 60, 5);
+    private static final Vector3i MAX = new Vector3i(4, 66, 9);
+
+    private static final BlockState[] STATES = {state(), state(), state()};
+    private static final BlockVolumeFiller FILLER = (x, y, z) -> STATES[Math.floorMod(x * 7 + y * 3 + z, STATES.length)];
+
+    private static BlockState state() {
+        return mock(BlockState.class, withSettings().extraInterfaces(IBlockState.class));
+    }
+
+    @Test
+    public void testBatchedFillMatchesUnbatched() {
+        // A plain volume gets its blocks one by one
+        final MutableBlockVolume volume = mock(MutableBlockVolume.class);
+        when(volume.getBlockMin()).thenReturn(MIN);
+        when(volume.getBlockMax()).thenReturn(MAX);
+        final Map<Vector3i, BlockState> unbatched = new HashMap<>();
+        doAnswer(invocation -> {
+            final Object[] args = invocation.getArguments();
+            unbatched.put(new Vector3i((int) args[0], (int) args[1], (int) args[2]), (BlockState) args[3]);
+            return null;
+        }).when(volume).setBlock(anyInt(), anyInt(), anyInt(), any(BlockState.class));
+        new SpongeMutableBlockVolumeWorker<>(volume).fill(FILLER);
+
+        // A world, or a view of one, gets them all at once
+        final DefaultedExtent extent = mock(DefaultedExtent.class);
+        when(extent.getBlockMin()).thenReturn(MIN);
+        when(extent.getBlockMax()).thenReturn(MAX);
+        when(extent.isBatchingBlockChanges()).thenReturn(true);
+        new SpongeMutableBlockVolumeWorker<>(extent).fill(FILLER);
+        final ArgumentCaptor<BlockChangeBatch> captor = ArgumentCaptor.forClass(BlockChangeBatch.class);
+        verify(extent).setBlocks(captor.capture());
+        verify(extent, never()).setBlock(anyInt(), anyInt(), anyInt(), any(BlockState.class));
+
+        final Map<Vector3i, BlockState> batched = new HashMap<>();
+        for (Map.Entry<BlockPos, IBlockState> entry : captor.getValue().getChanges().entrySet()) {
+            batched.put(new Vector3i(entry.getKey().getX(), entry.getKey().getY(), entry.getKey().getZ()), (BlockState) entry.getValue());
+        }
+        assertEquals(8 * 7 * 5, batched.size());
+        assertEquals(unbatched, batched);
+    }
+
+    @Test
+    public void testChunkFillIsNotBatched() {
+        // Chunks gain nothing from a batch, so their fillers keep seeing the blocks set before
+        final DefaultedExtent chunk = mock(DefaultedExtent.class);
+        when(chunk.getBlockMin()).thenReturn(MIN);
+        when(chunk.getBlockMax()).thenReturn(MAX);
+        new SpongeMutableBlockVolumeWorker<>(chunk).fill(FILLER);
+        verify(chunk, never()).setBlocks(any(BlockChangeBatch.class));
+        verify(chunk, times(8 * 7 * 5)).setBlock(anyInt(), anyInt(), anyInt(), any(BlockState.class));
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class ChunkReadAheadTest {
+
+    private static final int X = 3;
+    private static final int Z = -7;
+    private static final ChunkCoordIntPair POS = new ChunkCoordIntPair(X, Z);
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Set<ChunkCoordIntPair> pendingWrites = new HashSet<>();
+    private final List<Runnable> reads = new ArrayList<>();
+    private ChunkReadAhead readAhead;
+
+    @Before
+    public void setUp() {
+        this.readAhead = new ChunkReadAhead(this.folder.getRoot(), this.pendingWrites::contains, this.reads::add);
+    }
+
+    @After
+    public void tearDown() {
+        RegionFileCache.clearRegionFileReferences();
+    }
+
+    private void writeChunk(int version) throws IOException {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setInteger("Version", version);
+        DataOutputStream stream = RegionFileCache.getChunkOutputStream(this.folder.getRoot(), X, Z);
+        CompressedStreamTools.write(compound, stream);
+        stream.close();
+    }
+
+    private int readChunk() throws IOException {
+        DataInputStream stream = RegionFileCache.getChunkInputStream(this.folder.getRoot(), X, Z);
+        return CompressedStreamTools.read(stream).getInteger("Version");
+    }
+
+    private void runReads() {
+        for (Runnable read : this.reads) {
+            read.run();
+        }
+        this.reads.clear();
+    }
+
+    // What the chunk loader sees on load: the prepared compound, or the region file
+    private int loadChunk() throws IOException {
+        NBTTagCompound compound = this.readAhead.take(X, Z);
+        return compound != null ? compound.getInteger("Version") : this.readChunk();
+    }
+
+    @Test
+    public void testPrefetchedChunkIsTaken() throws IOException {
+        this.writeChunk(1);
+        this.readAhead.prefetch(X, Z);
+        this.runReads();
+
+        NBTTagCompound compound = this.readAhead.take(X, Z);
+        assertNotNull(compound);
+        assertEquals(1, compound.getInteger("Version"));
+        assertNull(this.readAhead.take(X, Z));
+    }
+
+    @Test
+    public void testUnloadPrefetchWriteLoad() throws IOException {
+        this.writeChunk(1);
+
+        // Unload: the chunk is queued for saving
+        this.pendingWrites.add(POS);
+        this.readAhead.invalidate(X, Z);
+
+        // The player turns around before the write happened
+        this.readAhead.prefetch(X, Z);
+        this.runReads();
+
+        // The file IO thread writes the chunk
+        this.writeChunk(2);
+        this.pendingWrites.remove(POS);
+        this.readAhead.invalidate(X, Z);
+
+        assertEquals(2, this.loadChunk());
+    }
+
+    @Test
+    public void testReadOvertakenByWriteIsDiscarded() throws IOException {
+        this.writeChunk(1);
+        this.readAhead.prefetch(X, Z);
+
+        // Unload while the read is still queued, then let the read see the old data
+        this.pendingWrites.add(POS);
+        this.readAhead.invalidate(X, Z);
+        this.runReads();
+
+        this.writeChunk(2);
+        this.pendingWrites.remove(POS);
+        this.readAhead.invalidate(X, Z);
+
+        assertEquals(2, this.loadChunk());
+    }
+
+    @Test
+    public void testPrefetchAfterWriteSeesNewData() throws IOException {
+        this.writeChunk(1);
+        this.pendingWrites.add(POS);
+        this.readAhead.invalidate(X, Z);
+        this.writeChunk(2);
+        this.pendingWrites.remove(POS);
+        this.readAhead.invalidate(X, Z);
+
+        this.readAhead.prefetch(X, Z);
+        this.runReads();
+
+        assertEquals(2, this.loadChunk());
+    }
+
+}